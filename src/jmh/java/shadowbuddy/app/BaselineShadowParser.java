@@ -0,0 +1,369 @@
+package shadowbuddy.app;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import shadowbuddy.services.Messages;
+import shadowbuddy.services.ShadowException;
+import shadowbuddy.taskmodels.KeywordQuery;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskDate;
+
+/**
+ * Parses raw user input into ShadowCommand objects the way ShadowParser did before it scanned commands by index.
+ * Kept as the baseline ShadowParserBenchmark compares ShadowParser against; the input is split, trimmed and
+ * lower-cased into new Strings, and each date is parsed with a freshly built DateTimeFormatter.
+ */
+public class BaselineShadowParser {
+    // Statement below adapted from a ChatGPT example on how to define a strict date format for user input
+    private static final String INPUT_DATE_PATTERN = "d/M/yyyy HHmm";
+    private static final String INPUT_DAY_PATTERN = "d/M/yyyy";
+    private static final String DEADLINE_MARKER = "/by";
+    private static final String EVENT_START_MARKER = "/from";
+    private static final String EVENT_END_MARKER = "/to";
+    private static final String DUE_MARKER = "before";
+    private static final String HAPPENING_MARKER = "on";
+    private static final String TASK_ID_MARKER = "#";
+    private static final String DONE_TASKS_MARKER = "/done";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final String LIST_SEPARATOR = ",";
+
+    /**
+     * Parses raw user input String into a ShadowCommand instance.
+     * The user input is analyzed to identify the command type, before returning the corresponding
+     * ShadowCommand instance. Parsing of deadline and event commands is delegated to specialized parsers.
+     *
+     * @param userInput The raw user input String to parse.
+     * @return A ShadowCommand instance representing the parsed input.
+     * @throws ShadowException If the user input is syntactically invalid.
+     */
+    public static ShadowCommand parse(String userInput) throws ShadowException {
+        assert userInput != null : "user input should not be null";
+        if (userInput.isEmpty()) {
+            throw new ShadowException(Messages.PREFIX_EMPTY_COMMAND + Messages.MESSAGE_COMMANDS_GUIDE);
+        }
+
+        String[] inputDetails = userInput.split(" ");
+        String requestType = inputDetails[0].toLowerCase();
+        String requestDetails = inputDetails.length > 1 ? userInput.substring(requestType.length() + 1) : "";
+        // Solution below inspired from a ChatGPT example on how to use a switch structure with return statements
+        switch (requestType) {
+        case "list":
+            return new ShadowCommand(ShadowCommand.CommandType.LIST);
+        case "mark":
+            return parseTaskReference(ShadowCommand.CommandType.MARK, requestDetails);
+        case "unmark":
+            return parseTaskReference(ShadowCommand.CommandType.UNMARK, requestDetails);
+        case "delete":
+            return parseTaskReference(ShadowCommand.CommandType.DELETE, requestDetails);
+        case "find":
+            validateKeywordQuery(requestDetails);
+            return new ShadowCommand(ShadowCommand.CommandType.FIND, requestDetails);
+        case "due":
+            return parseDue(requestDetails);
+        case "happening":
+            return parseHappening(requestDetails);
+        case "todo":
+            validateNonEmptyRequest(requestDetails, requestType);
+            return new ShadowCommand(ShadowCommand.CommandType.TODO, requestDetails);
+        case "deadline":
+            return parseDeadline(requestDetails, requestType);
+        case "event":
+            return parseEvent(requestDetails, requestType);
+        case "undo":
+            return new ShadowCommand(ShadowCommand.CommandType.UNDO);
+        case "redo":
+            return new ShadowCommand(ShadowCommand.CommandType.REDO);
+        default:
+            return new ShadowCommand(ShadowCommand.CommandType.UNKNOWN);
+        }
+    }
+
+    /**
+     * Parses the task addressed by a MARK, UNMARK, or DELETE command and returns the corresponding ShadowCommand.
+     * The task is given either by its 1-based index, or by its stable id prefixed with the "#" marker.
+     * Several tasks can also be given at once as ranges and indices separated by commas, such as "1-5,8",
+     * and a DELETE command can select every done task with the "/done" marker.
+     *
+     * @param commandType The type of the command addressing the task.
+     * @param requestDetails The trailing input after the mark, unmark, or delete keyword.
+     * @return A ShadowCommand instance holding the task index, task id, or selected tasks.
+     * @throws ShadowException If an index or id is not numeric, or a range is not in ascending order.
+     */
+    private static ShadowCommand parseTaskReference(ShadowCommand.CommandType commandType, String requestDetails)
+            throws ShadowException {
+        if (commandType == ShadowCommand.CommandType.DELETE && requestDetails.trim().equals(DONE_TASKS_MARKER)) {
+            return new ShadowCommand(commandType, null, true);
+        }
+        if (requestDetails.contains(LIST_SEPARATOR) || requestDetails.indexOf(RANGE_SEPARATOR) > 0) {
+            return new ShadowCommand(commandType, parseTaskRanges(requestDetails), false);
+        }
+        if (!requestDetails.startsWith(TASK_ID_MARKER)) {
+            return new ShadowCommand(commandType, convertStringToIndex(requestDetails));
+        }
+
+        long taskId;
+        try {
+            taskId = Long.parseLong(requestDetails.substring(TASK_ID_MARKER.length()));
+        } catch (NumberFormatException exception) {
+            taskId = Task.NO_ID;
+        }
+        if (taskId < 0) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_ID);
+        }
+        return new ShadowCommand(commandType, taskId);
+    }
+
+    /**
+     * Returns the ranges of task indices listed in the given details, as pairs of inclusive start and end indices.
+     * Each comma-separated part is either a single index or a range of the form START-END.
+     *
+     * @param requestDetails The comma-separated indices and ranges.
+     * @return The start and end index of each part, in the order given.
+     * @throws ShadowException If an index is not numeric, or a range starts after it ends.
+     */
+    private static int[] parseTaskRanges(String requestDetails) throws ShadowException {
+        String[] parts = requestDetails.split(LIST_SEPARATOR);
+        int[] taskRanges = new int[2 * parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            int separatorIndex = part.indexOf(RANGE_SEPARATOR, 1);
+            if (separatorIndex < 0) {
+                taskRanges[2 * i] = convertStringToIndex(part);
+                taskRanges[2 * i + 1] = taskRanges[2 * i];
+                continue;
+            }
+
+            taskRanges[2 * i] = convertStringToIndex(part.substring(0, separatorIndex).trim());
+            taskRanges[2 * i + 1] = convertStringToIndex(part.substring(separatorIndex + 1).trim());
+            if (taskRanges[2 * i] > taskRanges[2 * i + 1]) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_RANGE);
+            }
+        }
+        return taskRanges;
+    }
+
+    /**
+     * Parses Deadline command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include a task description, the "/by" keyword,
+     * and a due date in the format "d/M/yyyy HHmm".
+     *
+     * @param requestDetails The trailing input after the deadline keyword.
+     * @param taskType The type of the task being validated.
+     * @return A ShadowCommand instance representing the Deadline details.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
+     */
+    private static ShadowCommand parseDeadline(String requestDetails, String taskType) throws ShadowException {
+        assert requestDetails != null : "deadline requestDetails should not be null";
+        assert taskType != null : "deadline taskType should not be null";
+        validateNonEmptyRequest(requestDetails, taskType);
+        validateUniqueMarkerPresence(requestDetails, DEADLINE_MARKER, Messages.MESSAGE_DEADLINE_FORMAT);
+
+        String[] deadlineDetails = requestDetails.split(DEADLINE_MARKER);
+        validateNonEmptyDate(deadlineDetails, 1, Messages.MESSAGE_DEADLINE_FORMAT);
+
+        try {
+            long dueDate = validateAndConvertDateRange(deadlineDetails[1].trim())[0];
+            return new ShadowCommand(ShadowCommand.CommandType.DEADLINE, deadlineDetails[0].trim(), dueDate);
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_DEADLINE_DATE + Messages.MESSAGE_DEADLINE_FORMAT);
+        }
+    }
+
+    /**
+     * Parses Event command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include a task description, the "/from" and "/to" keywords,
+     * a start date in the format "d/M/yyyy HHmm", and an end date in the format "d/M/yyyy HHmm".
+     *
+     * @param requestDetails The trailing input after the event keyword.
+     * @param taskType The type of the task being validated.
+     * @return A ShadowCommand instance representing the Event details.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
+     */
+    private static ShadowCommand parseEvent(String requestDetails, String taskType) throws ShadowException {
+        assert requestDetails != null : "event requestDetails should not be null";
+        assert taskType != null : "event taskType should not be null";
+        validateNonEmptyRequest(requestDetails, taskType);
+        validateUniqueMarkerPresence(requestDetails, EVENT_START_MARKER, Messages.MESSAGE_EVENT_FORMAT);
+        validateUniqueMarkerPresence(requestDetails, EVENT_END_MARKER, Messages.MESSAGE_EVENT_FORMAT);
+
+        String[] eventDetails = requestDetails.split(EVENT_START_MARKER);
+        String[] eventTimings = eventDetails[1].split(EVENT_END_MARKER);
+        validateNonEmptyDate(eventTimings, 0, Messages.MESSAGE_EVENT_FORMAT);
+        validateNonEmptyDate(eventTimings, 1, Messages.MESSAGE_EVENT_FORMAT);
+
+        try {
+            long[] eventDates = validateAndConvertDateRange(eventTimings[0].trim(), eventTimings[1].trim());
+            return new ShadowCommand(ShadowCommand.CommandType.EVENT, eventDetails[0].trim(), eventDates[0],
+                    eventDates[1]);
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_EVENT_DATE + Messages.MESSAGE_EVENT_FORMAT);
+        }
+    }
+
+    /**
+     * Parses Due command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include the "before" keyword and a date in the format "d/M/yyyy HHmm".
+     *
+     * @param requestDetails The trailing input after the due keyword.
+     * @return A ShadowCommand instance holding the date before which the listed deadlines are due.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
+     */
+    private static ShadowCommand parseDue(String requestDetails) throws ShadowException {
+        String date = removeLeadingMarker(requestDetails, DUE_MARKER, Messages.MESSAGE_DUE_FORMAT);
+        try {
+            LocalDateTime dueDate = LocalDateTime.parse(date, DateTimeFormatter.ofPattern(INPUT_DATE_PATTERN));
+            return new ShadowCommand(ShadowCommand.CommandType.DUE, requestDetails, TaskDate.toEpochSecond(dueDate));
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_QUERY_DATE + Messages.MESSAGE_DUE_FORMAT);
+        }
+    }
+
+    /**
+     * Parses Happening command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include the "on" keyword and a day in the format "d/M/yyyy".
+     *
+     * @param requestDetails The trailing input after the happening keyword.
+     * @return A ShadowCommand instance holding the start and the exclusive end of the given day.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
+     */
+    private static ShadowCommand parseHappening(String requestDetails) throws ShadowException {
+        String day = removeLeadingMarker(requestDetails, HAPPENING_MARKER, Messages.MESSAGE_HAPPENING_FORMAT);
+        try {
+            LocalDate date = LocalDate.parse(day, DateTimeFormatter.ofPattern(INPUT_DAY_PATTERN));
+            long dayStart = TaskDate.toEpochSecond(date.atStartOfDay());
+            return new ShadowCommand(ShadowCommand.CommandType.HAPPENING, requestDetails, dayStart,
+                    dayStart + TaskDate.SECONDS_PER_DAY);
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_QUERY_DATE + Messages.MESSAGE_HAPPENING_FORMAT);
+        }
+    }
+
+    /**
+     * Validates that the keywords and AND, OR and NOT operators supplied for the FIND command form a valid query.
+     *
+     * @param details The trailing input after the find keyword.
+     * @throws ShadowException If the keyword is missing, an operator is misplaced, or a part of the query
+     *     only holds negated keywords.
+     */
+    private static void validateKeywordQuery(String details) throws ShadowException {
+        try {
+            KeywordQuery.parse(details);
+        } catch (IllegalArgumentException exception) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + exception.getMessage());
+        }
+    }
+
+    /**
+     * Validates that a non-empty description exists for TODO, DEADLINE, and EVENT commands.
+     *
+     * @param details The trailing input after the todo, deadline, or event keyword.
+     * @param taskType The type of the task being validated.
+     * @throws ShadowException If the task description is empty.
+     */
+    private static void validateNonEmptyRequest(String details, String taskType) throws ShadowException {
+        if (details.isEmpty()) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND
+                    + String.format(Messages.MESSAGE_EMPTY_TASK_DESCRIPTION, taskType));
+        }
+    }
+
+    /**
+     * Validates that the given marker appears exactly once in the task details for DEADLINE and EVENT commands.
+     *
+     * @param details The trailing input after the deadline or event keyword.
+     * @param marker The date marker of the task ("/by", "/from", "/to").
+     * @param msg The error message to include in the exception thrown when the marker is missing or duplicated.
+     * @throws ShadowException If the marker is not present or appears more than once.
+     */
+    private static void validateUniqueMarkerPresence(String details, String marker, String msg) throws ShadowException {
+        if (!details.contains(marker)) {
+            throw new ShadowException(String.format(Messages.MESSAGE_INVALID_MARKER_FORMAT, msg));
+        }
+
+        if (details.indexOf(marker) != details.lastIndexOf(marker)) {
+            throw new ShadowException(String.format(Messages.MESSAGE_DUPLICATE_MARKERS, marker) + msg);
+        }
+    }
+
+    /**
+     * Returns the date following the given leading marker in the details of DUE and HAPPENING commands.
+     *
+     * @param details The trailing input after the due or happening keyword.
+     * @param marker The word expected before the date ("before", "on").
+     * @param msg The error message to include in the exception thrown when the marker or date is missing.
+     * @throws ShadowException If the details do not start with the marker or no date follows it.
+     */
+    private static String removeLeadingMarker(String details, String marker, String msg) throws ShadowException {
+        String[] markerAndDate = details.trim().split(" ", 2);
+        if (!markerAndDate[0].equalsIgnoreCase(marker)) {
+            throw new ShadowException(String.format(Messages.MESSAGE_INVALID_MARKER_FORMAT, msg));
+        }
+
+        validateNonEmptyDate(markerAndDate, 1, msg);
+        return markerAndDate[1].trim();
+    }
+
+    /**
+     * Validates that the appropriate date exists for DEADLINE and EVENT commands.
+     *
+     * @param data The parts of the task details separated by the date markers.
+     * @param index The position in the array where the appropriate date should be found.
+     * @param msg The error message to include in the exception thrown when the date is missing.
+     * @throws ShadowException If the expected date is missing.
+     */
+    private static void validateNonEmptyDate(String[] data, int index, String msg) throws ShadowException {
+        if (data.length <= index || data[index].trim().isEmpty()) {
+            throw new ShadowException(Messages.MESSAGE_EMPTY_TASK_DATE + msg);
+        }
+    }
+
+    /**
+     * Returns a long array containing the epoch seconds of the given input timestamp(s).
+     * Array length is 1 for a single deadline due date, or 2 for an event start and end date.
+     * If given two timestamps, validate that they form a valid chronological range.
+     * This helper function parses the given timestamp using the DateTimeFormatter class.
+     *
+     * @param timestamps One or two timestamps in "d/M/yyyy HHmm" format.
+     * @return An array of the epoch seconds of the given timestamps.
+     * @throws ShadowException If two timestamps are supplied and the end date is before the start date.
+     */
+    // Solution below inspired from a ChatGPT example on how to use varargs and return a String array
+    private static long[] validateAndConvertDateRange(String... timestamps) throws ShadowException {
+        assert timestamps != null : "timestamps should not be null";
+        DateTimeFormatter taskInputFormatter = DateTimeFormatter.ofPattern(INPUT_DATE_PATTERN);
+
+        if (timestamps.length == 1) {
+            LocalDateTime dueDate = LocalDateTime.parse(timestamps[0], taskInputFormatter);
+            return new long[] { TaskDate.toEpochSecond(dueDate) };
+        } else if (timestamps.length == 2) {
+            LocalDateTime startDate = LocalDateTime.parse(timestamps[0], taskInputFormatter);
+            LocalDateTime endDate = LocalDateTime.parse(timestamps[1], taskInputFormatter);
+            if (endDate.isBefore(startDate)) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_DATE_RANGE);
+            }
+            return new long[] { TaskDate.toEpochSecond(startDate), TaskDate.toEpochSecond(endDate) };
+        } else {
+            throw new IllegalArgumentException(Messages.MESSAGE_INVALID_TIMESTAMP_ARGUMENT_COUNT);
+        }
+    }
+
+    /**
+     * Returns an integer corresponding to the given numeric String.
+     * This helper function converts the given String into an integer used for TaskList indexing.
+     *
+     * @param index The String representing a numeric index.
+     * @return The parsed integer index.
+     * @throws ShadowException If the given String is not a valid integer representation.
+     */
+    private static int convertStringToIndex(String index) throws ShadowException {
+        // Solution below inspired from a ChatGPT example on how to use parseInt to convert Strings to numbers
+        try {
+            return Integer.parseInt(index);
+        } catch (NumberFormatException exception) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_INDEX);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package shadowbuddy.app;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import shadowbuddy.services.ShadowException;
+
+/**
+ * Measures the latency of ShadowParser.parse on the commands users send most often, against the split-based
+ * BaselineShadowParser it replaced.
+ * The gc profiler reports the bytes allocated per parsed command alongside the latency.
+ * Run with ./gradlew jmh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShadowParserBenchmark {
+    @Param({"mark 12", "delete 3", "delete 1-3,5", "todo borrow book from the library",
+        "deadline return book /by 2/12/2025 1800", "event project meeting /from 4/7/2025 1600 /to 5/7/2025 2000"})
+    private String userInput;
+
+    @Benchmark
+    public ShadowCommand parse() throws ShadowException {
+        return ShadowParser.parse(this.userInput);
+    }
+
+    @Benchmark
+    public ShadowCommand parseBaseline() throws ShadowException {
+        return BaselineShadowParser.parse(this.userInput);
+    }
+}
@@ -0,0 +1,60 @@
+package shadowbuddy.taskmodels;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the array, tree and columnar backings of a TaskList on positional reads and deletions.
+ * Each deletion is followed by an append, so the list keeps its size across the iterations of a run.
+ * Run with ./gradlew jmh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"ARRAY", "TREE", "COLUMNAR"})
+    private TaskList.Backing backing;
+
+    private TaskList taskList;
+    private SplittableRandom random;
+
+    /**
+     * Fills a TaskList of the benchmarked backing with todos.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.taskList = new TaskList(this.backing);
+        for (int i = 0; i < this.taskCount; i++) {
+            this.taskList.addTask(new Todo("task " + i));
+        }
+        this.random = new SplittableRandom(42);
+    }
+
+    /**
+     * Deletes the task at a random position and appends a new task with the same description.
+     */
+    @Benchmark
+    public Task deleteRandomTask() {
+        Task deletedTask = this.taskList.deleteTask(this.random.nextInt(this.taskCount) + 1);
+        this.taskList.addTask(new Todo(deletedTask.getDescription()));
+        return deletedTask;
+    }
+
+    @Benchmark
+    public Task getRandomTask() {
+        return this.taskList.getTask(this.random.nextInt(this.taskCount) + 1);
+    }
+}
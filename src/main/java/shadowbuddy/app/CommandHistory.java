@@ -0,0 +1,151 @@
+package shadowbuddy.app;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskList;
+
+/**
+ * Remembers the recent commands, so they can be undone and redone.
+ * Each command that changes the TaskList records a Step holding the Versions of the TaskList before and after
+ * the command, together with its TaskChange instances. Undoing a Step switches the TaskList back to the Version
+ * before it and redoing it switches to the Version after it, both in O(1) however many tasks the command
+ * changed. Consecutive Versions share every task they have in common, so a Step only keeps the O(log n) copied
+ * nodes per change alive. The TaskChange instances are kept to record the switch in storage and reminders.
+ * A new step clears the steps that were undone, and only the most recent steps are kept.
+ */
+public class CommandHistory {
+    /** Number of steps kept before the oldest ones are forgotten */
+    private static final int MAX_STEP_COUNT = 100;
+
+    private final ArrayDeque<Step> undoSteps;
+    private final ArrayDeque<Step> redoSteps;
+
+    /**
+     * Initializes an empty CommandHistory instance.
+     */
+    public CommandHistory() {
+        this.undoSteps = new ArrayDeque<>();
+        this.redoSteps = new ArrayDeque<>();
+    }
+
+    /**
+     * Records one command as a single step, and forgets the steps undone before it.
+     *
+     * @param previousVersion The Version of the TaskList before the command.
+     * @param currentVersion The Version of the TaskList after the command.
+     * @param changes The changes made by the command, in the order they were applied.
+     */
+    public void record(TaskList.Version previousVersion, TaskList.Version currentVersion,
+            List<TaskChange> changes) {
+        assert changes != null && !changes.isEmpty() : "a step should hold at least one change";
+        this.redoSteps.clear();
+        this.undoSteps.push(new Step(previousVersion, currentVersion, changes));
+        if (this.undoSteps.size() > MAX_STEP_COUNT) {
+            this.undoSteps.removeLast();
+        }
+    }
+
+    /**
+     * Returns the most recent step, or null if there is none, and moves it to the steps that can be redone.
+     *
+     * @return The Step to undo, or null.
+     */
+    public Step undo() {
+        Step step = this.undoSteps.poll();
+        if (step != null) {
+            this.redoSteps.push(step);
+        }
+        return step;
+    }
+
+    /**
+     * Returns the most recently undone step, or null if there is none, and moves it back to the steps that
+     * can be undone.
+     *
+     * @return The Step to redo, or null.
+     */
+    public Step redo() {
+        Step step = this.redoSteps.poll();
+        if (step != null) {
+            this.undoSteps.push(step);
+        }
+        return step;
+    }
+
+    /**
+     * Represents one command: the Versions of the TaskList before and after it, and the changes it made.
+     */
+    public static class Step {
+        protected final TaskList.Version previousVersion;
+        protected final TaskList.Version currentVersion;
+        protected final List<TaskChange> changes;
+
+        private Step(TaskList.Version previousVersion, TaskList.Version currentVersion, List<TaskChange> changes) {
+            assert previousVersion != null && currentVersion != null : "versions should not be null";
+            this.previousVersion = previousVersion;
+            this.currentVersion = currentVersion;
+            this.changes = changes;
+        }
+
+        /**
+         * Returns the changes that lead from the Version after the step back to the Version before it,
+         * which are the inverses of its changes in reverse order.
+         */
+        public List<TaskChange> getInverseChanges() {
+            List<TaskChange> inverseChanges = new ArrayList<>(this.changes.size());
+            for (int i = this.changes.size() - 1; i >= 0; i--) {
+                inverseChanges.add(this.changes.get(i).invert());
+            }
+            return inverseChanges;
+        }
+    }
+
+    /**
+     * Represents a single change to the TaskList: a task added at or deleted from an index, or marked as
+     * done or not done there. The index is the 1-based index of the task when the change is applied.
+     */
+    public static class TaskChange {
+        /**
+         * Defines the kinds of change, in pairs that undo each other.
+         */
+        public enum ChangeType { ADD, DELETE, MARK, UNMARK }
+
+        protected final ChangeType changeType;
+        protected final int index;
+        protected final Task task;
+
+        /**
+         * Initializes a TaskChange instance of the given type on the given task at the given index.
+         *
+         * @param changeType The kind of change.
+         * @param index The 1-based index of the task when the change is applied.
+         * @param task The task added, deleted, marked or unmarked.
+         */
+        public TaskChange(ChangeType changeType, int index, Task task) {
+            assert changeType != null : "changeType should not be null";
+            assert task != null : "task should not be null";
+            this.changeType = changeType;
+            this.index = index;
+            this.task = task;
+        }
+
+        /**
+         * Returns the TaskChange that undoes this change, applied at the same index to the same task.
+         */
+        public TaskChange invert() {
+            switch (this.changeType) {
+            case ADD:
+                return new TaskChange(ChangeType.DELETE, this.index, this.task);
+            case DELETE:
+                return new TaskChange(ChangeType.ADD, this.index, this.task);
+            case MARK:
+                return new TaskChange(ChangeType.UNMARK, this.index, this.task);
+            default:
+                return new TaskChange(ChangeType.MARK, this.index, this.task);
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package shadowbuddy.app;
 
 import java.io.IOException;
+import java.util.function.Consumer;
 
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.util.Duration;
+import shadowbuddy.reminders.ReminderScheduler;
 import shadowbuddy.services.ShadowException;
 import shadowbuddy.storage.ShadowStorage;
 
@@ -15,22 +17,28 @@ import shadowbuddy.storage.ShadowStorage;
  */
 public class Shadow {
     private static final int GOODBYE_DELAY = 1000;
+    private static final int WRITE_BEHIND_DELAY = 200;
+    private static final int WRITE_BEHIND_BATCH_SIZE = 64;
     private static final String EXIT_COMMAND = "bye";
     private static final String ERROR_COMMAND = "UNKNOWN";
     private final ShadowUi chatbotUi;
     private final ShadowController chatbotController;
     private final ShadowStorage taskStorage;
+    private final ReminderScheduler reminderScheduler;
     private String commandType;
 
     /**
      * Initializes a Shadow instance with the given file path.
      * The constructor also initializes the storage, controller, and UI.
+     * Changes are saved by a background writer, so shutdown must be called before the application exits.
      *
      * @param filePath The file path to the task list database file.
      */
     public Shadow(String filePath) {
         taskStorage = new ShadowStorage(filePath);
-        chatbotController = new ShadowController(taskStorage);
+        taskStorage.enableWriteBehind(WRITE_BEHIND_DELAY, WRITE_BEHIND_BATCH_SIZE);
+        reminderScheduler = new ReminderScheduler();
+        chatbotController = new ShadowController(taskStorage, reminderScheduler);
         chatbotUi = new ShadowUi();
     }
 
@@ -68,10 +76,16 @@ public class Shadow {
         // Initial thread-based approach was replaced to ensure thread safety as per code quality standards
         if (inputDetails[0].equalsIgnoreCase(EXIT_COMMAND)) {
             commandType = EXIT_COMMAND; // reset to default dialog styling when exit command is passed
+            String goodbyeMessage = chatbotUi.sayGoodbye();
+            try {
+                shutdown();
+            } catch (IOException exception) {
+                goodbyeMessage = exception.getMessage() + "\n" + goodbyeMessage;
+            }
             PauseTransition exitDelay = new PauseTransition(Duration.millis(GOODBYE_DELAY));
             exitDelay.setOnFinished(event -> Platform.exit());
             exitDelay.play();
-            return chatbotUi.sayGoodbye();
+            return goodbyeMessage;
         }
 
         try {
@@ -86,6 +100,29 @@ public class Shadow {
         }
     }
 
+    /**
+     * Starts delivering reminders for upcoming deadlines and events to the given listener.
+     * The listener is called on the reminder thread, so a GUI listener must pass the message to the JavaFX
+     * thread, such as through Platform.runLater.
+     *
+     * @param reminderListener The listener receiving each reminder message.
+     */
+    public void startReminders(Consumer<String> reminderListener) {
+        reminderScheduler.start(dueTasks -> dueTasks.forEach(task -> reminderListener.accept(
+                chatbotUi.showReminder(task))));
+    }
+
+    /**
+     * Stops the reminders and saves every change still waiting for the background writer.
+     * Safe to call more than once, such as on the exit command and again when the window closes.
+     *
+     * @throws IOException If the pending changes cannot be written to the database.
+     */
+    public void shutdown() throws IOException {
+        reminderScheduler.close();
+        chatbotController.closeDatabase();
+    }
+
     public String getCommandType() {
         return this.commandType;
     }
@@ -101,6 +138,6 @@ public class Shadow {
     private String prepareDatabaseOutput() throws IOException {
         String confirmationMessage = taskStorage.createDatabase();
         chatbotController.loadDatabase();
-        return confirmationMessage + "\n" + taskStorage.outputDatabase();
+        return confirmationMessage + "\n" + chatbotController.outputDatabase();
     }
 }
@@ -0,0 +1,159 @@
+package shadowbuddy.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import shadowbuddy.services.ShadowException;
+import shadowbuddy.storage.ShadowStorage;
+
+/**
+ * Runs a file of Shadow commands without the GUI, such as to seed or migrate a task list.
+ * Each line is parsed and executed as if it were typed into Shadow, but the responses are discarded, and the
+ * changes are committed to storage every commitInterval lines and once more at the end, rather than after
+ * every line. A line that fails is recorded with its line number, and the run carries on with the next line.
+ * Blank lines are skipped, and a "bye" line ends the run early.
+ */
+public class ShadowBatch {
+    /** Number of lines executed between two commits when no interval is given */
+    private static final int DEFAULT_COMMIT_INTERVAL = 1000;
+    private static final String DEFAULT_DATABASE_PATH = "./data/database.txt";
+    private static final String COMMIT_INTERVAL_OPTION = "--commit-every";
+    private static final String EXIT_COMMAND = "bye";
+    private static final String USAGE = "Usage: ShadowBatch COMMAND_FILE [DATABASE_FILE] [--commit-every N]";
+
+    private final ShadowController controller;
+    private final ShadowUi ui;
+    private final int commitInterval;
+
+    /**
+     * Initializes a ShadowBatch instance running commands through the given ShadowController.
+     *
+     * @param controller The ShadowController holding the loaded TaskList the commands change.
+     * @param commitInterval The number of lines executed between two commits.
+     */
+    public ShadowBatch(ShadowController controller, int commitInterval) {
+        assert controller != null : "controller should not be null";
+        assert commitInterval > 0 : "commitInterval should be positive";
+        this.controller = controller;
+        this.ui = new ShadowUi();
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Runs the command file given as the first argument against the database file given as the second,
+     * which defaults to the database of the Shadow application, and prints a summary of the run.
+     * Every failed line is printed to the standard error stream, and the exit status is 1 if any line failed.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        String databasePath = DEFAULT_DATABASE_PATH;
+        int commitInterval = DEFAULT_COMMIT_INTERVAL;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals(COMMIT_INTERVAL_OPTION)) {
+                    commitInterval = Integer.parseInt(args[++i]);
+                } else {
+                    databasePath = args[i];
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (commitInterval < 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        ShadowStorage storage = new ShadowStorage(databasePath);
+        ShadowController controller = new ShadowController(storage);
+        try (BufferedReader commands = Files.newBufferedReader(Path.of(args[0]))) {
+            storage.createDatabase();
+            controller.loadDatabase();
+            BatchReport report = new ShadowBatch(controller, commitInterval).run(commands);
+            controller.closeDatabase();
+            System.out.println(report);
+            report.getErrors().forEach(System.err::println);
+            System.exit(report.getErrors().isEmpty() ? 0 : 1);
+        } catch (IOException exception) {
+            System.err.println(exception.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Executes every line of the given commands in order, committing the changes every commitInterval lines
+     * and once more at the end.
+     *
+     * @param commands The commands to execute, one per line.
+     * @return The BatchReport counting the executed lines and holding the errors of the failed ones.
+     * @throws IOException If the commands cannot be read or the changes cannot be committed.
+     */
+    public BatchReport run(BufferedReader commands) throws IOException {
+        assert commands != null : "commands should not be null";
+        BatchReport report = new BatchReport();
+        int lineNumber = 0;
+        int uncommittedCount = 0;
+        String line;
+        while ((line = commands.readLine()) != null) {
+            lineNumber++;
+            String input = line.trim();
+            if (input.isEmpty()) {
+                continue;
+            }
+            if (input.equalsIgnoreCase(EXIT_COMMAND)) {
+                break;
+            }
+
+            try {
+                this.controller.executeCommand(this.controller.handleInput(input), this.ui);
+                report.executedCount++;
+            } catch (ShadowException exception) {
+                report.errors.add("Line " + lineNumber + ": " + exception.getMessage());
+            }
+            if (++uncommittedCount == this.commitInterval) {
+                this.controller.writeToDatabase();
+                uncommittedCount = 0;
+            }
+        }
+        this.controller.writeToDatabase();
+        return report;
+    }
+
+    /**
+     * Summarizes a batch run: the number of lines executed successfully and an error for each failed line.
+     */
+    public static class BatchReport {
+        private final List<String> errors;
+        private int executedCount;
+
+        private BatchReport() {
+            this.errors = new ArrayList<>();
+            this.executedCount = 0;
+        }
+
+        public int getExecutedCount() {
+            return this.executedCount;
+        }
+
+        /**
+         * Returns the error of each failed line, prefixed with its line number, in file order.
+         */
+        public List<String> getErrors() {
+            return this.errors;
+        }
+
+        @Override
+        public String toString() {
+            return "Executed " + this.executedCount + " commands, " + this.errors.size() + " failed.";
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package shadowbuddy.app;
 
+import shadowbuddy.taskmodels.KeywordQuery;
+import shadowbuddy.taskmodels.Task;
+
 /**
  * Encapsulates a parsed user command and all related task information.
  * The ShadowCommand class models a user command and its associated task data, enabling consistent
@@ -12,29 +15,43 @@ public class ShadowCommand {
      * with UNKNOWN serving as a fallback for unrecognized input.
      */
     // Statement below inspired from a ChatGPT example on how to use enum types as commands
-    public enum CommandType { LIST, MARK, UNMARK, DELETE, FIND, TODO, DEADLINE, EVENT, UNKNOWN }
+    public enum CommandType {
+        LIST, MARK, UNMARK, DELETE, FIND, DUE, HAPPENING, TODO, DEADLINE, EVENT, UNDO, REDO, UNKNOWN
+    }
 
     private static final String EMPTY_STRING = "";
     private static final int NO_INDEX = -1;
+    private static final long NO_TASK_ID = Task.NO_ID;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int[] NO_RANGES = null;
+    private static final KeywordQuery NO_QUERY = null;
 
     protected final CommandType commandType;
     protected final String taskDescription;
-    protected final String dueDate;
-    protected final String startDate;
-    protected final String endDate;
+    protected final long dueDate;
+    protected final long startDate;
+    protected final long endDate;
     protected final int taskIndex;
+    protected final long taskId;
+    protected final int[] taskRanges;
+    protected final boolean selectsDoneTasks;
+    protected final KeywordQuery keywordQuery;
 
     /**
      * Initializes a ShadowCommand instance with the given command type.
-     * Overloaded constructor for LIST and UNKNOWN command types.
+     * Overloaded constructor for LIST, UNDO, REDO, and UNKNOWN command types.
      */
     public ShadowCommand(CommandType commandType) {
         this.commandType = commandType;
         this.taskDescription = EMPTY_STRING;
-        this.dueDate = EMPTY_STRING;
-        this.startDate = EMPTY_STRING;
-        this.endDate = EMPTY_STRING;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
         this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
     }
 
     /**
@@ -44,49 +61,137 @@ public class ShadowCommand {
     public ShadowCommand(CommandType commandType, int taskIndex) {
         this.commandType = commandType;
         this.taskDescription = EMPTY_STRING;
-        this.dueDate = EMPTY_STRING;
-        this.startDate = EMPTY_STRING;
-        this.endDate = EMPTY_STRING;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
         this.taskIndex = taskIndex;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
+    }
+
+    /**
+     * Initializes a ShadowCommand instance with the given command type and stable task id.
+     * Overloaded constructor for MARK, UNMARK, and DELETE command types addressing a task by its id.
+     */
+    public ShadowCommand(CommandType commandType, long taskId) {
+        this.commandType = commandType;
+        this.taskDescription = EMPTY_STRING;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
+        this.taskIndex = NO_INDEX;
+        this.taskId = taskId;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
+    }
+
+    /**
+     * Initializes a ShadowCommand instance with the given command type selecting several tasks at once.
+     * Overloaded constructor for MARK, UNMARK, and DELETE command types given ranges of task indices,
+     * and for a DELETE command selecting every task marked as done.
+     *
+     * @param commandType The type of the command.
+     * @param taskRanges Pairs of inclusive 1-based start and end indices, or null when selecting done tasks.
+     * @param selectsDoneTasks True to select every task marked as done instead of ranges of indices.
+     */
+    public ShadowCommand(CommandType commandType, int[] taskRanges, boolean selectsDoneTasks) {
+        assert selectsDoneTasks || taskRanges != null : "a bulk command should select done tasks or ranges";
+        this.commandType = commandType;
+        this.taskDescription = EMPTY_STRING;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
+        this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = taskRanges;
+        this.selectsDoneTasks = selectsDoneTasks;
+        this.keywordQuery = NO_QUERY;
     }
 
     /**
      * Initializes a ShadowCommand instance with the given command type and task description.
-     * Overloaded constructor for TODO and FIND command types.
+     * Overloaded constructor for the TODO command type.
      */
     public ShadowCommand(CommandType commandType, String taskDescription) {
         this.commandType = commandType;
         this.taskDescription = taskDescription;
-        this.dueDate = EMPTY_STRING;
-        this.startDate = EMPTY_STRING;
-        this.endDate = EMPTY_STRING;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
         this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
+    }
+
+    /**
+     * Initializes a ShadowCommand instance with the given command type, query text, and parsed keyword query.
+     * Overloaded constructor for the FIND command type, which carries the query ShadowParser already parsed.
+     */
+    public ShadowCommand(CommandType commandType, String taskDescription, KeywordQuery keywordQuery) {
+        assert keywordQuery != null : "keywordQuery should not be null";
+        this.commandType = commandType;
+        this.taskDescription = taskDescription;
+        this.dueDate = NO_DATE;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
+        this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = keywordQuery;
     }
 
     /**
      * Initializes a ShadowCommand instance with the given command type, task description, and due date.
-     * Overloaded constructor for the DEADLINE command type.
+     * Overloaded constructor for the DEADLINE and DUE command types, with the date as an epoch second.
      */
-    public ShadowCommand(CommandType commandType, String taskDescription, String dueDate) {
+    public ShadowCommand(CommandType commandType, String taskDescription, long dueDate) {
         this.commandType = commandType;
         this.taskDescription = taskDescription;
         this.dueDate = dueDate;
-        this.startDate = EMPTY_STRING;
-        this.endDate = EMPTY_STRING;
+        this.startDate = NO_DATE;
+        this.endDate = NO_DATE;
         this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
     }
 
     /**
      * Initializes a ShadowCommand instance with the given command type, task description, start date, and end date.
-     * Overloaded constructor for the EVENT command type.
+     * Overloaded constructor for the EVENT and HAPPENING command types, with the dates as epoch seconds.
      */
-    public ShadowCommand(CommandType commandType, String taskDescription, String startDate, String endDate) {
+    public ShadowCommand(CommandType commandType, String taskDescription, long startDate, long endDate) {
         this.commandType = commandType;
         this.taskDescription = taskDescription;
-        this.dueDate = EMPTY_STRING;
+        this.dueDate = NO_DATE;
         this.startDate = startDate;
         this.endDate = endDate;
         this.taskIndex = NO_INDEX;
+        this.taskId = NO_TASK_ID;
+        this.taskRanges = NO_RANGES;
+        this.selectsDoneTasks = false;
+        this.keywordQuery = NO_QUERY;
+    }
+
+    /**
+     * Returns true when this command addresses its task by stable id rather than by index.
+     */
+    public boolean hasTaskId() {
+        return this.taskId != NO_TASK_ID;
+    }
+
+    /**
+     * Returns true when this command selects several tasks, by ranges of indices or by their done status.
+     */
+    public boolean selectsSeveralTasks() {
+        return this.taskRanges != NO_RANGES || this.selectsDoneTasks;
     }
 
     /**
@@ -1,14 +1,20 @@
 package shadowbuddy.app;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
+import shadowbuddy.app.CommandHistory.TaskChange;
+import shadowbuddy.reminders.ReminderScheduler;
 import shadowbuddy.services.Messages;
 import shadowbuddy.services.ShadowException;
 import shadowbuddy.storage.ShadowStorage;
 import shadowbuddy.taskmodels.Deadline;
 import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.SearchPage;
 import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskDate;
 import shadowbuddy.taskmodels.TaskList;
 import shadowbuddy.taskmodels.Todo;
 
@@ -16,41 +22,99 @@ import shadowbuddy.taskmodels.Todo;
  * Manages command parsing, task list mutations and storage persistence for Shadow chatbot.
  * The ShadowController class receives parsed ShadowCommand objects, modifies the TaskList,
  * delegates UI messages to ShadowUi, and uses ShadowStorage to save and load tasks.
+ * Every change to a task is also passed to the ReminderScheduler, so reminders follow the TaskList.
+ * The TaskList keeps persistent Versions, and each command is recorded in a CommandHistory with the Versions
+ * before and after it, so the undo and redo commands switch the TaskList between Versions in O(1) and only
+ * replay the changes into storage and reminders.
  */
 public class ShadowController {
+    /** Number of tasks shown on each page of a ranked find */
+    private static final int RANKED_PAGE_SIZE = 10;
+
     protected TaskList taskList;
     protected final ShadowStorage storage;
+    private final ReminderScheduler reminderScheduler;
+    private final CommandHistory history;
 
     /**
      * Initializes a ShadowController instance with the given ShadowStorage instance.
      * The constructor initializes an empty TaskList and references the given ShadowStorage to save and load tasks.
+     * No reminders are delivered, so the controller uses a disabled ReminderScheduler that schedules nothing.
      *
      * @param storage The ShadowStorage instance used for loading and saving tasks.
      */
     public ShadowController(ShadowStorage storage) {
+        this(storage, ReminderScheduler.disabled());
+    }
+
+    /**
+     * Initializes a ShadowController instance with the given ShadowStorage and ReminderScheduler instances.
+     *
+     * @param storage The ShadowStorage instance used for loading and saving tasks.
+     * @param reminderScheduler The ReminderScheduler kept in step with the TaskList.
+     */
+    public ShadowController(ShadowStorage storage, ReminderScheduler reminderScheduler) {
+        this(storage, reminderScheduler, new TaskList(TaskList.Backing.PERSISTENT));
+    }
+
+    /**
+     * Initializes a ShadowController instance managing the given TaskList, such as a ConcurrentTaskList that
+     * other threads read while the controller changes it.
+     *
+     * @param storage The ShadowStorage instance used for loading and saving tasks.
+     * @param reminderScheduler The ReminderScheduler kept in step with the TaskList.
+     * @param taskList The empty TaskList with a PERSISTENT backing the controller loads tasks into and changes.
+     */
+    public ShadowController(ShadowStorage storage, ReminderScheduler reminderScheduler, TaskList taskList) {
         assert storage != null : "storage should not be null";
+        assert reminderScheduler != null : "reminderScheduler should not be null";
+        assert taskList != null : "taskList should not be null";
         this.storage = storage;
-        this.taskList = new TaskList();
+        this.reminderScheduler = reminderScheduler;
+        this.history = new CommandHistory();
+        this.taskList = taskList;
     }
 
     /**
      * Loads tasks from the internal storage into the controller's task list.
-     * Relies on ShadowStorage to populate the internal TaskList with saved tasks.
+     * Relies on ShadowStorage to populate the internal TaskList with saved tasks,
+     * and schedules reminders for the loaded deadlines and events.
      *
-     * @throws FileNotFoundException If the database file cannot be found or read.
+     * @throws IOException If the database or journal files cannot be found or read.
      */
-    public void loadDatabase() throws FileNotFoundException {
+    public void loadDatabase() throws IOException {
         this.storage.loadDatabase(this.taskList);
+        this.reminderScheduler.scheduleReminders(this.taskList);
     }
 
     /**
-     * Writes the controller's current TaskList to the internal storage.
-     * Relies on ShadowStorage to save the internal TaskList contents to the database file.
+     * Returns the controller's loaded TaskList in the stored database format.
+     * Relies on ShadowStorage to format the internal TaskList contents.
      *
-     * @throws IOException If the database file cannot be written to.
+     * @return A String containing the entire task list in its stored format.
+     */
+    public String outputDatabase() {
+        return this.storage.outputDatabase(this.taskList);
+    }
+
+    /**
+     * Writes the changes made to the controller's current TaskList to the internal storage.
+     * Relies on ShadowStorage to persist the mutations recorded since the last write.
+     *
+     * @throws IOException If the database or journal file cannot be written to.
      */
     public void writeToDatabase() throws IOException {
-        this.storage.writeToDatabase(this.taskList);
+        this.storage.commitChanges(this.taskList);
+    }
+
+    /**
+     * Flushes every change still pending in the internal storage.
+     * Must be called before the application exits.
+     *
+     * @throws IOException If the pending changes cannot be written.
+     */
+    public void closeDatabase() throws IOException {
+        this.storage.close();
     }
 
     /**
@@ -69,55 +133,93 @@ public class ShadowController {
      * Executes the given ShadowCommand instance, modifies the internal TaskList, and triggers UI updates.
      * Handles all supported user command types defined in ShadowCommand, updates the internal TaskList,
      * and outputs confirmation messages through the given ShadowUi instance.
+     * Commands are executed one at a time, so a command checking the TaskList before changing it, such as
+     * a duplicate check before an addition, is not interleaved with another command.
      *
      * @param userCommand The parsed ShadowCommand instance to execute.
      * @param ui The ShadowUi instance used to display confirmation messages and TaskList output.
      * @return A String representing the UI confirmation message.
      * @throws ShadowException If the command type is unknown, invalid index, invalid status, or duplicate descriptions.
      */
-    public String executeCommand(ShadowCommand userCommand, ShadowUi ui) throws ShadowException {
+    public synchronized String executeCommand(ShadowCommand userCommand, ShadowUi ui) throws ShadowException {
         assert userCommand != null : "userCommand should not be null";
         assert ui != null : "ui should not be null";
         String taskDescription = userCommand.taskDescription.trim();
+        if (userCommand.selectsSeveralTasks()) {
+            return executeBulkCommand(userCommand, ui);
+        }
         // Solution below inspired from a ChatGPT example on how to use a switch structure to toggle between commands
         switch (userCommand.commandType) {
         case LIST:
             return ui.showTaskList(this.taskList);
         case MARK:
-            int markIndex = userCommand.taskIndex;
-            validateTaskIndex(markIndex, this.taskList.getLength());
+            int markIndex = resolveTaskIndex(userCommand);
             validateTaskDoneStatus(this.taskList.getTask(markIndex), userCommand.convertCommandTypeToString());
-            this.taskList.markTask(markIndex);
+            recordChanges(List.of(new TaskChange(TaskChange.ChangeType.MARK, markIndex,
+                    this.taskList.getTask(markIndex))));
             return ui.showMarkConfirmationMessage(this.taskList.getTask(markIndex));
         case UNMARK:
-            int unmarkIndex = userCommand.taskIndex;
-            validateTaskIndex(unmarkIndex, this.taskList.getLength());
+            int unmarkIndex = resolveTaskIndex(userCommand);
             validateTaskDoneStatus(this.taskList.getTask(unmarkIndex), userCommand.convertCommandTypeToString());
-            this.taskList.unmarkTask(unmarkIndex);
+            recordChanges(List.of(new TaskChange(TaskChange.ChangeType.UNMARK, unmarkIndex,
+                    this.taskList.getTask(unmarkIndex))));
             return ui.showUnmarkConfirmationMessage(this.taskList.getTask(unmarkIndex));
         case DELETE:
-            int deleteIndex = userCommand.taskIndex;
-            validateTaskIndex(deleteIndex, this.taskList.getLength());
-            Task deletedTask = this.taskList.deleteTask(deleteIndex);
+            int deleteIndex = resolveTaskIndex(userCommand);
+            Task deletedTask = this.taskList.getTask(deleteIndex);
+            recordChanges(List.of(new TaskChange(TaskChange.ChangeType.DELETE, deleteIndex, deletedTask)));
             return ui.showDeleteConfirmationMessage(deletedTask, this.taskList.getLength());
+        case UNDO:
+            CommandHistory.Step undoneStep = this.history.undo();
+            if (undoneStep == null) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_NOTHING_TO_UNDO);
+            }
+            this.taskList.restoreVersion(undoneStep.previousVersion);
+            recordTransition(undoneStep.currentVersion, undoneStep.previousVersion, undoneStep.getInverseChanges());
+            return ui.showUndoMessage(this.taskList.getLength());
+        case REDO:
+            CommandHistory.Step redoneStep = this.history.redo();
+            if (redoneStep == null) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_NOTHING_TO_REDO);
+            }
+            this.taskList.restoreVersion(redoneStep.currentVersion);
+            recordTransition(redoneStep.previousVersion, redoneStep.currentVersion, redoneStep.changes);
+            return ui.showRedoMessage(this.taskList.getLength());
         case FIND:
-            TaskList matchingTasks = this.taskList.getMatchingTasks(this.taskList, taskDescription);
+            assert userCommand.keywordQuery != null : "a find command should carry its parsed query";
+            if (userCommand.keywordQuery.isRanked()) {
+                SearchPage rankedTasks = this.taskList.getRankedTasks(this.taskList, userCommand.keywordQuery,
+                        RANKED_PAGE_SIZE);
+                return ui.showRankedTasks(rankedTasks);
+            }
+            TaskList matchingTasks = this.taskList.getMatchingTasks(this.taskList, userCommand.keywordQuery);
             return ui.showMatchingTasks(matchingTasks);
+        case DUE:
+            TaskList dueTasks = this.taskList.getTasksDueBefore(userCommand.dueDate);
+            return ui.showDueTasks(dueTasks, TaskDate.formatDisplayDate(userCommand.dueDate));
+        case HAPPENING:
+            TaskList happeningTasks = this.taskList.getTasksHappeningBetween(userCommand.startDate,
+                    userCommand.endDate);
+            return ui.showHappeningTasks(happeningTasks, TaskDate.formatDisplayDay(userCommand.startDate));
         case TODO:
             validateUniqueTaskDescription(taskDescription);
             Task todo = new Todo(taskDescription);
-            this.taskList.addTask(todo);
+            recordAddition(todo);
             return ui.showTaskCreationMessage(todo, this.taskList.getLength());
         case DEADLINE:
             validateUniqueTaskDescription(taskDescription);
             Task deadline = new Deadline(taskDescription, userCommand.dueDate);
-            this.taskList.addTask(deadline);
+            recordAddition(deadline);
             return ui.showTaskCreationMessage(deadline, this.taskList.getLength());
         case EVENT:
             validateUniqueTaskDescription(taskDescription);
-            Task event = new Event(taskDescription, userCommand.startDate, userCommand.endDate);
-            this.taskList.addTask(event);
-            return ui.showTaskCreationMessage(event, this.taskList.getLength());
+            Event event = new Event(taskDescription, userCommand.startDate, userCommand.endDate);
+            List<Event> conflictingEvents = this.taskList.getConflictingEvents(event);
+            recordAddition(event);
+            String creationMessage = ui.showTaskCreationMessage(event, this.taskList.getLength());
+            return conflictingEvents.isEmpty()
+                    ? creationMessage
+                    : creationMessage + ui.showEventConflictWarning(conflictingEvents);
         case UNKNOWN:
             // Fallthrough
         default:
@@ -133,6 +235,235 @@ public class ShadowController {
         return this.taskList;
     }
 
+    /**
+     * Executes a MARK, UNMARK, or DELETE command selecting several tasks as a single recorded step.
+     * Tasks whose status already matches a MARK or UNMARK command are skipped, and the deleted tasks are
+     * removed in one sweep over the TaskList. Marked and unmarked tasks are read back after the change, since a
+     * persistent TaskList replaces them with copies holding the new status.
+     *
+     * @param userCommand The command selecting the tasks.
+     * @param ui The ShadowUi instance used to summarize the changes.
+     * @return A String summarizing the changed tasks.
+     * @throws ShadowException If an index is out of range, or no selected task can be changed.
+     */
+    private String executeBulkCommand(ShadowCommand userCommand, ShadowUi ui) throws ShadowException {
+        int[] taskIndices = resolveTaskIndices(userCommand);
+        List<TaskChange> changes = new ArrayList<>(taskIndices.length);
+        List<Task> changedTasks = new ArrayList<>(taskIndices.length);
+        switch (userCommand.commandType) {
+        case MARK:
+            // Fallthrough
+        case UNMARK:
+            boolean isMark = userCommand.commandType == ShadowCommand.CommandType.MARK;
+            for (int taskIndex : taskIndices) {
+                Task task = this.taskList.getTask(taskIndex);
+                if (task.getStatusIcon().equalsIgnoreCase("X") != isMark) {
+                    changes.add(new TaskChange(isMark ? TaskChange.ChangeType.MARK : TaskChange.ChangeType.UNMARK,
+                            taskIndex, task));
+                }
+            }
+            if (changes.isEmpty()) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + (isMark
+                        ? Messages.MESSAGE_ALL_ALREADY_MARKED_DONE
+                        : Messages.MESSAGE_ALL_ALREADY_MARKED_NOT_DONE));
+            }
+            recordChanges(changes);
+            for (TaskChange change : changes) {
+                changedTasks.add(this.taskList.getTask(change.index));
+            }
+            int skippedCount = taskIndices.length - changes.size();
+            return isMark
+                    ? ui.showBulkMarkConfirmationMessage(changedTasks, skippedCount)
+                    : ui.showBulkUnmarkConfirmationMessage(changedTasks, skippedCount);
+        default:
+            // Deleting from the last index down keeps the earlier indices valid when the changes are replayed
+            for (int i = taskIndices.length - 1; i >= 0; i--) {
+                changes.add(new TaskChange(TaskChange.ChangeType.DELETE, taskIndices[i],
+                        this.taskList.getTask(taskIndices[i])));
+            }
+            for (int taskIndex : taskIndices) {
+                changedTasks.add(this.taskList.getTask(taskIndex));
+            }
+            recordChanges(changes);
+            return ui.showBulkDeleteConfirmationMessage(changedTasks, this.taskList.getLength());
+        }
+    }
+
+    /**
+     * Appends the given new task to the TaskList as a single recorded change.
+     *
+     * @param task The Task to add.
+     */
+    private void recordAddition(Task task) {
+        recordChanges(List.of(new TaskChange(TaskChange.ChangeType.ADD, this.taskList.getLength() + 1, task)));
+    }
+
+    /**
+     * Applies the given changes in order, records them in the internal storage and the reminders, and records
+     * them in the CommandHistory as one step together with the Versions of the TaskList before and after them.
+     *
+     * @param changes The changes made by a single command.
+     */
+    private void recordChanges(List<TaskChange> changes) {
+        TaskList.Version previousVersion = this.taskList.getVersion();
+        applyChanges(changes);
+        TaskList.Version currentVersion = this.taskList.getVersion();
+        recordTransition(previousVersion, currentVersion, changes);
+        this.history.record(previousVersion, currentVersion, changes);
+    }
+
+    /**
+     * Applies the given changes to the TaskList in order. Several deletions, which are always listed from the
+     * last index down, are applied together, so the TaskList closes every gap in one sweep.
+     *
+     * @param changes The changes to apply.
+     */
+    private void applyChanges(List<TaskChange> changes) {
+        if (isBulkDeletion(changes)) {
+            this.taskList.deleteTasks(getAscendingIndices(changes));
+            return;
+        }
+
+        for (TaskChange change : changes) {
+            switch (change.changeType) {
+            case ADD:
+                this.taskList.insertTask(change.index, change.task);
+                break;
+            case DELETE:
+                this.taskList.deleteTask(change.index);
+                break;
+            case MARK:
+                this.taskList.markTask(change.index);
+                break;
+            default:
+                this.taskList.unmarkTask(change.index);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Records in the internal storage and the reminders the given changes, which turned the TaskList from one
+     * Version into another. Deleted and marked tasks are read from the earlier Version, and added and unmarked
+     * tasks from the later one, since a persistent TaskList replaces a task with a copy when its status changes.
+     * A task added at the end of the TaskList is stored as an addition, and one added before it as an insertion.
+     * Several deletions are stored as one journal record.
+     *
+     * @param previousVersion The Version before the changes.
+     * @param currentVersion The Version after the changes.
+     * @param changes The changes leading from the previous Version to the current one, in order.
+     */
+    private void recordTransition(TaskList.Version previousVersion, TaskList.Version currentVersion,
+            List<TaskChange> changes) {
+        if (isBulkDeletion(changes)) {
+            int[] taskIndices = getAscendingIndices(changes);
+            for (int taskIndex : taskIndices) {
+                this.reminderScheduler.cancelReminder(previousVersion.getTask(taskIndex));
+            }
+            this.storage.recordDeletions(taskIndices);
+            return;
+        }
+
+        int length = previousVersion.getLength();
+        for (TaskChange change : changes) {
+            switch (change.changeType) {
+            case ADD:
+                Task addedTask = currentVersion.getTask(change.index);
+                if (change.index == ++length) {
+                    this.storage.recordAddition(addedTask);
+                } else {
+                    this.storage.recordInsertion(change.index, addedTask);
+                }
+                this.reminderScheduler.scheduleReminder(addedTask);
+                break;
+            case DELETE:
+                length--;
+                this.storage.recordDeletion(change.index);
+                this.reminderScheduler.cancelReminder(previousVersion.getTask(change.index));
+                break;
+            case MARK:
+                this.storage.recordMark(change.index);
+                this.reminderScheduler.cancelReminder(previousVersion.getTask(change.index));
+                break;
+            default:
+                this.storage.recordUnmark(change.index);
+                this.reminderScheduler.scheduleReminder(currentVersion.getTask(change.index));
+                break;
+            }
+        }
+    }
+
+    private static boolean isBulkDeletion(List<TaskChange> changes) {
+        return changes.size() > 1
+                && changes.stream().allMatch(change -> change.changeType == TaskChange.ChangeType.DELETE);
+    }
+
+    /**
+     * Returns the indices of the given deletions, which are listed from the last index down, in ascending order.
+     */
+    private static int[] getAscendingIndices(List<TaskChange> changes) {
+        int[] taskIndices = new int[changes.size()];
+        for (int i = 0; i < taskIndices.length; i++) {
+            taskIndices[i] = changes.get(taskIndices.length - 1 - i).index;
+        }
+        return taskIndices;
+    }
+
+    /**
+     * Returns the validated 1-based index of the task addressed by the given MARK, UNMARK, or DELETE command.
+     * A task addressed by its stable id is looked up in the TaskIdMap of the TaskList, so commands keep
+     * working on the same task however the tasks before it have moved.
+     *
+     * @param userCommand The command addressing the task by index or by id.
+     * @return The current 1-based index of the addressed task.
+     * @throws ShadowException If the TaskList is empty, the index is out of range, or no task has the id.
+     */
+    private int resolveTaskIndex(ShadowCommand userCommand) throws ShadowException {
+        if (!userCommand.hasTaskId()) {
+            validateTaskIndex(userCommand.taskIndex, this.taskList.getLength());
+            return userCommand.taskIndex;
+        }
+
+        int taskIndex = this.taskList.getIndexOfTaskId(userCommand.taskId);
+        if (taskIndex < 1) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND
+                    + String.format(Messages.MESSAGE_UNKNOWN_TASK_ID, userCommand.taskId));
+        }
+        return taskIndex;
+    }
+
+    /**
+     * Returns the validated 1-based indices of the tasks selected by the given bulk command, in ascending order
+     * and without duplicates.
+     *
+     * @param userCommand The command selecting tasks by ranges of indices or by their done status.
+     * @return The 1-based indices of the selected tasks.
+     * @throws ShadowException If the TaskList is empty, an index is out of range, or no task is done.
+     */
+    private int[] resolveTaskIndices(ShadowCommand userCommand) throws ShadowException {
+        BitSet selectedIndices = new BitSet();
+        if (userCommand.selectsDoneTasks) {
+            int taskIndex = 1;
+            for (Task task : this.taskList.copyTasks()) {
+                if (task.getStatusIcon().equalsIgnoreCase("X")) {
+                    selectedIndices.set(taskIndex);
+                }
+                taskIndex++;
+            }
+            if (selectedIndices.isEmpty()) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_NO_DONE_TASKS);
+            }
+            return selectedIndices.stream().toArray();
+        }
+
+        for (int i = 0; i < userCommand.taskRanges.length; i += 2) {
+            validateTaskIndex(userCommand.taskRanges[i], this.taskList.getLength());
+            validateTaskIndex(userCommand.taskRanges[i + 1], this.taskList.getLength());
+            selectedIndices.set(userCommand.taskRanges[i], userCommand.taskRanges[i + 1] + 1);
+        }
+        return selectedIndices.stream().toArray();
+    }
+
     /**
      * Validates that the given 1-based task index is within the current bounds of the TaskList.
      * This helper function validates task indices used for mark, unmark, and delete commands.
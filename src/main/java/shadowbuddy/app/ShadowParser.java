@@ -1,24 +1,40 @@
 package shadowbuddy.app;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import shadowbuddy.services.Messages;
 import shadowbuddy.services.ShadowException;
+import shadowbuddy.taskmodels.KeywordQuery;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskDate;
 
 /**
  * Parses raw user input into ShadowCommand objects used by the controller.
  * The ShadowParser class interprets user commands defined in ShadowCommand, validates input,
- * and converts raw timestamps into a standardized format.
+ * and converts raw timestamps into epoch seconds.
+ * The input is scanned by index rather than split into arrays, and the date formatters are shared,
+ * so the common commands allocate little beyond the ShadowCommand and its description.
  */
 public class ShadowParser {
     // Statement below adapted from a ChatGPT example on how to define a strict date format for user input
-    private static final String INPUT_DATE_PATTERN = "d/M/yyyy HHmm";
-    private static final String OUTPUT_DATE_PATTERN = "MMM d yyyy HH:mm";
+    private static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    private static final DateTimeFormatter INPUT_DAY_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+    /** Request types recognized by parse, each matched against the first word of the input ignoring case */
+    private static final String[] REQUEST_TYPES = {"list", "mark", "unmark", "delete", "find", "due", "happening",
+        "todo", "deadline", "event", "undo", "redo"};
+    private static final String UNKNOWN_REQUEST_TYPE = "";
     private static final String DEADLINE_MARKER = "/by";
     private static final String EVENT_START_MARKER = "/from";
     private static final String EVENT_END_MARKER = "/to";
+    private static final String DUE_MARKER = "before";
+    private static final String HAPPENING_MARKER = "on";
+    private static final String TASK_ID_MARKER = "#";
+    private static final String DONE_TASKS_MARKER = "/done";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final String LIST_SEPARATOR = ",";
 
     /**
      * Parses raw user input String into a ShadowCommand instance.
@@ -35,25 +51,37 @@ public class ShadowParser {
             throw new ShadowException(Messages.PREFIX_EMPTY_COMMAND + Messages.MESSAGE_COMMANDS_GUIDE);
         }
 
-        String[] inputDetails = userInput.split(" ");
-        String requestType = inputDetails[0].toLowerCase();
-        String requestDetails = inputDetails.length > 1 ? userInput.substring(requestType.length() + 1) : "";
+        int requestTypeEnd = userInput.indexOf(' ');
+        if (requestTypeEnd < 0) {
+            requestTypeEnd = userInput.length();
+        }
+        String requestType = findRequestType(userInput, requestTypeEnd);
+        // The details start after the first space, unless nothing but spaces follows it
+        int detailsStart = isBlankFrom(userInput, requestTypeEnd) ? userInput.length() : requestTypeEnd + 1;
         // Solution below inspired from a ChatGPT example on how to use a switch structure with return statements
+        // Commands addressing existing tasks are read in place, while the others copy out their details
         switch (requestType) {
         case "list":
             return new ShadowCommand(ShadowCommand.CommandType.LIST);
         case "mark":
-            int markIndex = convertStringToIndex(requestDetails);
-            return new ShadowCommand(ShadowCommand.CommandType.MARK, markIndex);
+            return parseTaskReference(ShadowCommand.CommandType.MARK, userInput, detailsStart);
         case "unmark":
-            int unmarkIndex = convertStringToIndex(requestDetails);
-            return new ShadowCommand(ShadowCommand.CommandType.UNMARK, unmarkIndex);
+            return parseTaskReference(ShadowCommand.CommandType.UNMARK, userInput, detailsStart);
         case "delete":
-            int deleteIndex = convertStringToIndex(requestDetails);
-            return new ShadowCommand(ShadowCommand.CommandType.DELETE, deleteIndex);
+            return parseTaskReference(ShadowCommand.CommandType.DELETE, userInput, detailsStart);
+        default:
+            break;
+        }
+
+        String requestDetails = userInput.substring(detailsStart);
+        switch (requestType) {
         case "find":
-            validateSingleKeyword(inputDetails.length - 1, requestDetails);
-            return new ShadowCommand(ShadowCommand.CommandType.FIND, requestDetails);
+            return new ShadowCommand(ShadowCommand.CommandType.FIND, requestDetails,
+                    parseKeywordQuery(requestDetails));
+        case "due":
+            return parseDue(requestDetails);
+        case "happening":
+            return parseHappening(requestDetails);
         case "todo":
             validateNonEmptyRequest(requestDetails, requestType);
             return new ShadowCommand(ShadowCommand.CommandType.TODO, requestDetails);
@@ -61,11 +89,167 @@ public class ShadowParser {
             return parseDeadline(requestDetails, requestType);
         case "event":
             return parseEvent(requestDetails, requestType);
+        case "undo":
+            return new ShadowCommand(ShadowCommand.CommandType.UNDO);
+        case "redo":
+            return new ShadowCommand(ShadowCommand.CommandType.REDO);
         default:
             return new ShadowCommand(ShadowCommand.CommandType.UNKNOWN);
         }
     }
 
+    /**
+     * Returns the request type constant matching the first word of the given input, ignoring case,
+     * or UNKNOWN_REQUEST_TYPE if none matches.
+     *
+     * @param userInput The raw user input.
+     * @param requestTypeEnd The index just past the first word of the input.
+     */
+    private static String findRequestType(String userInput, int requestTypeEnd) {
+        for (String requestType : REQUEST_TYPES) {
+            if (requestType.length() == requestTypeEnd
+                    && userInput.regionMatches(true, 0, requestType, 0, requestTypeEnd)) {
+                return requestType;
+            }
+        }
+        return UNKNOWN_REQUEST_TYPE;
+    }
+
+    /**
+     * Returns true if the given input holds nothing but spaces from the given index onwards.
+     */
+    private static boolean isBlankFrom(String userInput, int start) {
+        for (int i = start; i < userInput.length(); i++) {
+            if (userInput.charAt(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the task addressed by a MARK, UNMARK, or DELETE command and returns the corresponding ShadowCommand.
+     * The task is given either by its 1-based index, or by its stable id prefixed with the "#" marker.
+     * Several tasks can also be given at once as ranges and indices separated by commas, such as "1-5,8",
+     * and a DELETE command can select every done task with the "/done" marker.
+     * A single index or id is read in place from the input, without copying the details out of it.
+     *
+     * @param commandType The type of the command addressing the task.
+     * @param userInput The raw user input.
+     * @param detailsStart The index at which the trailing input after the command keyword starts.
+     * @return A ShadowCommand instance holding the task index, task id, or selected tasks.
+     * @throws ShadowException If an index or id is not numeric, or a range is not in ascending order.
+     */
+    private static ShadowCommand parseTaskReference(ShadowCommand.CommandType commandType, String userInput,
+            int detailsStart) throws ShadowException {
+        int detailsEnd = userInput.length();
+        if (commandType == ShadowCommand.CommandType.DELETE && isTrimmedRegion(userInput, detailsStart,
+                DONE_TASKS_MARKER)) {
+            return new ShadowCommand(commandType, null, true);
+        }
+        if (userInput.indexOf(LIST_SEPARATOR, detailsStart) >= 0
+                || userInput.indexOf(RANGE_SEPARATOR, detailsStart) > detailsStart) {
+            return new ShadowCommand(commandType, parseTaskRanges(userInput, detailsStart), false);
+        }
+        if (!userInput.startsWith(TASK_ID_MARKER, detailsStart)) {
+            return new ShadowCommand(commandType, convertStringToIndex(userInput, detailsStart, detailsEnd));
+        }
+
+        int taskIdStart = detailsStart + TASK_ID_MARKER.length();
+        long taskId = Task.NO_ID;
+        if (isSignedNumber(userInput, taskIdStart, detailsEnd)) {
+            try {
+                taskId = Long.parseLong(userInput, taskIdStart, detailsEnd, 10);
+            } catch (NumberFormatException exception) {
+                taskId = Task.NO_ID;
+            }
+        }
+        if (taskId < 0) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_ID);
+        }
+        return new ShadowCommand(commandType, taskId);
+    }
+
+    /**
+     * Returns true if the given input, from the given index onwards and with surrounding whitespace ignored,
+     * equals the given text.
+     */
+    private static boolean isTrimmedRegion(String userInput, int start, String text) {
+        start = skipWhitespace(userInput, start, userInput.length());
+        int end = trimEnd(userInput, start, userInput.length());
+        return end - start == text.length() && userInput.startsWith(text, start);
+    }
+
+    /**
+     * Returns the ranges of task indices listed in the given input after the given index, as pairs of inclusive
+     * start and end indices. Each comma-separated part is either a single index or a range of the form START-END.
+     * The parts are read in place, so a bulk command costs no substrings; trailing commas are ignored.
+     *
+     * @param userInput The raw user input.
+     * @param detailsStart The index at which the comma-separated indices and ranges start.
+     * @return The start and end index of each part, in the order given.
+     * @throws ShadowException If an index is not numeric, or a range starts after it ends.
+     */
+    private static int[] parseTaskRanges(String userInput, int detailsStart) throws ShadowException {
+        int detailsEnd = userInput.length();
+        while (detailsEnd > detailsStart && userInput.charAt(detailsEnd - 1) == LIST_SEPARATOR.charAt(0)) {
+            detailsEnd--;
+        }
+        int partCount = detailsEnd > detailsStart ? 1 : 0;
+        for (int i = detailsStart; i < detailsEnd; i++) {
+            if (userInput.charAt(i) == LIST_SEPARATOR.charAt(0)) {
+                partCount++;
+            }
+        }
+
+        int[] taskRanges = new int[2 * partCount];
+        int partStart = detailsStart;
+        for (int i = 0; i < partCount; i++) {
+            int separatorIndex = userInput.indexOf(LIST_SEPARATOR, partStart);
+            int partEnd = separatorIndex < 0 || separatorIndex > detailsEnd ? detailsEnd : separatorIndex;
+            int rangeStart = skipWhitespace(userInput, partStart, partEnd);
+            int rangeEnd = trimEnd(userInput, rangeStart, partEnd);
+            int rangeSeparatorIndex = userInput.indexOf(RANGE_SEPARATOR, rangeStart + 1);
+            partStart = partEnd + 1;
+            if (rangeSeparatorIndex < 0 || rangeSeparatorIndex >= rangeEnd) {
+                taskRanges[2 * i] = convertStringToIndex(userInput, rangeStart, rangeEnd);
+                taskRanges[2 * i + 1] = taskRanges[2 * i];
+                continue;
+            }
+
+            taskRanges[2 * i] = convertStringToIndex(userInput, rangeStart,
+                    trimEnd(userInput, rangeStart, rangeSeparatorIndex));
+            taskRanges[2 * i + 1] = convertStringToIndex(userInput,
+                    skipWhitespace(userInput, rangeSeparatorIndex + 1, rangeEnd), rangeEnd);
+            if (taskRanges[2 * i] > taskRanges[2 * i + 1]) {
+                throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_RANGE);
+            }
+        }
+        return taskRanges;
+    }
+
+    /**
+     * Returns the index of the first character at or after the given start that is not whitespace, as String.trim
+     * sees it, or the given end if there is none.
+     */
+    private static int skipWhitespace(String input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index just past the last character before the given end that is not whitespace, as String.trim
+     * sees it, or the given start if there is none.
+     */
+    private static int trimEnd(String input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
     /**
      * Parses Deadline command details and returns the corresponding ShadowCommand instance.
      * Expects the command details to include a task description, the "/by" keyword,
@@ -82,12 +266,14 @@ public class ShadowParser {
         validateNonEmptyRequest(requestDetails, taskType);
         validateUniqueMarkerPresence(requestDetails, DEADLINE_MARKER, Messages.MESSAGE_DEADLINE_FORMAT);
 
-        String[] deadlineDetails = requestDetails.split(DEADLINE_MARKER);
-        validateNonEmptyDate(deadlineDetails, 1, Messages.MESSAGE_DEADLINE_FORMAT);
+        int markerIndex = requestDetails.indexOf(DEADLINE_MARKER);
+        String dueDateDetails = requestDetails.substring(markerIndex + DEADLINE_MARKER.length()).trim();
+        validateNonEmptyDate(dueDateDetails, Messages.MESSAGE_DEADLINE_FORMAT);
 
         try {
-            String formattedDueDate = validateAndFormatDateRange(deadlineDetails[1].trim())[0];
-            return new ShadowCommand(ShadowCommand.CommandType.DEADLINE, deadlineDetails[0].trim(), formattedDueDate);
+            long dueDate = validateAndConvertDateRange(dueDateDetails)[0];
+            return new ShadowCommand(ShadowCommand.CommandType.DEADLINE,
+                    requestDetails.substring(0, markerIndex).trim(), dueDate);
         } catch (DateTimeParseException exception) {
             throw new ShadowException(Messages.MESSAGE_INVALID_DEADLINE_DATE + Messages.MESSAGE_DEADLINE_FORMAT);
         }
@@ -110,34 +296,80 @@ public class ShadowParser {
         validateUniqueMarkerPresence(requestDetails, EVENT_START_MARKER, Messages.MESSAGE_EVENT_FORMAT);
         validateUniqueMarkerPresence(requestDetails, EVENT_END_MARKER, Messages.MESSAGE_EVENT_FORMAT);
 
-        String[] eventDetails = requestDetails.split(EVENT_START_MARKER);
-        String[] eventTimings = eventDetails[1].split(EVENT_END_MARKER);
-        validateNonEmptyDate(eventTimings, 0, Messages.MESSAGE_EVENT_FORMAT);
-        validateNonEmptyDate(eventTimings, 1, Messages.MESSAGE_EVENT_FORMAT);
+        int startMarkerIndex = requestDetails.indexOf(EVENT_START_MARKER);
+        int timingsStart = startMarkerIndex + EVENT_START_MARKER.length();
+        int endMarkerIndex = requestDetails.indexOf(EVENT_END_MARKER, timingsStart);
+        if (endMarkerIndex < 0) {
+            // The "/to" marker comes before "/from", so no end date follows the start date
+            endMarkerIndex = requestDetails.length();
+        }
+        String startDateDetails = requestDetails.substring(timingsStart, endMarkerIndex).trim();
+        String endDateDetails = endMarkerIndex == requestDetails.length() ? ""
+                : requestDetails.substring(endMarkerIndex + EVENT_END_MARKER.length()).trim();
+        validateNonEmptyDate(startDateDetails, Messages.MESSAGE_EVENT_FORMAT);
+        validateNonEmptyDate(endDateDetails, Messages.MESSAGE_EVENT_FORMAT);
 
         try {
-            String[] formattedDates = validateAndFormatDateRange(eventTimings[0].trim(), eventTimings[1].trim());
-            return new ShadowCommand(ShadowCommand.CommandType.EVENT, eventDetails[0].trim(), formattedDates[0],
-                    formattedDates[1]);
+            long[] eventDates = validateAndConvertDateRange(startDateDetails, endDateDetails);
+            return new ShadowCommand(ShadowCommand.CommandType.EVENT,
+                    requestDetails.substring(0, startMarkerIndex).trim(), eventDates[0], eventDates[1]);
         } catch (DateTimeParseException exception) {
             throw new ShadowException(Messages.MESSAGE_INVALID_EVENT_DATE + Messages.MESSAGE_EVENT_FORMAT);
         }
     }
 
     /**
-     * Validates that exactly one keyword has been supplied for the FIND command.
+     * Parses Due command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include the "before" keyword and a date in the format "d/M/yyyy HHmm".
      *
-     * @param keywordCount The number of keywords in the FIND command.
-     * @param details The trailing input after the find keyword.
-     * @throws ShadowException If the keyword is missing or if more than one keyword is provided.
+     * @param requestDetails The trailing input after the due keyword.
+     * @return A ShadowCommand instance holding the date before which the listed deadlines are due.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
      */
-    private static void validateSingleKeyword(int keywordCount, String details) throws ShadowException {
-        if (details.isEmpty()) {
-            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_NO_KEYWORD);
+    private static ShadowCommand parseDue(String requestDetails) throws ShadowException {
+        String date = removeLeadingMarker(requestDetails, DUE_MARKER, Messages.MESSAGE_DUE_FORMAT);
+        try {
+            LocalDateTime dueDate = LocalDateTime.parse(date, INPUT_DATE_FORMATTER);
+            return new ShadowCommand(ShadowCommand.CommandType.DUE, requestDetails, TaskDate.toEpochSecond(dueDate));
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_QUERY_DATE + Messages.MESSAGE_DUE_FORMAT);
+        }
+    }
+
+    /**
+     * Parses Happening command details and returns the corresponding ShadowCommand instance.
+     * Expects the command details to include the "on" keyword and a day in the format "d/M/yyyy".
+     *
+     * @param requestDetails The trailing input after the happening keyword.
+     * @return A ShadowCommand instance holding the start and the exclusive end of the given day.
+     * @throws ShadowException If the requestDetails is syntactically invalid.
+     */
+    private static ShadowCommand parseHappening(String requestDetails) throws ShadowException {
+        String day = removeLeadingMarker(requestDetails, HAPPENING_MARKER, Messages.MESSAGE_HAPPENING_FORMAT);
+        try {
+            LocalDate date = LocalDate.parse(day, INPUT_DAY_FORMATTER);
+            long dayStart = TaskDate.toEpochSecond(date.atStartOfDay());
+            return new ShadowCommand(ShadowCommand.CommandType.HAPPENING, requestDetails, dayStart,
+                    dayStart + TaskDate.SECONDS_PER_DAY);
+        } catch (DateTimeParseException exception) {
+            throw new ShadowException(Messages.MESSAGE_INVALID_QUERY_DATE + Messages.MESSAGE_HAPPENING_FORMAT);
         }
+    }
 
-        if (keywordCount > 1) {
-            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_MULTIPLE_KEYWORDS);
+    /**
+     * Parses the keywords and AND, OR and NOT operators supplied for the FIND command into a KeywordQuery,
+     * which the command carries so the query is only parsed once.
+     *
+     * @param details The trailing input after the find keyword.
+     * @return The parsed KeywordQuery.
+     * @throws ShadowException If the keyword is missing, an operator is misplaced, or a part of the query
+     *     only holds negated keywords.
+     */
+    private static KeywordQuery parseKeywordQuery(String details) throws ShadowException {
+        try {
+            return KeywordQuery.parse(details);
+        } catch (IllegalArgumentException exception) {
+            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + exception.getMessage());
         }
     }
 
@@ -174,64 +406,108 @@ public class ShadowParser {
     }
 
     /**
-     * Validates that the appropriate date exists for DEADLINE and EVENT commands.
+     * Returns the date following the given leading marker in the details of DUE and HAPPENING commands.
+     *
+     * @param details The trailing input after the due or happening keyword.
+     * @param marker The word expected before the date ("before", "on").
+     * @param msg The error message to include in the exception thrown when the marker or date is missing.
+     * @throws ShadowException If the details do not start with the marker or no date follows it.
+     */
+    private static String removeLeadingMarker(String details, String marker, String msg) throws ShadowException {
+        String trimmedDetails = details.trim();
+        int markerEnd = trimmedDetails.indexOf(' ');
+        if (markerEnd < 0) {
+            markerEnd = trimmedDetails.length();
+        }
+        if (markerEnd != marker.length() || !trimmedDetails.regionMatches(true, 0, marker, 0, markerEnd)) {
+            throw new ShadowException(String.format(Messages.MESSAGE_INVALID_MARKER_FORMAT, msg));
+        }
+
+        String date = trimmedDetails.substring(markerEnd).trim();
+        validateNonEmptyDate(date, msg);
+        return date;
+    }
+
+    /**
+     * Validates that the appropriate date exists for DEADLINE, EVENT, DUE and HAPPENING commands.
      *
-     * @param data The parts of the task details separated by the date markers.
-     * @param index The position in the array where the appropriate date should be found.
+     * @param date The trimmed part of the details where the date should be found.
      * @param msg The error message to include in the exception thrown when the date is missing.
      * @throws ShadowException If the expected date is missing.
      */
-    private static void validateNonEmptyDate(String[] data, int index, String msg) throws ShadowException {
-        if (data.length <= index || data[index].trim().isEmpty()) {
+    private static void validateNonEmptyDate(String date, String msg) throws ShadowException {
+        if (date.isEmpty()) {
             throw new ShadowException(Messages.MESSAGE_EMPTY_TASK_DATE + msg);
         }
     }
 
     /**
-     * Returns a String array containing the formatted timestamp(s) for the given input timestamp(s).
+     * Returns a long array containing the epoch seconds of the given input timestamp(s).
      * Array length is 1 for a single deadline due date, or 2 for an event start and end date.
      * If given two timestamps, validate that they form a valid chronological range.
-     * This helper function converts the given timestamp using the DateTimeFormatter class.
+     * This helper function parses the given timestamp using the DateTimeFormatter class.
      *
      * @param timestamps One or two timestamps in "d/M/yyyy HHmm" format.
-     * @return An array of formatted timestamps in "MMM d yyyy HH:mm" format.
+     * @return An array of the epoch seconds of the given timestamps.
      * @throws ShadowException If two timestamps are supplied and the end date is before the start date.
      */
     // Solution below inspired from a ChatGPT example on how to use varargs and return a String array
-    private static String[] validateAndFormatDateRange(String... timestamps) throws ShadowException {
+    private static long[] validateAndConvertDateRange(String... timestamps) throws ShadowException {
         assert timestamps != null : "timestamps should not be null";
-        DateTimeFormatter taskInputFormatter = DateTimeFormatter.ofPattern(INPUT_DATE_PATTERN);
-        DateTimeFormatter taskOutputFormatter = DateTimeFormatter.ofPattern(OUTPUT_DATE_PATTERN);
-
         if (timestamps.length == 1) {
-            LocalDateTime dueDate = LocalDateTime.parse(timestamps[0], taskInputFormatter);
-            return new String[] { dueDate.format(taskOutputFormatter) };
+            LocalDateTime dueDate = LocalDateTime.parse(timestamps[0], INPUT_DATE_FORMATTER);
+            return new long[] { TaskDate.toEpochSecond(dueDate) };
         } else if (timestamps.length == 2) {
-            LocalDateTime startDate = LocalDateTime.parse(timestamps[0], taskInputFormatter);
-            LocalDateTime endDate = LocalDateTime.parse(timestamps[1], taskInputFormatter);
+            LocalDateTime startDate = LocalDateTime.parse(timestamps[0], INPUT_DATE_FORMATTER);
+            LocalDateTime endDate = LocalDateTime.parse(timestamps[1], INPUT_DATE_FORMATTER);
             if (endDate.isBefore(startDate)) {
                 throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_DATE_RANGE);
             }
-            return new String[] { startDate.format(taskOutputFormatter), endDate.format(taskOutputFormatter) };
+            return new long[] { TaskDate.toEpochSecond(startDate), TaskDate.toEpochSecond(endDate) };
         } else {
             throw new IllegalArgumentException(Messages.MESSAGE_INVALID_TIMESTAMP_ARGUMENT_COUNT);
         }
     }
 
     /**
-     * Returns an integer corresponding to the given numeric String.
-     * This helper function converts the given String into an integer used for TaskList indexing.
+     * Returns an integer corresponding to the numeric characters of the given String between the given bounds,
+     * read in place.
      *
-     * @param index The String representing a numeric index.
+     * @param input The String holding a numeric index.
+     * @param start The index of the first character of the numeric index.
+     * @param end The index just past the last character of the numeric index.
      * @return The parsed integer index.
-     * @throws ShadowException If the given String is not a valid integer representation.
+     * @throws ShadowException If the characters are not a valid integer representation.
      */
-    private static int convertStringToIndex(String index) throws ShadowException {
+    private static int convertStringToIndex(String input, int start, int end) throws ShadowException {
         // Solution below inspired from a ChatGPT example on how to use parseInt to convert Strings to numbers
         try {
-            return Integer.parseInt(index);
+            if (isSignedNumber(input, start, end)) {
+                return Integer.parseInt(input, start, end, 10);
+            }
         } catch (NumberFormatException exception) {
-            throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_INDEX);
+            // The number does not fit in an int, which is reported like any other invalid index
+        }
+        throw new ShadowException(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_INDEX);
+    }
+
+    /**
+     * Returns true if the characters of the given String between the given bounds are decimal digits with an
+     * optional leading sign, as accepted by Integer.parseInt apart from overflow.
+     * Checking the digits first keeps mistyped indices from costing a NumberFormatException and its stack trace.
+     */
+    private static boolean isSignedNumber(String input, int start, int end) {
+        if (start < end && (input.charAt(start) == '+' || input.charAt(start) == '-')) {
+            start++;
+        }
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (Character.digit(input.charAt(i), 10) < 0) {
+                return false;
+            }
         }
+        return true;
     }
 }
@@ -1,5 +1,10 @@
 package shadowbuddy.app;
 
+import java.util.List;
+
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.SearchPage;
 import shadowbuddy.taskmodels.Task;
 import shadowbuddy.taskmodels.TaskList;
 
@@ -9,6 +14,11 @@ import shadowbuddy.taskmodels.TaskList;
  * and task-related confirmations, providing a single platform for handling communication.
  */
 public class ShadowUi {
+    /** Largest number of conflicting events listed in a conflict warning */
+    private static final int MAX_LISTED_CONFLICTS = 5;
+    /** Largest number of tasks listed in the confirmation of a bulk command */
+    private static final int MAX_LISTED_BULK_TASKS = 10;
+
     public String greetUser() {
         return "Hi, I'm Shadow, your personal assistant!\nWhat can I help you with today?\n";
     }
@@ -17,8 +27,18 @@ public class ShadowUi {
         return "Goodbye! I'll be here if you need anything else!";
     }
 
+    /**
+     * Displays every task in the given TaskList with its index, followed by its stable id.
+     *
+     * @param taskList The TaskList to display.
+     */
     public String showTaskList(TaskList taskList) {
-        return "Here are the tasks in your list:\n" + taskList;
+        StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
+        int taskNumber = 1;
+        for (Task task : taskList.copyTasks()) {
+            sb.append(taskNumber++).append(". ").append(task).append(" (#").append(task.getId()).append(")\n");
+        }
+        return sb.toString();
     }
 
     /**
@@ -30,6 +50,82 @@ public class ShadowUi {
         return "Here are the matching tasks in your list:\n" + filteredTaskList;
     }
 
+    /**
+     * Displays the deadlines from the given TaskList that are due before the given date.
+     *
+     * @param dueTasks The TaskList of deadlines due before the date, earliest first.
+     * @param date The display form of the date the deadlines are due before.
+     */
+    public String showDueTasks(TaskList dueTasks, String date) {
+        return "Here are the tasks due before " + date + ":\n" + dueTasks;
+    }
+
+    /**
+     * Displays the deadlines and events from the given TaskList that happen on the given day.
+     *
+     * @param happeningTasks The TaskList of deadlines and events happening on the day, in date order.
+     * @param day The display form of the day.
+     */
+    public String showHappeningTasks(TaskList happeningTasks, String day) {
+        return "Here are the tasks happening on " + day + ":\n" + happeningTasks;
+    }
+
+    /**
+     * Displays one page of ranked matching tasks, numbered by their overall rank.
+     * The header states the page shown, the number of pages and the number of matching tasks.
+     *
+     * @param searchPage The SearchPage holding the ranked tasks to display.
+     */
+    public String showRankedTasks(SearchPage searchPage) {
+        if (searchPage.getTasks().isEmpty() && searchPage.getMatchCount() > 0) {
+            return "There is no page " + searchPage.getPageNumber() + "! Your search only has "
+                    + searchPage.getPageCount() + " page(s).";
+        }
+
+        StringBuilder sb = new StringBuilder("Here are the best matching tasks in your list (page ")
+                .append(searchPage.getPageNumber()).append(" of ").append(searchPage.getPageCount())
+                .append(", ").append(searchPage.getMatchCount()).append(" matches):\n");
+        int rank = searchPage.getFirstRank();
+        for (Task task : searchPage.getTasks()) {
+            sb.append(rank++).append(". ").append(task).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a warning listing the existing events that overlap a newly added event.
+     * Only the earliest few conflicts are listed, followed by the number of conflicts left out.
+     *
+     * @param conflictingEvents The overlapping events, in start date order.
+     */
+    public String showEventConflictWarning(List<Event> conflictingEvents) {
+        StringBuilder sb = new StringBuilder("Heads up! This event overlaps with ").append(conflictingEvents.size())
+                .append(conflictingEvents.size() == 1 ? " other event:\n" : " other events:\n");
+        int listedCount = Math.min(conflictingEvents.size(), MAX_LISTED_CONFLICTS);
+        for (int i = 0; i < listedCount; i++) {
+            sb.append("  ").append(conflictingEvents.get(i)).append("\n");
+        }
+        if (conflictingEvents.size() > listedCount) {
+            sb.append("  ...and ").append(conflictingEvents.size() - listedCount).append(" more\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a reminder that the given deadline is due soon or the given event starts soon.
+     *
+     * @param task The Deadline or Event to remind the user of.
+     */
+    public String showReminder(Task task) {
+        if (task instanceof Deadline deadline) {
+            return "Reminder! This task is due at " + deadline.getDueDate() + ":\n  " + task + "\n";
+        } else if (task instanceof Event event) {
+            return "Reminder! This event starts at " + event.getStartDate() + ":\n  " + task + "\n";
+        } else {
+            return "Reminder!\n  " + task + "\n";
+        }
+    }
+
     /**
      * Returns a confirmation message that the given task has been marked as done.
      * The String representation of the completed task is also displayed.
@@ -61,14 +157,89 @@ public class ShadowUi {
         return "Noted. I've removed this task:\n  " + task + "\nNow you have " + taskCount + " tasks in the list.\n";
     }
 
+    /**
+     * Returns a confirmation message that the given tasks have been marked as done.
+     * Only the first few tasks are listed, followed by the number of tasks left out.
+     *
+     * @param tasks The Tasks that were marked as done, in TaskList order.
+     * @param skippedCount The number of selected tasks that were already done.
+     */
+    public String showBulkMarkConfirmationMessage(List<Task> tasks, int skippedCount) {
+        StringBuilder sb = new StringBuilder("Nice! I've marked ").append(tasks.size()).append(" tasks as done:\n");
+        appendBulkTasks(sb, tasks);
+        if (skippedCount > 0) {
+            sb.append("Skipped ").append(skippedCount).append(" tasks that were already done.\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a confirmation message that the given tasks have been marked as not done.
+     * Only the first few tasks are listed, followed by the number of tasks left out.
+     *
+     * @param tasks The Tasks that were marked as not done, in TaskList order.
+     * @param skippedCount The number of selected tasks that were already not done.
+     */
+    public String showBulkUnmarkConfirmationMessage(List<Task> tasks, int skippedCount) {
+        StringBuilder sb = new StringBuilder("OK, I've marked ").append(tasks.size())
+                .append(" tasks as not done:\n");
+        appendBulkTasks(sb, tasks);
+        if (skippedCount > 0) {
+            sb.append("Skipped ").append(skippedCount).append(" tasks that were already not done.\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a confirmation message that the given tasks have been deleted, with the remaining task count.
+     * Only the first few tasks are listed, followed by the number of tasks left out.
+     *
+     * @param tasks The Tasks that were deleted, in their former TaskList order.
+     * @param taskCount The number of tasks remaining in the task list.
+     */
+    public String showBulkDeleteConfirmationMessage(List<Task> tasks, int taskCount) {
+        StringBuilder sb = new StringBuilder("Noted. I've removed ").append(tasks.size()).append(" tasks:\n");
+        appendBulkTasks(sb, tasks);
+        return sb.append("Now you have ").append(taskCount).append(" tasks in the list.\n").toString();
+    }
+
     /**
      * Returns a confirmation message that the given task has been created.
-     * The String representation of the created task and the new task count are also displayed.
+     * The stable id of the created task, its String representation and the new task count are also displayed.
      *
      * @param task The Task that was created.
      * @param taskCount The updated number of tasks in the task list.
      */
     public String showTaskCreationMessage(Task task, int taskCount) {
-        return "Got it. I've added this task:\n  " + task + "\nNow you have " + taskCount + " tasks in the list.\n";
+        return "Got it. I've added this task as #" + task.getId() + ":\n  " + task + "\nNow you have " + taskCount
+                + " tasks in the list.\n";
+    }
+
+    /**
+     * Returns a confirmation message that the last change has been undone, with the new task count.
+     *
+     * @param taskCount The number of tasks in the task list after undoing.
+     */
+    public String showUndoMessage(int taskCount) {
+        return "Done! I've undone your last change.\nNow you have " + taskCount + " tasks in the list.\n";
+    }
+
+    /**
+     * Returns a confirmation message that the last undone change has been redone, with the new task count.
+     *
+     * @param taskCount The number of tasks in the task list after redoing.
+     */
+    public String showRedoMessage(int taskCount) {
+        return "Done! I've redone your last undone change.\nNow you have " + taskCount + " tasks in the list.\n";
+    }
+
+    private void appendBulkTasks(StringBuilder sb, List<Task> tasks) {
+        int listedCount = Math.min(tasks.size(), MAX_LISTED_BULK_TASKS);
+        for (int i = 0; i < listedCount; i++) {
+            sb.append("  ").append(tasks.get(i)).append("\n");
+        }
+        if (tasks.size() > listedCount) {
+            sb.append("  ...and ").append(tasks.size() - listedCount).append(" more\n");
+        }
     }
 }
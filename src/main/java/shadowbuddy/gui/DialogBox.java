@@ -74,6 +74,9 @@ public class DialogBox extends HBox {
         case "UNKNOWN":
             dialog.getStyleClass().add("error-label");
             break;
+        case "REMINDER":
+            dialog.getStyleClass().add("reminder-label");
+            break;
         default:
             // Do nothing
         }
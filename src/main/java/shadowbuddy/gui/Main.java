@@ -37,4 +37,16 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Saves any pending changes before the JavaFX application exits.
+     */
+    @Override
+    public void stop() {
+        try {
+            shadow.shutdown();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 }
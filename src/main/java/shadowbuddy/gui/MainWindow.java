@@ -1,5 +1,6 @@
 package shadowbuddy.gui;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -13,6 +14,8 @@ import shadowbuddy.app.Shadow;
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    private static final String REMINDER_STYLE = "REMINDER";
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -37,12 +40,16 @@ public class MainWindow extends AnchorPane {
     /**
      * Injects the Shadow instance and displays the chatbot's greeting in a default dialog container.
      * Uses the overloaded DialogBox factory method that takes a greeting message and chatbot image.
+     * Reminders then arrive on a background thread and are appended on the JavaFX thread through
+     * Platform.runLater, so they never block user input.
      */
     public void setShadow(Shadow shadow) {
         this.shadow = shadow;
         dialogContainer.getChildren().addAll(
                 DialogBox.getShadowDialog(shadow.startShadowSession(), chatbotImage)
         );
+        shadow.startReminders(reminder -> Platform.runLater(() -> dialogContainer.getChildren().add(
+                DialogBox.getShadowDialog(reminder, chatbotImage, REMINDER_STYLE))));
     }
 
     /**
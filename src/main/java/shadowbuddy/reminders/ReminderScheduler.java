@@ -0,0 +1,212 @@
+package shadowbuddy.reminders;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskDate;
+import shadowbuddy.taskmodels.TaskList;
+
+/**
+ * Schedules reminders for upcoming deadlines and events, and delivers them when they fall due.
+ * Every deadline or event that is not done gets one reminder, an hour before it is due or starts, or as soon as
+ * possible when that moment has already passed but the task has not. Reminders are kept in a TimingWheel with
+ * one-second ticks, so scheduling and cancelling a reminder costs O(1) however many reminders are pending.
+ * The ShadowController keeps the reminders in step with the TaskList: marking or deleting a task cancels its
+ * reminder, while adding or unmarking one schedules it.
+ * Once started, a daemon thread turns the wheel every second and hands the due tasks to a listener, so the
+ * thread handling user commands never waits on reminders.
+ * A scheduler created by disabled ignores every request, for controllers that never deliver reminders.
+ */
+public class ReminderScheduler {
+    /** Number of seconds before a deadline is due or an event starts at which its reminder fires */
+    public static final long REMINDER_LEAD_SECONDS = 3600;
+    private static final long TICK_MILLIS = 1000;
+
+    private final LongSupplier clock;
+    private final TimingWheel<Task> reminderWheel;
+    private final IdentityHashMap<Task, TimingWheel.Timeout<Task>> pendingReminders;
+    private final boolean isEnabled;
+    private Thread tickerThread;
+    private boolean isClosed;
+
+    /**
+     * Initializes a ReminderScheduler instance driven by the system clock.
+     */
+    public ReminderScheduler() {
+        this(() -> TaskDate.toEpochSecond(LocalDateTime.now()));
+    }
+
+    /**
+     * Initializes a ReminderScheduler instance driven by the given clock.
+     *
+     * @param clock The supplier of the current time, as an epoch second in the same form as task dates.
+     */
+    public ReminderScheduler(LongSupplier clock) {
+        this(clock, true);
+    }
+
+    private ReminderScheduler(LongSupplier clock, boolean isEnabled) {
+        assert clock != null : "clock should not be null";
+        this.clock = clock;
+        this.reminderWheel = new TimingWheel<>(clock.getAsLong());
+        this.pendingReminders = new IdentityHashMap<>();
+        this.isEnabled = isEnabled;
+        this.tickerThread = null;
+        this.isClosed = false;
+    }
+
+    /**
+     * Returns a ReminderScheduler that schedules nothing, so a controller that never delivers reminders
+     * does not keep every dated task in the wheel.
+     *
+     * @return A ReminderScheduler whose requests are all ignored.
+     */
+    public static ReminderScheduler disabled() {
+        return new ReminderScheduler(() -> 0, false);
+    }
+
+    /**
+     * Schedules a reminder for every deadline and event in the given TaskList that needs one.
+     *
+     * @param taskList The TaskList whose tasks are scheduled.
+     */
+    public synchronized void scheduleReminders(TaskList taskList) {
+        assert taskList != null : "taskList should not be null";
+        if (!this.isEnabled) {
+            return;
+        }
+        for (int i = 1; i <= taskList.getLength(); i++) {
+            scheduleReminder(taskList.getTask(i));
+        }
+    }
+
+    /**
+     * Schedules a reminder for the given task, replacing any reminder it already has.
+     * Todos, tasks that are done, and tasks whose date has passed are not scheduled.
+     *
+     * @param task The task to be reminded of.
+     */
+    public synchronized void scheduleReminder(Task task) {
+        assert task != null : "task should not be null";
+        if (!this.isEnabled) {
+            return;
+        }
+        cancelReminder(task);
+        long taskDate;
+        if (task instanceof Deadline deadline) {
+            taskDate = deadline.getDueEpochSecond();
+        } else if (task instanceof Event event) {
+            taskDate = event.getStartEpochSecond();
+        } else {
+            return;
+        }
+
+        boolean isTaskDone = task.getStatusIcon().equalsIgnoreCase("X");
+        if (isTaskDone || taskDate <= this.clock.getAsLong()) {
+            return;
+        }
+        this.pendingReminders.put(task, this.reminderWheel.schedule(taskDate - REMINDER_LEAD_SECONDS, task));
+    }
+
+    /**
+     * Cancels the pending reminder of the given task, if any.
+     *
+     * @param task The task that no longer needs a reminder.
+     */
+    public synchronized void cancelReminder(Task task) {
+        assert task != null : "task should not be null";
+        TimingWheel.Timeout<Task> reminder = this.pendingReminders.remove(task);
+        if (reminder != null) {
+            this.reminderWheel.cancel(reminder);
+        }
+    }
+
+    /**
+     * Advances the reminders to the current time and returns the tasks whose reminders fell due.
+     *
+     * @return A List of the tasks to remind the user of, earliest reminder first.
+     */
+    public synchronized List<Task> fireDueReminders() {
+        List<Task> dueTasks = this.reminderWheel.advanceTo(this.clock.getAsLong());
+        for (Task task : dueTasks) {
+            this.pendingReminders.remove(task);
+        }
+        return dueTasks;
+    }
+
+    public synchronized int getPendingCount() {
+        return this.pendingReminders.size();
+    }
+
+    /**
+     * Starts the daemon thread that fires due reminders every second and passes them to the given listener.
+     * The listener is called on that thread, so it must hand the reminders over to the GUI thread itself.
+     *
+     * @param reminderListener The listener receiving the tasks whose reminders fell due.
+     */
+    public synchronized void start(Consumer<List<Task>> reminderListener) {
+        assert reminderListener != null : "reminderListener should not be null";
+        assert this.isEnabled : "a disabled scheduler should not be started";
+        assert this.tickerThread == null : "the scheduler should only be started once";
+        this.tickerThread = new Thread(() -> runTicker(reminderListener), "shadow-reminders");
+        this.tickerThread.setDaemon(true);
+        this.tickerThread.start();
+    }
+
+    /**
+     * Stops the reminder thread, if it was started. Safe to call more than once.
+     */
+    public void close() {
+        Thread ticker;
+        synchronized (this) {
+            this.isClosed = true;
+            this.notifyAll();
+            ticker = this.tickerThread;
+        }
+
+        if (ticker != null && ticker != Thread.currentThread()) {
+            try {
+                ticker.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Fires due reminders once per tick until the scheduler is closed.
+     * The listener is called without holding the scheduler's lock, so it cannot block commands.
+     */
+    private void runTicker(Consumer<List<Task>> reminderListener) {
+        while (awaitNextTick()) {
+            List<Task> dueTasks = fireDueReminders();
+            if (!dueTasks.isEmpty()) {
+                reminderListener.accept(dueTasks);
+            }
+        }
+    }
+
+    /**
+     * Blocks for one tick.
+     *
+     * @return True if reminders should be fired; False if the scheduler was closed.
+     */
+    private synchronized boolean awaitNextTick() {
+        if (this.isClosed) {
+            return false;
+        }
+        try {
+            this.wait(TICK_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !this.isClosed;
+    }
+}
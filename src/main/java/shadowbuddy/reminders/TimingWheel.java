@@ -0,0 +1,220 @@
+package shadowbuddy.reminders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules payloads to fire at given ticks using a hierarchical timing wheel.
+ * Each level of the wheel has 64 slots, and a slot on level L covers 64^L ticks, so eleven levels cover every
+ * long tick. A timeout is placed on the lowest level whose slot it shares with the current tick above that
+ * level, and is moved one level down each time the wheel turns into its slot, until it fires from level 0.
+ * Scheduling only computes a level and a slot, and cancelling unlinks the timeout from its slot's doubly
+ * linked list, so both are O(1). Firing is O(1) per timeout, since a timeout moves down at most eleven times.
+ * The wheel is not thread-safe, so callers sharing it between threads must synchronize on it.
+ *
+ * @param <T> The type of the payloads carried by the timeouts.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final Timeout<T>[][] slots;
+    private final List<Timeout<T>> expiredTimeouts;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Initializes an empty TimingWheel instance positioned at the given tick.
+     *
+     * @param currentTick The tick the wheel starts at.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long currentTick) {
+        this.slots = new Timeout[LEVEL_COUNT][SLOT_COUNT];
+        this.expiredTimeouts = new ArrayList<>();
+        this.currentTick = currentTick;
+        this.size = 0;
+    }
+
+    /**
+     * Schedules the given payload to fire at the given tick.
+     * A payload scheduled at or before the current tick fires on the next call to advanceTo.
+     *
+     * @param tick The tick at which the payload fires.
+     * @param payload The payload to return when the timeout fires.
+     * @return The scheduled Timeout, which can be passed to cancel.
+     */
+    public Timeout<T> schedule(long tick, T payload) {
+        Timeout<T> timeout = new Timeout<>(tick, payload);
+        place(timeout);
+        this.size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels the given timeout if it has not fired or been cancelled yet.
+     *
+     * @param timeout The Timeout returned by schedule.
+     * @return True if the timeout was pending and is now cancelled; False otherwise.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        assert timeout != null : "timeout should not be null";
+        if (timeout.level == Timeout.NOT_PENDING) {
+            return false;
+        }
+
+        if (timeout.level == Timeout.EXPIRED) {
+            this.expiredTimeouts.remove(timeout);
+        } else {
+            unlink(timeout);
+        }
+        timeout.level = Timeout.NOT_PENDING;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Turns the wheel forward to the given tick and returns the payloads that fired on the way, in tick order.
+     * A wheel without pending timeouts jumps straight to the given tick.
+     *
+     * @param tick The tick to advance to; earlier ticks leave the wheel where it is.
+     * @return A List of the fired payloads.
+     */
+    public List<T> advanceTo(long tick) {
+        List<T> firedPayloads = new ArrayList<>();
+        collectExpired(firedPayloads);
+        while (this.currentTick < tick) {
+            if (this.size == 0) {
+                this.currentTick = tick;
+                break;
+            }
+            this.currentTick++;
+            cascade();
+            Timeout<T> timeout = this.slots[0][(int) (this.currentTick & SLOT_MASK)];
+            while (timeout != null) {
+                Timeout<T> nextTimeout = timeout.next;
+                unlink(timeout);
+                this.expiredTimeouts.add(timeout);
+                timeout.level = Timeout.EXPIRED;
+                timeout = nextTimeout;
+            }
+            collectExpired(firedPayloads);
+        }
+        return firedPayloads;
+    }
+
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Moves the timeouts of every higher-level slot the wheel has just turned into one level down or more.
+     * Higher levels are emptied first, so no timeout lands in a slot that has already been processed.
+     */
+    private void cascade() {
+        int highestLevel = 0;
+        while (highestLevel + 1 < LEVEL_COUNT
+                && (this.currentTick & ((1L << (SLOT_BITS * (highestLevel + 1))) - 1)) == 0) {
+            highestLevel++;
+        }
+
+        for (int level = highestLevel; level > 0; level--) {
+            int slot = (int) ((this.currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> timeout = this.slots[level][slot];
+            this.slots[level][slot] = null;
+            while (timeout != null) {
+                Timeout<T> nextTimeout = timeout.next;
+                timeout.previous = null;
+                timeout.next = null;
+                place(timeout);
+                timeout = nextTimeout;
+            }
+        }
+    }
+
+    /**
+     * Links the given timeout into the slot of the lowest level it shares with the current tick,
+     * or marks it as expired when its tick has already been reached.
+     */
+    private void place(Timeout<T> timeout) {
+        if (timeout.tick <= this.currentTick) {
+            timeout.level = Timeout.EXPIRED;
+            this.expiredTimeouts.add(timeout);
+            return;
+        }
+
+        int level = 0;
+        while (level + 1 < LEVEL_COUNT
+                && (timeout.tick >>> (SLOT_BITS * (level + 1))) != (this.currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((timeout.tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.previous = null;
+        timeout.next = this.slots[level][slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        this.slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            this.slots[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    private void collectExpired(List<T> firedPayloads) {
+        for (Timeout<T> timeout : this.expiredTimeouts) {
+            timeout.level = Timeout.NOT_PENDING;
+            firedPayloads.add(timeout.payload);
+        }
+        this.size -= this.expiredTimeouts.size();
+        this.expiredTimeouts.clear();
+    }
+
+    /**
+     * Represents a payload scheduled on the wheel, linked into the slot that currently holds it.
+     *
+     * @param <T> The type of the payload.
+     */
+    public static class Timeout<T> {
+        private static final int EXPIRED = -1;
+        private static final int NOT_PENDING = -2;
+
+        private final long tick;
+        private final T payload;
+        private int level;
+        private int slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(long tick, T payload) {
+            this.tick = tick;
+            this.payload = payload;
+            this.level = NOT_PENDING;
+        }
+
+        public long getTick() {
+            return this.tick;
+        }
+
+        public T getPayload() {
+            return this.payload;
+        }
+    }
+}
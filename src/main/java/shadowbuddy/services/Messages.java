@@ -17,25 +17,47 @@ public class Messages {
     public static final String MESSAGE_EMPTY_TASK_LIST = "Your task list is empty!";
     public static final String MESSAGE_INVALID_TASK_INDEX = "Please provide a numeric index for your request!";
     public static final String MESSAGE_INVALID_TASK_INDEX_BOUNDS = "Please enter a number between 1 and %s.";
+    public static final String MESSAGE_INVALID_TASK_ID = "Please provide a numeric id after # for your request!";
+    public static final String MESSAGE_UNKNOWN_TASK_ID = "There is no task with id #%d in your list.";
+    public static final String MESSAGE_INVALID_TASK_RANGE = "Please write each range as START-END, with START "
+            + "no larger than END, e.g. mark 1-5.";
+    public static final String MESSAGE_NO_DONE_TASKS = "There are no done tasks to delete!";
+    public static final String MESSAGE_ALL_ALREADY_MARKED_DONE = "All the tasks indicated are already marked as done!";
+    public static final String MESSAGE_ALL_ALREADY_MARKED_NOT_DONE =
+            "All the tasks indicated are already marked as not done!";
+
+    public static final String MESSAGE_NOTHING_TO_UNDO = "There is nothing to undo!";
+    public static final String MESSAGE_NOTHING_TO_REDO = "There is nothing to redo!";
 
     public static final String MESSAGE_EMPTY_TASK_DATE = "Missing task date! Please use: ";
     public static final String MESSAGE_INVALID_DEADLINE_DATE = "Invalid due date! Please use: ";
     public static final String MESSAGE_INVALID_EVENT_DATE = "Invalid start or end date! Please use: ";
     public static final String MESSAGE_INVALID_DATE_RANGE = "Start date must be before end date!";
+    public static final String MESSAGE_INVALID_QUERY_DATE = "Invalid date! Please use: ";
 
     public static final String MESSAGE_INVALID_MARKER_FORMAT = "Invalid format! Please use: %s";
     public static final String MESSAGE_DUPLICATE_MARKERS = "Duplicate '%s' found! Please use: ";
 
     public static final String MESSAGE_NO_KEYWORD = "Please provide a keyword for your find.";
-    public static final String MESSAGE_MULTIPLE_KEYWORDS = "Please provide only ONE keyword for your find.";
+    public static final String MESSAGE_INVALID_KEYWORD_QUERY = "Please place AND, OR and NOT between keywords, "
+            + "e.g. find book AND NOT return.";
+    public static final String MESSAGE_UNKNOWN_FIND_OPTION = "Unknown find option '%s'! "
+            + "Please use /prefix, /substring, /fuzzy or /ranked before your keywords.";
+    public static final String MESSAGE_INVALID_PAGE_NUMBER = "Please provide a /page number of at least 1.";
+    public static final String MESSAGE_INVALID_FUZZY_DISTANCE = "Please provide a /distance between 0 and %d.";
+    public static final String MESSAGE_NEGATED_ONLY_QUERY = "Please include a keyword without NOT in each part "
+            + "of your find.";
 
     public static final String MESSAGE_DEADLINE_FORMAT = "deadline DESCRIPTION /by d/M/yyyy HHmm.";
     public static final String MESSAGE_EVENT_FORMAT = "event DESCRIPTION /from d/M/yyyy HHmm /to d/M/yyyy HHmm.";
+    public static final String MESSAGE_DUE_FORMAT = "due before d/M/yyyy HHmm.";
+    public static final String MESSAGE_HAPPENING_FORMAT = "happening on d/M/yyyy.";
     public static final String MESSAGE_COMMANDS_GUIDE = "Try one of these commands: list, mark, unmark, todo, "
             + "delete, event, or deadline, and I'll handle it for you.";
 
     public static final String MESSAGE_UNKNOWN_TASK = "Unknown task: %s";
     public static final String MESSAGE_UNKNOWN_TASK_TYPE = "Unknown task type: %s";
+    public static final String MESSAGE_UNKNOWN_TASK_DATE = "Unknown task date: %s";
     public static final String MESSAGE_INVALID_TIMESTAMP_ARGUMENT_COUNT =
-            "validateAndFormatDateRange method expects only 1 or 2 timestamps!";
+            "validateAndConvertDateRange method expects only 1 or 2 timestamps!";
 }
@@ -3,14 +3,16 @@ package shadowbuddy.services;
 /**
  * Represents a Checked Exception for raising errors in Shadow chatbot.
  * The ShadowException class wraps an error message and is thrown when an error occurs in Shadow.
+ * It reports invalid user input, which is expected and fully described by its message, so it does not capture
+ * a stack trace. Failures of Shadow itself are raised as other exceptions, which keep their stack traces.
  */
 public class ShadowException extends Exception {
     /**
-     * Initializes a ShadowException instance with the given String message.
+     * Initializes a ShadowException instance with the given String message and no stack trace.
      *
      * @param message The error message describing the encountered exception.
      */
     public ShadowException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
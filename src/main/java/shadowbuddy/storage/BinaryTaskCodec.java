@@ -0,0 +1,322 @@
+package shadowbuddy.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import shadowbuddy.services.Messages;
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskList;
+import shadowbuddy.taskmodels.Todo;
+
+/**
+ * Reads and writes the versioned binary database format.
+ * A binary database starts with the magic bytes "SHDB", a format version byte, the snapshot generation,
+ * the id the next new task will take and the task count. Each task is then stored as one byte combining its
+ * type and completion status, its id as the variable-length gap from the id of the previous task,
+ * a length-prefixed UTF-8 description, and its dates as the epoch seconds held by the task itself,
+ * so dates are written and read without any formatting or parsing.
+ * Version 1 databases, which store no ids, can still be read.
+ */
+public class BinaryTaskCodec {
+    /** Current version of the binary database format */
+    public static final byte FORMAT_VERSION = 2;
+
+    /** First version of the binary database format that stores task ids */
+    private static final byte TASK_ID_VERSION = 2;
+    private static final byte[] MAGIC = { 'S', 'H', 'D', 'B' };
+    private static final int TYPE_MASK = 0x03;
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int DONE_FLAG = 0x80;
+
+    private byte[] scratch;
+
+    /**
+     * Initializes a BinaryTaskCodec instance with a small reusable decoding buffer.
+     */
+    public BinaryTaskCodec() {
+        this.scratch = new byte[256];
+    }
+
+    /**
+     * Returns true when the given file starts with the binary database magic bytes.
+     *
+     * @param file The database file to inspect.
+     * @return True if the file holds a binary database; False otherwise.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isBinaryDatabase(File file) throws IOException {
+        if (!file.exists() || file.length() < MAGIC.length) {
+            return false;
+        }
+
+        byte[] fileStart = new byte[MAGIC.length];
+        try (RandomAccessFile databaseReader = new RandomAccessFile(file, "r")) {
+            databaseReader.readFully(fileStart);
+        }
+        return Arrays.equals(fileStart, MAGIC);
+    }
+
+    /**
+     * Returns the snapshot generation recorded in the header of the given binary database.
+     *
+     * @param file The binary database file to inspect.
+     * @return The generation recorded in the header.
+     * @throws IOException If the file cannot be read or is not a supported binary database.
+     */
+    public static long readGeneration(File file) throws IOException {
+        try (RandomAccessFile databaseReader = new RandomAccessFile(file, "r")) {
+            byte[] fileStart = new byte[MAGIC.length];
+            databaseReader.readFully(fileStart);
+            checkVersion(fileStart, databaseReader.readByte());
+            return databaseReader.readLong();
+        }
+    }
+
+    /**
+     * Returns the id the next new task takes as recorded in the header of the given binary database,
+     * or 1 for a database written before task ids were stored.
+     *
+     * @param file The binary database file to inspect.
+     * @return The next task id recorded in the header.
+     * @throws IOException If the file cannot be read or is not a supported binary database.
+     */
+    public static long readNextTaskId(File file) throws IOException {
+        try (RandomAccessFile databaseReader = new RandomAccessFile(file, "r")) {
+            byte[] fileStart = new byte[MAGIC.length];
+            databaseReader.readFully(fileStart);
+            byte version = databaseReader.readByte();
+            checkVersion(fileStart, version);
+            databaseReader.readLong();
+            return version < TASK_ID_VERSION ? 1 : databaseReader.readLong();
+        }
+    }
+
+    /**
+     * Appends every task stored in the given binary database to the given TaskList, in file order.
+     *
+     * @param databaseFile The binary database file to read.
+     * @param taskList The TaskList to populate with the tasks read.
+     * @throws IOException If the file cannot be read, is truncated, or has an unsupported version.
+     */
+    public void readTasks(File databaseFile, TaskList taskList) throws IOException {
+        assert databaseFile != null : "databaseFile should not be null";
+        assert taskList != null : "taskList should not be null";
+        try (FileChannel channel = FileChannel.open(databaseFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary database larger than 2 GiB: " + databaseFile);
+            }
+            // Read into the heap rather than mapped, as a mapping would keep the file locked on Windows
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends early
+            }
+            buffer.flip();
+            byte[] fileStart = new byte[MAGIC.length];
+            buffer.get(fileStart);
+            byte version = buffer.get();
+            checkVersion(fileStart, version);
+            buffer.getLong();
+            boolean hasTaskIds = version >= TASK_ID_VERSION;
+            if (hasTaskIds) {
+                buffer.getLong();
+            }
+            int taskCount = buffer.getInt();
+
+            long previousId = 0;
+            for (int i = 0; i < taskCount; i++) {
+                int typeAndStatus = buffer.get() & 0xFF;
+                long idGap = hasTaskIds ? readUnsignedVarLong(buffer) : 0;
+                Task currentTask = readTask(buffer, typeAndStatus);
+                if (idGap > 0) {
+                    previousId += idGap;
+                    currentTask.restoreId(previousId);
+                }
+                taskList.restoreTask(currentTask);
+            }
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("Binary database is truncated: " + databaseFile, exception);
+        }
+    }
+
+    /**
+     * Writes the given tasks to the given file as a binary database with the given generation.
+     *
+     * @param databaseFile The file to write, replacing any existing contents.
+     * @param tasks The tasks to write, in TaskList order, which is also ascending id order.
+     * @param nextTaskId The id the next new task will take, recorded in the header.
+     * @param generation The snapshot generation recorded in the header.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTasks(File databaseFile, List<Task> tasks, long nextTaskId, long generation)
+            throws IOException {
+        assert databaseFile != null : "databaseFile should not be null";
+        assert tasks != null : "tasks should not be null";
+        try (DataOutputStream databaseWriter = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(databaseFile), 1 << 16))) {
+            databaseWriter.write(MAGIC);
+            databaseWriter.writeByte(FORMAT_VERSION);
+            databaseWriter.writeLong(generation);
+            databaseWriter.writeLong(nextTaskId);
+            databaseWriter.writeInt(tasks.size());
+            long previousId = 0;
+            for (Task task : tasks) {
+                // A gap of 0 marks a task without an id, which takes a fresh id when it is loaded
+                long idGap = task.getId() > previousId ? task.getId() - previousId : 0;
+                writeTask(databaseWriter, task, idGap);
+                previousId += idGap;
+            }
+        }
+    }
+
+    /**
+     * Writes a single task record, with its id stored as the given gap from the id of the previous task.
+     */
+    private void writeTask(DataOutputStream databaseWriter, Task task, long idGap) throws IOException {
+        int statusFlag = task.getStatusIcon().equalsIgnoreCase("X") ? DONE_FLAG : 0;
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+
+        if (task instanceof Todo) {
+            databaseWriter.writeByte(TYPE_TODO | statusFlag);
+            writeUnsignedVarLong(databaseWriter, idGap);
+            writeDescription(databaseWriter, description);
+        } else if (task instanceof Deadline deadline) {
+            databaseWriter.writeByte(TYPE_DEADLINE | statusFlag);
+            writeUnsignedVarLong(databaseWriter, idGap);
+            writeDescription(databaseWriter, description);
+            databaseWriter.writeLong(deadline.getDueEpochSecond());
+        } else if (task instanceof Event event) {
+            databaseWriter.writeByte(TYPE_EVENT | statusFlag);
+            writeUnsignedVarLong(databaseWriter, idGap);
+            writeDescription(databaseWriter, description);
+            databaseWriter.writeLong(event.getStartEpochSecond());
+            databaseWriter.writeLong(event.getEndEpochSecond());
+        } else {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, task));
+        }
+    }
+
+    /**
+     * Writes the description length as an unsigned variable-length integer, followed by its bytes.
+     */
+    private static void writeDescription(DataOutputStream databaseWriter, byte[] description) throws IOException {
+        writeUnsignedVarLong(databaseWriter, description.length);
+        databaseWriter.write(description);
+    }
+
+    /**
+     * Writes the given non-negative value as an unsigned variable-length integer, 7 bits per byte.
+     */
+    private static void writeUnsignedVarLong(DataOutputStream databaseWriter, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            databaseWriter.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        databaseWriter.writeByte((int) remaining);
+    }
+
+    /**
+     * Returns the unsigned variable-length integer at the current position of the given buffer.
+     *
+     * @throws IOException If the integer is longer than a long can hold.
+     */
+    private static long readUnsignedVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int nextByte;
+        do {
+            if (shift > 63) {
+                throw new IOException("Binary database is corrupt: task id gap too long");
+            }
+            nextByte = buffer.get();
+            value |= (long) (nextByte & 0x7F) << shift;
+            shift += 7;
+        } while ((nextByte & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Returns the Task stored in the rest of the record at the current position of the given buffer,
+     * whose type and status byte has already been read.
+     */
+    private Task readTask(ByteBuffer buffer, int typeAndStatus) throws IOException {
+        String taskDescription = readDescription(buffer);
+        Task currentTask;
+
+        switch (typeAndStatus & TYPE_MASK) {
+        case TYPE_TODO:
+            currentTask = new Todo(taskDescription);
+            break;
+        case TYPE_DEADLINE:
+            currentTask = new Deadline(taskDescription, buffer.getLong());
+            break;
+        case TYPE_EVENT:
+            long startDate = buffer.getLong();
+            currentTask = new Event(taskDescription, startDate, buffer.getLong());
+            break;
+        default:
+            throw new IOException(String.format(Messages.MESSAGE_UNKNOWN_TASK_TYPE, typeAndStatus & TYPE_MASK));
+        }
+
+        if ((typeAndStatus & DONE_FLAG) != 0) {
+            currentTask.markAsDone();
+        }
+        return currentTask;
+    }
+
+    /**
+     * Returns the length-prefixed UTF-8 description at the current position of the given buffer.
+     *
+     * @throws IOException If the length takes more than 5 bytes, is negative, or runs past the end of the buffer.
+     */
+    private String readDescription(ByteBuffer buffer) throws IOException {
+        int length = 0;
+        int shift = 0;
+        int nextByte;
+        do {
+            if (shift > 28) {
+                throw new IOException("Binary database is corrupt: description length longer than 5 bytes");
+            }
+            nextByte = buffer.get();
+            length |= (nextByte & 0x7F) << shift;
+            shift += 7;
+        } while ((nextByte & 0x80) != 0);
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Binary database is corrupt: description length " + length
+                    + " exceeds the " + buffer.remaining() + " bytes left");
+        }
+        if (length > this.scratch.length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        buffer.get(this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Validates the magic bytes and format version read from the start of a binary database.
+     */
+    private static void checkVersion(byte[] fileStart, byte version) throws IOException {
+        if (!Arrays.equals(fileStart, MAGIC)) {
+            throw new IOException("Not a binary task database");
+        }
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported binary database version: " + version);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package shadowbuddy.storage;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Provides a one-shot command-line migration of a task database between the TEXT and BINARY formats.
+ * Usage: DatabaseConverter DATABASE_PATH [text|binary], converting to the binary format by default.
+ */
+public class DatabaseConverter {
+    /**
+     * Converts the database at the path given in the first argument to the format given in the second argument.
+     *
+     * @param args The database file path, optionally followed by the target format.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: DatabaseConverter DATABASE_PATH [text|binary]");
+            System.exit(2);
+        }
+
+        ShadowStorage.DatabaseFormat targetFormat = ShadowStorage.DatabaseFormat.BINARY;
+        if (args.length == 2) {
+            try {
+                targetFormat = ShadowStorage.DatabaseFormat.valueOf(args[1].toUpperCase());
+            } catch (IllegalArgumentException exception) {
+                System.err.println("Unknown database format: " + args[1]);
+                System.exit(2);
+            }
+        }
+
+        if (!new File(args[0]).isFile()) {
+            System.err.println("No database found at " + args[0]);
+            System.exit(1);
+        }
+
+        try {
+            ShadowStorage storage = new ShadowStorage(args[0]);
+            int taskCount = storage.convertDatabase(targetFormat);
+            System.out.println("Converted " + taskCount + " tasks in " + args[0] + " to the "
+                    + targetFormat.toString().toLowerCase() + " format.");
+        } catch (IOException exception) {
+            System.err.println("Conversion failed: " + exception.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package shadowbuddy.storage;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs journal compactions on a single background thread.
+ * The JournalCompactor class decides when the journal has grown past its record-count or size threshold,
+ * and executes at most one compaction at a time so that command handling never waits for a snapshot write.
+ * A failed compaction is reported on the next call to checkFailure, and is retried at the next threshold.
+ */
+public class JournalCompactor {
+    /** Default number of journal records that triggers a compaction */
+    public static final int DEFAULT_MAX_RECORDS = 10_000;
+    /** Default journal size in bytes that triggers a compaction */
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    private final ExecutorService executor;
+    private int maxRecords;
+    private long maxBytes;
+    private Future<?> runningCompaction;
+
+    /**
+     * Initializes a JournalCompactor instance with the default thresholds.
+     * The background thread is a daemon thread, so it never keeps the application alive on exit.
+     */
+    public JournalCompactor() {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread compactionThread = new Thread(runnable, "shadow-journal-compactor");
+            compactionThread.setDaemon(true);
+            return compactionThread;
+        });
+        this.maxRecords = DEFAULT_MAX_RECORDS;
+        this.maxBytes = DEFAULT_MAX_BYTES;
+        this.runningCompaction = null;
+    }
+
+    /**
+     * Updates the journal thresholds that trigger a compaction.
+     *
+     * @param maxRecords The number of journal records that triggers a compaction.
+     * @param maxBytes The journal size in bytes that triggers a compaction.
+     */
+    public void setThresholds(int maxRecords, long maxBytes) {
+        assert maxRecords > 0 : "maxRecords should be positive";
+        assert maxBytes > 0 : "maxBytes should be positive";
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns true when the journal has passed a threshold and no compaction is currently running.
+     *
+     * @param recordCount The number of records in the active journal.
+     * @param byteCount The size of the active journal in bytes.
+     * @return True if a new compaction should be started; False otherwise.
+     */
+    public boolean isCompactionDue(int recordCount, long byteCount) {
+        boolean isThresholdReached = recordCount >= this.maxRecords || byteCount >= this.maxBytes;
+        return isThresholdReached && !isRunning();
+    }
+
+    /**
+     * Starts the given compaction on the background thread.
+     *
+     * @param compaction The compaction writing a fresh snapshot and deleting the compacted journal segments.
+     */
+    public void submit(Compaction compaction) {
+        assert compaction != null : "compaction should not be null";
+        assert !isRunning() : "only one compaction should run at a time";
+        this.runningCompaction = this.executor.submit(() -> {
+            compaction.run();
+            return null;
+        });
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     *
+     * @throws IOException If the running compaction failed.
+     */
+    public void awaitCompletion() throws IOException {
+        if (this.runningCompaction == null) {
+            return;
+        }
+
+        try {
+            this.runningCompaction.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for journal compaction", exception);
+        } catch (ExecutionException exception) {
+            throw new IOException("Journal compaction failed: " + exception.getCause().getMessage(),
+                    exception.getCause());
+        } finally {
+            this.runningCompaction = null;
+        }
+    }
+
+    /**
+     * Rethrows the failure of the last compaction once it has finished unsuccessfully.
+     * The compacted journal segments are kept when a compaction fails, so no mutation is lost.
+     *
+     * @throws IOException If the last compaction failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.runningCompaction != null && this.runningCompaction.isDone()) {
+            awaitCompletion();
+        }
+    }
+
+    private boolean isRunning() {
+        return this.runningCompaction != null && !this.runningCompaction.isDone();
+    }
+
+    /**
+     * Represents a compaction task that may fail with an IOException.
+     */
+    @FunctionalInterface
+    public interface Compaction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,324 @@
+package shadowbuddy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import shadowbuddy.services.Messages;
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskList;
+import shadowbuddy.taskmodels.Todo;
+
+/**
+ * Loads tasks from the pipe-delimited database file by scanning its bytes in place.
+ * Files up to 64 MiB are read through a FileChannel into a heap buffer. A mapping is only released when it
+ * is garbage collected, and until then it keeps the file locked on Windows, where the next snapshot could not
+ * be moved over it, so only larger files are memory-mapped, one window at a time.
+ * The MappedTaskReader class locates the "|" separators and line breaks directly in the buffered bytes,
+ * and decodes only the description and date fields into Strings, so no intermediate String arrays,
+ * regular expressions or trimmed copies are created per line.
+ * With a parallelism above 1, each mapped window is split into byte ranges aligned to line breaks,
+ * the ranges are parsed on ForkJoin workers, and the partial results are appended in file order.
+ */
+public class MappedTaskReader {
+    /** Largest region of the database file mapped at once */
+    private static final int MAX_WINDOW_SIZE = 1 << 30;
+    /** Largest database file read into a heap buffer rather than mapped */
+    private static final int MAX_HEAP_READ_SIZE = 1 << 26;
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte FIELD_SEPARATOR = '|';
+    private static final byte EVENT_DATE_SEPARATOR = '-';
+    private static final byte HEADER_MARKER = '#';
+    private static final byte DONE_STATUS = '1';
+    /** Smallest byte range worth handing to a separate ForkJoin worker */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    private final int parallelism;
+    private byte[] scratch;
+
+    /**
+     * Initializes a MappedTaskReader instance that parses the database file on the calling thread.
+     */
+    public MappedTaskReader() {
+        this(1);
+    }
+
+    /**
+     * Initializes a MappedTaskReader instance that parses the database file on up to the given number of threads.
+     *
+     * @param parallelism The maximum number of byte ranges parsed concurrently.
+     */
+    public MappedTaskReader(int parallelism) {
+        assert parallelism > 0 : "parallelism should be positive";
+        this.parallelism = parallelism;
+        this.scratch = new byte[256];
+    }
+
+    /**
+     * Appends every task stored in the given database file to the given TaskList, in file order.
+     * Files larger than the heap read limit are mapped, in consecutive windows that end on a line break when
+     * they are larger than the mapping window.
+     *
+     * @param databaseFile The pipe-delimited database file to read.
+     * @param taskList The TaskList to populate with the tasks read.
+     * @throws IOException If the database file cannot be mapped or contains an overlong line.
+     */
+    public void readTasks(File databaseFile, TaskList taskList) throws IOException {
+        assert databaseFile != null : "databaseFile should not be null";
+        assert taskList != null : "taskList should not be null";
+        try (FileChannel channel = FileChannel.open(databaseFile.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize <= MAX_HEAP_READ_SIZE) {
+                ByteBuffer contents = ByteBuffer.allocate((int) fileSize);
+                while (contents.hasRemaining() && channel.read(contents) >= 0) {
+                    // Keep reading until the buffer is full or the file ends early
+                }
+                parseWindow(contents, contents.position(), taskList);
+                return;
+            }
+
+            long position = 0;
+            while (position < fileSize) {
+                int windowSize = (int) Math.min(MAX_WINDOW_SIZE, fileSize - position);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                boolean isLastWindow = position + windowSize == fileSize;
+                int parsedEnd = isLastWindow ? windowSize : lastLineEnd(window, windowSize);
+                if (parsedEnd == 0) {
+                    throw new IOException("Database line longer than " + MAX_WINDOW_SIZE + " bytes");
+                }
+                parseWindow(window, parsedEnd, taskList);
+                position += parsedEnd;
+            }
+        }
+    }
+
+    /**
+     * Parses the complete lines in the given byte range into tasks, passing each task to the given consumer.
+     * The range must start at the beginning of a line; a final line without a line break is also parsed.
+     * Blank lines and header lines starting with "#" are skipped.
+     *
+     * @param buffer The heap or mapped buffer holding the database bytes.
+     * @param start The index of the first byte of the range.
+     * @param end The index one past the last byte of the range.
+     * @param consumer The consumer receiving the parsed tasks in order.
+     */
+    public void parseLines(ByteBuffer buffer, int start, int end, Consumer<Task> consumer) {
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, LINE_SEPARATOR, lineStart, end);
+            int nextLineStart = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+
+            int firstByte = skipWhitespace(buffer, lineStart, lineEnd);
+            if (firstByte < lineEnd && buffer.get(firstByte) != HEADER_MARKER) {
+                consumer.accept(parseTask(buffer, lineStart, lineEnd));
+            }
+            lineStart = nextLineStart;
+        }
+    }
+
+    /**
+     * Parses the first parsedEnd bytes of the given window into the given TaskList.
+     * Large windows are split into line-aligned ranges that are parsed concurrently, each by its own
+     * MappedTaskReader, and then merged in range order so the resulting task order matches a serial load.
+     */
+    private void parseWindow(ByteBuffer window, int parsedEnd, TaskList taskList) {
+        int chunkCount = Math.max(1, Math.min(this.parallelism, parsedEnd / MIN_CHUNK_SIZE));
+        if (chunkCount == 1) {
+            parseLines(window, 0, parsedEnd, taskList::restoreTask);
+            return;
+        }
+
+        List<ForkJoinTask<List<Task>>> chunkTasks = new ArrayList<>(chunkCount);
+        int chunkStart = 0;
+        for (int i = 1; i <= chunkCount && chunkStart < parsedEnd; i++) {
+            int chunkEnd = i == chunkCount ? parsedEnd
+                    : Math.min(parsedEnd, indexOf(window, LINE_SEPARATOR, (int) ((long) parsedEnd * i / chunkCount),
+                            parsedEnd) + 1);
+            if (chunkEnd <= chunkStart) {
+                continue;
+            }
+            int start = chunkStart;
+            chunkTasks.add(ForkJoinTask.adapt(() -> {
+                List<Task> chunk = new ArrayList<>();
+                new MappedTaskReader().parseLines(window, start, chunkEnd, chunk::add);
+                return chunk;
+            }));
+            chunkStart = chunkEnd;
+        }
+
+        ForkJoinTask.invokeAll(chunkTasks);
+        for (ForkJoinTask<List<Task>> chunkTask : chunkTasks) {
+            taskList.restoreTasks(chunkTask.join());
+        }
+    }
+
+    /**
+     * Returns a Task created from the database line in the given byte range.
+     * The line has the format "type | status | description | additional dates and timings (if present) | id",
+     * where the id is absent from lines written before task ids were stored.
+     */
+    private Task parseTask(ByteBuffer buffer, int lineStart, int lineEnd) {
+        int typeEnd = indexOf(buffer, FIELD_SEPARATOR, lineStart, lineEnd);
+        int statusEnd = indexOf(buffer, FIELD_SEPARATOR, typeEnd + 1, lineEnd);
+        int descriptionEnd = indexOf(buffer, FIELD_SEPARATOR, statusEnd + 1, lineEnd);
+        int datesEnd = descriptionEnd < lineEnd ? indexOf(buffer, FIELD_SEPARATOR, descriptionEnd + 1, lineEnd)
+                : lineEnd;
+        if (statusEnd >= lineEnd) {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK,
+                    decode(buffer, lineStart, lineEnd)));
+        }
+
+        int typeStart = skipWhitespace(buffer, lineStart, typeEnd);
+        int statusStart = skipWhitespace(buffer, typeEnd + 1, statusEnd);
+        boolean isTaskDone = statusStart < statusEnd && buffer.get(statusStart) == DONE_STATUS
+                && trimEnd(buffer, statusStart, statusEnd) == statusStart + 1;
+        String taskDescription = decodeTrimmed(buffer, statusEnd + 1, descriptionEnd);
+        Task currentTask;
+        int idStart;
+
+        int typeLength = trimEnd(buffer, typeStart, typeEnd) - typeStart;
+        byte taskType = typeLength == 1 ? buffer.get(typeStart) : 0;
+        switch (taskType) {
+        case 'T':
+            currentTask = new Todo(taskDescription);
+            idStart = descriptionEnd + 1;
+            break;
+        case 'D':
+            currentTask = new Deadline(taskDescription, decodeTrimmed(buffer, descriptionEnd + 1, datesEnd));
+            idStart = datesEnd + 1;
+            break;
+        case 'E':
+            int datesStart = Math.min(descriptionEnd + 1, datesEnd);
+            int separator = indexOf(buffer, EVENT_DATE_SEPARATOR, datesStart, datesEnd);
+            int nextSeparator = separator < datesEnd ? indexOf(buffer, EVENT_DATE_SEPARATOR, separator + 1, datesEnd)
+                    : datesEnd;
+            currentTask = new Event(taskDescription, decodeTrimmed(buffer, datesStart, separator),
+                    decodeTrimmed(buffer, separator + 1, nextSeparator));
+            idStart = datesEnd + 1;
+            break;
+        default:
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK_TYPE,
+                    decodeTrimmed(buffer, lineStart, typeEnd)));
+        }
+
+        if (isTaskDone) {
+            currentTask.markAsDone();
+        }
+        if (idStart < lineEnd) {
+            currentTask.restoreId(parseId(buffer, idStart, indexOf(buffer, FIELD_SEPARATOR, idStart, lineEnd)));
+        }
+        return currentTask;
+    }
+
+    /**
+     * Returns the positive task id written as decimal digits in the given byte range.
+     *
+     * @throws IllegalArgumentException If the range does not hold a positive decimal number.
+     */
+    private long parseId(ByteBuffer buffer, int start, int end) {
+        int digitsStart = skipWhitespace(buffer, start, end);
+        int digitsEnd = trimEnd(buffer, digitsStart, end);
+        long id = 0;
+        for (int i = digitsStart; i < digitsEnd; i++) {
+            byte digit = buffer.get(i);
+            if (digit < '0' || digit > '9' || id > (Long.MAX_VALUE - 9) / 10) {
+                id = 0;
+                break;
+            }
+            id = id * 10 + (digit - '0');
+        }
+        if (id < 1) {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK,
+                    decode(buffer, start, end)));
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index one past the last line break in the first windowSize bytes, or 0 if there is none.
+     */
+    private static int lastLineEnd(ByteBuffer window, int windowSize) {
+        for (int i = windowSize - 1; i >= 0; i--) {
+            if (window.get(i) == LINE_SEPARATOR) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given byte in the given range, or end if absent.
+     */
+    private static int indexOf(ByteBuffer buffer, byte target, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the index of the first byte in the given range that is not whitespace, or end if absent.
+     * Whitespace matches String.trim, which treats every character up to and including a space as whitespace.
+     */
+    private static int skipWhitespace(ByteBuffer buffer, int start, int end) {
+        int index = start;
+        while (index < end && isWhitespace(buffer.get(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index one past the last byte in the given range that is not whitespace, or start if absent.
+     */
+    private static int trimEnd(ByteBuffer buffer, int start, int end) {
+        int index = end;
+        while (index > start && isWhitespace(buffer.get(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(byte value) {
+        // UTF-8 continuation and lead bytes are negative as signed bytes and are never whitespace
+        return value >= 0 && value <= ' ';
+    }
+
+    /**
+     * Returns the UTF-8 String in the given byte range with leading and trailing whitespace removed.
+     */
+    private String decodeTrimmed(ByteBuffer buffer, int start, int end) {
+        int trimmedStart = skipWhitespace(buffer, start, end);
+        return decode(buffer, trimmedStart, trimEnd(buffer, trimmedStart, end));
+    }
+
+    /**
+     * Returns the UTF-8 String in the given byte range, decoded through the reusable scratch buffer.
+     */
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length <= 0) {
+            return "";
+        }
+        if (length > this.scratch.length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        buffer.get(start, this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
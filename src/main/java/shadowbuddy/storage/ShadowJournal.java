@@ -0,0 +1,327 @@
+package shadowbuddy.storage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.TreeMap;
+
+/**
+ * Manages the append-only journal of task list mutations stored alongside the database file.
+ * The ShadowJournal class buffers one compact record per mutation and appends the pending records
+ * to the journal file on flush, so that the cost of saving a change does not grow with the task list.
+ * Every journal file starts with a generation header naming the database snapshot its records apply to.
+ * Rotating the journal renames the active file to a segment suffixed with its generation, which lets a
+ * snapshot be written in the background while new records are appended to a fresh active file.
+ * Methods touching the buffered records or the active journal are synchronized, so records may be
+ * appended on one thread while a background writer flushes them.
+ * Every record is written with a terminating newline, so a final record without one is the torn tail of an
+ * interrupted write and is dropped when the journal is loaded, even if what remains of it still parses.
+ */
+public class ShadowJournal {
+    /** File extension appended to the database file path to locate the journal file */
+    public static final String JOURNAL_EXTENSION = ".journal";
+    /** Prefix of the header line recording the generation of a snapshot or journal file */
+    public static final String GENERATION_HEADER = "# generation ";
+
+    protected final File journalFile;
+    private final StringBuilder pendingRecords;
+    private int pendingCount;
+    private long baseGeneration;
+    private int recordCount;
+    private long byteCount;
+    private boolean isForcedOnFlush;
+
+    /**
+     * Initializes a ShadowJournal instance for the given database file path.
+     * The journal file is stored next to the database file, with the journal extension appended.
+     *
+     * @param databasePath The file path to the task list database file.
+     */
+    public ShadowJournal(String databasePath) {
+        assert databasePath != null : "databasePath should not be null";
+        this.journalFile = new File(databasePath + JOURNAL_EXTENSION);
+        this.pendingRecords = new StringBuilder();
+        this.pendingCount = 0;
+        this.baseGeneration = 0;
+        this.recordCount = 0;
+        this.byteCount = 0;
+        this.isForcedOnFlush = false;
+    }
+
+    /**
+     * Buffers the given record until the next flush.
+     *
+     * @param record A single-line journal record without a trailing newline.
+     */
+    public synchronized void append(String record) {
+        assert record != null : "record should not be null";
+        assert record.indexOf('\n') < 0 : "record should be a single line";
+        this.pendingRecords.append(record).append("\n");
+        this.pendingCount++;
+    }
+
+    /**
+     * Appends all buffered records to the end of the active journal file in a single write.
+     * The generation header is written first when the active journal file is new or empty.
+     * Nothing is written when there are no buffered records.
+     * When the journal is forced on flush, this method only returns once the records have reached the disk.
+     * If the write fails, the journal file is cut back to its length before the write and the records stay
+     * buffered, so the next flush retries them without leaving a partial copy in the journal.
+     *
+     * @throws IOException If the journal file cannot be written to.
+     */
+    public synchronized void flush() throws IOException {
+        if (this.pendingCount == 0) {
+            return;
+        }
+
+        long committedLength = this.journalFile.length();
+        String payload = committedLength == 0
+                ? GENERATION_HEADER + this.baseGeneration + "\n" + this.pendingRecords
+                : this.pendingRecords.toString();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        try (FileOutputStream journalStream = new FileOutputStream(this.journalFile, true)) {
+            try {
+                journalStream.write(payloadBytes);
+                if (this.isForcedOnFlush) {
+                    journalStream.getChannel().force(false);
+                }
+            } catch (IOException exception) {
+                try {
+                    journalStream.getChannel().truncate(committedLength);
+                } catch (IOException truncateException) {
+                    exception.addSuppressed(truncateException);
+                }
+                throw exception;
+            }
+        }
+
+        this.recordCount += this.pendingCount;
+        this.byteCount += payloadBytes.length;
+        this.pendingRecords.setLength(0);
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Returns the records that apply on top of the snapshot with the given generation, in replay order.
+     * Rotated segments left behind by an unfinished compaction are read first, followed by the active journal.
+     * Journal files older than the snapshot are already contained in it, so they are skipped and deleted,
+     * and the active journal continues from the snapshot generation.
+     * A torn tail is cut off the active journal, so the records appended next start on a line of their own.
+     *
+     * @param snapshotGeneration The generation of the loaded database snapshot.
+     * @return A List of the journal records to replay, in the order they were appended.
+     * @throws IOException If a journal file cannot be read or a stale journal file cannot be deleted.
+     */
+    public synchronized List<String> load(long snapshotGeneration) throws IOException {
+        List<String> records = new ArrayList<>();
+        deleteSegmentsBefore(snapshotGeneration);
+        for (File segmentFile : findSegments().values()) {
+            readRecords(segmentFile, records);
+        }
+
+        this.baseGeneration = snapshotGeneration;
+        if (this.journalFile.exists()) {
+            long activeGeneration = readGeneration(this.journalFile);
+            if (activeGeneration < snapshotGeneration) {
+                deleteFile(this.journalFile);
+            } else {
+                this.baseGeneration = activeGeneration;
+                long completeLength = readRecords(this.journalFile, records);
+                if (completeLength < this.journalFile.length()) {
+                    truncate(this.journalFile, completeLength);
+                }
+            }
+        }
+
+        this.recordCount = records.size();
+        this.byteCount = 0;
+        for (String record : records) {
+            this.byteCount += record.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        return records;
+    }
+
+    /**
+     * Closes the active journal as a segment and starts a new active journal for the next generation.
+     * Any buffered records are flushed into the rotated segment first. When flushes are forced to disk, the
+     * rename is forced too, so a power loss cannot bring back the rotated records as the active journal.
+     *
+     * @return The generation of the snapshot that will contain every record in the rotated segments.
+     * @throws IOException If the journal file cannot be written to or renamed.
+     */
+    public synchronized long rotate() throws IOException {
+        flush();
+        if (this.journalFile.exists()) {
+            File segmentFile = getSegmentFile(this.baseGeneration);
+            if (!this.journalFile.renameTo(segmentFile)) {
+                throw new IOException("Unable to rotate journal file: " + this.journalFile);
+            }
+            if (this.isForcedOnFlush) {
+                ShadowStorage.forceDirectory(segmentFile.getAbsoluteFile().toPath().getParent());
+            }
+        }
+        this.baseGeneration++;
+        this.recordCount = 0;
+        this.byteCount = 0;
+        return this.baseGeneration;
+    }
+
+    /**
+     * Discards the buffered records and every journal file, and restarts the journal at the given generation.
+     * Called once the database file holds a snapshot that already contains every journaled mutation.
+     *
+     * @param generation The generation of the snapshot that was just written.
+     * @throws IOException If a journal file cannot be deleted.
+     */
+    public synchronized void reset(long generation) throws IOException {
+        this.pendingRecords.setLength(0);
+        this.pendingCount = 0;
+        deleteSegmentsBefore(generation);
+        if (this.journalFile.exists()) {
+            deleteFile(this.journalFile);
+        }
+        this.baseGeneration = generation;
+        this.recordCount = 0;
+        this.byteCount = 0;
+    }
+
+    /**
+     * Deletes the rotated segments whose records are all contained in the snapshot with the given generation.
+     * This method only touches rotated segments, so it may run on a background thread while records
+     * are being appended to the active journal.
+     *
+     * @param snapshotGeneration The generation of the snapshot on disk.
+     * @throws IOException If a segment file cannot be deleted.
+     */
+    public void deleteSegmentsBefore(long snapshotGeneration) throws IOException {
+        for (File segmentFile : findSegments().headMap(snapshotGeneration).values()) {
+            deleteFile(segmentFile);
+        }
+    }
+
+    /**
+     * Returns the generation recorded in the header of the given snapshot or journal file.
+     * Files written before generations were introduced have no header and are treated as generation 0.
+     *
+     * @param file The snapshot or journal file to inspect.
+     * @return The generation recorded in the file header.
+     * @throws IOException If the file cannot be found or read.
+     */
+    public static long readGeneration(File file) throws IOException {
+        Scanner fileScanner = new Scanner(file, StandardCharsets.UTF_8);
+        String firstLine = fileScanner.hasNextLine() ? fileScanner.nextLine() : "";
+        fileScanner.close();
+        if (!firstLine.startsWith(GENERATION_HEADER)) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(firstLine.substring(GENERATION_HEADER.length()).trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    public synchronized void setForcedOnFlush(boolean isForcedOnFlush) {
+        this.isForcedOnFlush = isForcedOnFlush;
+    }
+
+    public synchronized long getBaseGeneration() {
+        return this.baseGeneration;
+    }
+
+    public synchronized int getPendingCount() {
+        return this.pendingCount;
+    }
+
+    public synchronized int getRecordCount() {
+        return this.recordCount;
+    }
+
+    public synchronized long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Appends the newline-terminated records of the given journal file to the given list, skipping the
+     * generation header and any unterminated tail.
+     *
+     * @param file The journal file to read.
+     * @param records The List receiving the records.
+     * @return The length in bytes of the complete lines read, which excludes the unterminated tail.
+     * @throws IOException If the journal file cannot be read.
+     */
+    private static long readRecords(File file, List<String> records) throws IOException {
+        byte[] journalBytes = Files.readAllBytes(file.toPath());
+        int completeLength = journalBytes.length;
+        while (completeLength > 0 && journalBytes[completeLength - 1] != '\n') {
+            completeLength--;
+        }
+
+        String journalText = new String(journalBytes, 0, completeLength, StandardCharsets.UTF_8);
+        int lineStart = 0;
+        while (lineStart < journalText.length()) {
+            int lineEnd = journalText.indexOf('\n', lineStart);
+            int recordEnd = lineEnd > lineStart && journalText.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            String record = journalText.substring(lineStart, recordEnd);
+            if (!record.startsWith(GENERATION_HEADER)) {
+                records.add(record);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return completeLength;
+    }
+
+    /**
+     * Cuts the given file down to the given length.
+     */
+    private static void truncate(File file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    /**
+     * Returns the rotated segments next to the active journal, keyed and ordered by generation.
+     */
+    private TreeMap<Long, File> findSegments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        File parentFile = this.journalFile.getAbsoluteFile().getParentFile();
+        String segmentPrefix = this.journalFile.getName() + ".";
+        File[] siblingFiles = parentFile == null ? null : parentFile.listFiles();
+        if (siblingFiles == null) {
+            return segments;
+        }
+
+        for (File siblingFile : siblingFiles) {
+            String fileName = siblingFile.getName();
+            if (!fileName.startsWith(segmentPrefix)) {
+                continue;
+            }
+            try {
+                segments.put(Long.parseLong(fileName.substring(segmentPrefix.length())), siblingFile);
+            } catch (NumberFormatException exception) {
+                // Not a journal segment, ignore it
+            }
+        }
+        return segments;
+    }
+
+    private File getSegmentFile(long generation) {
+        return new File(this.journalFile.getPath() + "." + generation);
+    }
+
+    private static void deleteFile(File file) throws IOException {
+        if (!file.delete() && file.exists()) {
+            throw new IOException("Unable to delete journal file: " + file);
+        }
+    }
+}
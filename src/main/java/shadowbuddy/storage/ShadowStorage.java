@@ -1,10 +1,21 @@
 package shadowbuddy.storage;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import shadowbuddy.services.Messages;
 import shadowbuddy.taskmodels.Deadline;
@@ -17,23 +28,98 @@ import shadowbuddy.taskmodels.Todo;
  * Manages saving, updating, and loading the chatbot's task list from a file.
  * The ShadowStorage class wraps a file path and provides methods to create the database
  * file, output its contents, write a TaskList to it, and load tasks from it.
+ * In JOURNAL mode, each mutation is appended to a ShadowJournal instead of rewriting the database file,
+ * and the journal is replayed on top of the database file snapshot when tasks are loaded.
+ * Once the journal passes a threshold, a JournalCompactor writes a fresh snapshot in the background
+ * and removes the journal records it contains.
+ * The database snapshot is stored either in the pipe-delimited TEXT format or the compact BINARY format,
+ * which is detected automatically from the database file the first time the database is read or written.
+ * Both formats and the journal records store the id of every task, and a snapshot also stores the id the next
+ * new task will take, so task ids stay the same across restarts and the ids of deleted tasks are not reused.
+ * With write-behind enabled, commits only mark the changes as pending and a WriteBehindPersister
+ * flushes them in groups on a background thread; close performs the final flush.
  */
 public class ShadowStorage {
+    /**
+     * Defines how task list changes are persisted by ShadowStorage.
+     * SNAPSHOT rewrites the whole database file on every commit, while JOURNAL appends
+     * one record per mutation to the journal file.
+     */
+    public enum PersistenceMode { SNAPSHOT, JOURNAL }
+
+    /**
+     * Defines the on-disk formats of the database snapshot.
+     * TEXT is the pipe-delimited "type | status | description | dates" format, while BINARY is
+     * the versioned, length-prefixed format read and written by BinaryTaskCodec.
+     */
+    public enum DatabaseFormat { TEXT, BINARY }
+
+    /**
+     * Defines how far each write is pushed towards the disk before it is considered saved.
+     * NONE hands writes to the operating system without forcing them, which survives an application crash
+     * but not a power loss. FLUSH forces every snapshot to disk before it replaces the database file, so
+     * a power loss leaves either the old or the new snapshot intact. FSYNC also forces every journal flush
+     * and the directory entry of each replaced snapshot, so no committed change is lost.
+     */
+    public enum DurabilityMode { NONE, FLUSH, FSYNC }
+
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_INSERT = "I";
+    private static final String RECORD_MARK = "M";
+    private static final String RECORD_UNMARK = "U";
+    private static final String RECORD_DELETE = "X";
+    private static final String FIELD_SEPARATOR = " | ";
+    private static final String INDEX_SEPARATOR = ",";
+    private static final String TEMP_EXTENSION = ".tmp";
+    /** Prefix of the header line recording the id the next new task will take in a TEXT snapshot */
+    private static final String NEXT_TASK_ID_HEADER = "# next-id ";
+
     protected final String filePath;
     protected final File databaseFile;
+    protected final PersistenceMode persistenceMode;
+    protected final ShadowJournal journal;
+    protected final JournalCompactor compactor;
+    private int loadParallelism;
+    private DatabaseFormat databaseFormat;
+    private DurabilityMode durabilityMode;
+    private long committedModificationCount;
+    private WriteBehindPersister writeBehindPersister;
+    private List<Task> pendingSnapshot;
+    private long pendingNextTaskId;
 
     /**
-     * Initializes a ShadowStorage instance with the given file path.
+     * Initializes a ShadowStorage instance with the given file path in JOURNAL mode.
      * Creates a ShadowStorage instance that initializes a File instance with the
      * specified file path and uses it to store, write, and retrieve tasks.
      *
      * @param filePath The file path to the task list database file.
      */
     public ShadowStorage(String filePath) {
+        this(filePath, PersistenceMode.JOURNAL);
+    }
+
+    /**
+     * Initializes a ShadowStorage instance with the given file path and persistence mode.
+     *
+     * @param filePath The file path to the task list database file.
+     * @param persistenceMode The strategy used to persist task list changes.
+     */
+    public ShadowStorage(String filePath, PersistenceMode persistenceMode) {
         assert filePath != null : "filePath should not be null";
         assert !filePath.trim().isEmpty() : "filePath should not be empty";
+        assert persistenceMode != null : "persistenceMode should not be null";
         this.filePath = filePath;
         this.databaseFile = new File(this.filePath);
+        this.persistenceMode = persistenceMode;
+        this.journal = new ShadowJournal(this.filePath);
+        this.compactor = new JournalCompactor();
+        this.loadParallelism = Runtime.getRuntime().availableProcessors();
+        this.databaseFormat = null;
+        this.durabilityMode = DurabilityMode.FLUSH;
+        this.committedModificationCount = 0;
+        this.writeBehindPersister = null;
+        this.pendingSnapshot = null;
+        this.pendingNextTaskId = 1;
     }
 
     /**
@@ -60,23 +146,20 @@ public class ShadowStorage {
     }
 
     /**
-     * Returns the tasks stored in the database file to the screen.
-     * A Scanner is used to read each line from the database file.
-     * Each input line becomes a numbered entry in the returned String.
+     * Returns the tasks loaded from the database in the stored database format.
+     * The loaded TaskList already includes any replayed journal records, so the database
+     * file does not need to be read a second time.
+     * Each task becomes a numbered entry in the returned String.
      *
-     * @return A String containing the entire task list read from the database file.
-     * @throws FileNotFoundException If the database file cannot be found or read.
+     * @param taskList The TaskList previously populated by loadDatabase.
+     * @return A String containing the entire task list in its stored format.
      */
-    public String outputDatabase() throws FileNotFoundException {
-        Scanner fileScanner = new Scanner(this.databaseFile);
+    public String outputDatabase(TaskList taskList) {
+        assert taskList != null : "taskList should not be null";
         StringBuilder sb = new StringBuilder();
-        int taskIndex = 1;
-
-        while (fileScanner.hasNextLine()) {
-            sb.append(taskIndex).append(". ").append(fileScanner.nextLine()).append("\n");
-            taskIndex++;
+        for (int i = 1; i <= taskList.getLength(); i++) {
+            sb.append(i).append(". ").append(formatTask(taskList.getTask(i))).append("\n");
         }
-        fileScanner.close();
         return sb.toString();
     }
 
@@ -85,49 +168,558 @@ public class ShadowStorage {
      * A FileWriter instance is created using the filePath field.
      * Each task in the TaskList is formatted with the private helper method formatTask,
      * and written to the database file on a separate line.
+     * Since the new snapshot contains every journaled mutation, the journal is reset afterwards.
      *
      * @param taskList The TaskList whose tasks will be saved to the database file.
      * @throws IOException If the database file cannot be written to.
      */
     public void writeToDatabase(TaskList taskList) throws IOException {
         assert taskList != null : "taskList should not be null";
-        FileWriter taskWriter = new FileWriter(this.filePath);
-        for (int i = 0; i < taskList.getLength(); i++) {
-            Task task = taskList.getTask(i + 1);
-            taskWriter.write(formatTask(task) + "\n");
+        this.compactor.awaitCompletion();
+        synchronized (this) {
+            this.pendingSnapshot = null;
+            writeSnapshotAndResetJournal(taskList.copyTasks(), taskList.getNextTaskId());
+        }
+        this.committedModificationCount = taskList.getModificationCount();
+    }
+
+    /**
+     * Rewrites the database, including any journaled mutations, in the given format.
+     * The whole database is loaded, written as a new snapshot in the target format, and the journal is reset.
+     * Later loads detect the new format automatically.
+     *
+     * @param targetFormat The format the database should be stored in.
+     * @return The number of tasks migrated.
+     * @throws IOException If the database cannot be read or written.
+     */
+    public int convertDatabase(DatabaseFormat targetFormat) throws IOException {
+        assert targetFormat != null : "targetFormat should not be null";
+        // A running compaction still owns the temporary snapshot, which loading would delete
+        this.compactor.awaitCompletion();
+        TaskList taskList = new TaskList();
+        loadDatabase(taskList);
+        synchronized (this) {
+            this.databaseFormat = targetFormat;
+        }
+        writeToDatabase(taskList);
+        return taskList.getLength();
+    }
+
+    /**
+     * Returns the format the database is stored in, detected from the database file the first time it is needed.
+     * A database file that does not exist yet is written in the TEXT format.
+     *
+     * @return The format of the database file.
+     * @throws IOException If the database file cannot be read.
+     */
+    public synchronized DatabaseFormat getDatabaseFormat() throws IOException {
+        if (this.databaseFormat == null) {
+            this.databaseFormat = BinaryTaskCodec.isBinaryDatabase(this.databaseFile)
+                    ? DatabaseFormat.BINARY
+                    : DatabaseFormat.TEXT;
+        }
+        return this.databaseFormat;
+    }
+
+    /**
+     * Persists the changes made to the given TaskList since the last commit.
+     * Nothing is written when the TaskList has not been modified since the last commit.
+     * In JOURNAL mode, the buffered mutation records are appended to the journal file.
+     * In SNAPSHOT mode, the whole TaskList is rewritten to the database file.
+     * With write-behind enabled, the write is left to the background writer and this method returns
+     * without performing any I/O, apart from rotating the journal when a compaction is due.
+     *
+     * @param taskList The TaskList whose changes will be saved.
+     * @throws IOException If the journal or database file cannot be written to, or a background write failed.
+     */
+    public void commitChanges(TaskList taskList) throws IOException {
+        assert taskList != null : "taskList should not be null";
+        if (taskList.getModificationCount() == this.committedModificationCount) {
+            return;
         }
-        taskWriter.close();
+
+        if (this.writeBehindPersister != null) {
+            this.writeBehindPersister.checkFailure();
+        }
+        if (this.persistenceMode == PersistenceMode.JOURNAL) {
+            this.compactor.checkFailure();
+            if (this.writeBehindPersister != null) {
+                this.writeBehindPersister.requestFlush();
+            } else {
+                this.journal.flush();
+            }
+            compactJournalIfDue(taskList);
+        } else if (this.writeBehindPersister != null) {
+            synchronized (this) {
+                this.pendingSnapshot = detachTasks(taskList);
+                this.pendingNextTaskId = taskList.getNextTaskId();
+            }
+            this.writeBehindPersister.requestFlush();
+        } else {
+            writeToDatabase(taskList);
+        }
+        this.committedModificationCount = taskList.getModificationCount();
+    }
+
+    /**
+     * Switches to write-behind persistence, where commits are flushed in groups by a background writer.
+     * A group is flushed once its oldest commit has waited for the flush delay, or once it holds
+     * the given number of commits.
+     *
+     * @param flushDelayMillis The longest time a commit may wait before it is flushed.
+     * @param maxBatchSize The number of unflushed commits that triggers an immediate flush.
+     */
+    public void enableWriteBehind(long flushDelayMillis, int maxBatchSize) {
+        assert this.writeBehindPersister == null : "write-behind should only be enabled once";
+        this.writeBehindPersister = new WriteBehindPersister(this::flushPendingChanges, flushDelayMillis,
+                maxBatchSize);
+    }
+
+    /**
+     * Flushes every pending change and waits for any running compaction to finish.
+     * Must be called before the application exits, so that write-behind commits are not lost.
+     * Later commits are written synchronously, so closing the storage more than once is safe.
+     *
+     * @throws IOException If the pending changes cannot be written.
+     */
+    public void close() throws IOException {
+        if (this.writeBehindPersister != null) {
+            WriteBehindPersister closedPersister = this.writeBehindPersister;
+            this.writeBehindPersister = null;
+            closedPersister.close();
+        } else {
+            flushPendingChanges();
+        }
+        this.compactor.awaitCompletion();
+    }
+
+    /**
+     * Updates the journal thresholds that trigger a background compaction.
+     *
+     * @param maxRecords The number of journal records that triggers a compaction.
+     * @param maxBytes The journal size in bytes that triggers a compaction.
+     */
+    public void setCompactionThresholds(int maxRecords, long maxBytes) {
+        this.compactor.setThresholds(maxRecords, maxBytes);
+    }
+
+    /**
+     * Updates the maximum number of threads used to parse the database file when loading.
+     * A parallelism of 1 loads the database serially on the calling thread.
+     *
+     * @param loadParallelism The maximum number of byte ranges parsed concurrently.
+     */
+    public void setLoadParallelism(int loadParallelism) {
+        assert loadParallelism > 0 : "loadParallelism should be positive";
+        this.loadParallelism = loadParallelism;
+    }
+
+    /**
+     * Updates how far snapshot and journal writes are forced to disk before they are considered saved.
+     *
+     * @param durabilityMode The trade-off between save latency and crash safety.
+     */
+    public void setDurabilityMode(DurabilityMode durabilityMode) {
+        assert durabilityMode != null : "durabilityMode should not be null";
+        this.durabilityMode = durabilityMode;
+        this.journal.setForcedOnFlush(durabilityMode == DurabilityMode.FSYNC);
+    }
+
+    public DurabilityMode getDurabilityMode() {
+        return this.durabilityMode;
+    }
+
+    /**
+     * Records that the given task was appended to the TaskList.
+     *
+     * @param task The Task that was added.
+     */
+    public void recordAddition(Task task) {
+        assert task != null : "task should not be null";
+        recordMutation(RECORD_ADD + FIELD_SEPARATOR + formatTask(task));
+    }
+
+    /**
+     * Records that the given task was inserted into the TaskList at the given 1-based index.
+     *
+     * @param index The 1-based index the Task was inserted at.
+     * @param task The Task that was inserted.
+     */
+    public void recordInsertion(int index, Task task) {
+        assert task != null : "task should not be null";
+        recordMutation(RECORD_INSERT + FIELD_SEPARATOR + index + FIELD_SEPARATOR + formatTask(task));
+    }
+
+    /**
+     * Records that the task at the given 1-based index was marked as done.
+     *
+     * @param index The 1-based index of the marked Task.
+     */
+    public void recordMark(int index) {
+        recordMutation(RECORD_MARK + FIELD_SEPARATOR + index);
+    }
+
+    /**
+     * Records that the task at the given 1-based index was marked as not done.
+     *
+     * @param index The 1-based index of the unmarked Task.
+     */
+    public void recordUnmark(int index) {
+        recordMutation(RECORD_UNMARK + FIELD_SEPARATOR + index);
+    }
+
+    /**
+     * Records that the task at the given 1-based index was deleted.
+     *
+     * @param index The 1-based index of the deleted Task.
+     */
+    public void recordDeletion(int index) {
+        recordMutation(RECORD_DELETE + FIELD_SEPARATOR + index);
+    }
+
+    /**
+     * Records that the tasks at the given 1-based indices were deleted together, as a single record.
+     *
+     * @param indices The 1-based indices of the deleted Tasks, in ascending order.
+     */
+    public void recordDeletions(int[] indices) {
+        StringBuilder record = new StringBuilder(RECORD_DELETE).append(FIELD_SEPARATOR);
+        for (int i = 0; i < indices.length; i++) {
+            record.append(i == 0 ? "" : INDEX_SEPARATOR).append(indices[i]);
+        }
+        recordMutation(record.toString());
     }
 
     /**
      * Loads tasks from the database file into the given TaskList.
      * If the database file does not exist, the method will return early.
-     * Each line from the database file is split at the "|" symbols, and each segment is
-     * trimmed of whitespace. The resulting String data is then converted into a Task instance
-     * using the private helper method createTask, and appended to the given task list.
+     * Each line from the database file is parsed into a Task instance by a MappedTaskReader,
+     * and appended to the given task list.
+     * Any records in the journal are then replayed on top of the loaded snapshot.
+     *
+     * Only the journal records written after the snapshot generation are replayed.
+     * A temporary snapshot left behind by an interrupted save is deleted first, since the database file
+     * is only ever replaced by a complete snapshot.
      *
      * @param taskList The TaskList to populate with tasks read from the database file.
-     * @throws FileNotFoundException If the database file cannot be found or read.
+     * @throws IOException If the database or journal file cannot be found or read.
      */
-    public void loadDatabase(TaskList taskList) throws FileNotFoundException {
+    public void loadDatabase(TaskList taskList) throws IOException {
         assert taskList != null : "taskList should not be null";
+        Files.deleteIfExists(getTempPath());
         if (!this.databaseFile.exists()) {
             return;
         }
 
-        Scanner fileScanner = new Scanner(this.databaseFile);
-        while (fileScanner.hasNextLine()) {
-            // Statement below inspired from a ChatGPT example on how to split strings on the "|" character
-            String[] taskDetails = fileScanner.nextLine().split("\\|");
+        synchronized (this) {
+            this.databaseFormat = null;
+        }
+        loadSnapshot(taskList);
+        taskList.reserveTaskIds(readSnapshotNextTaskId());
+        replayJournal(taskList, readSnapshotGeneration());
+        this.committedModificationCount = taskList.getModificationCount();
+        if (this.persistenceMode == PersistenceMode.JOURNAL) {
+            compactJournalIfDue(taskList);
+        }
+    }
+
+    /**
+     * Loads the tasks stored in the database file snapshot into the given TaskList.
+     * The snapshot is scanned through a memory-mapped MappedTaskReader rather than split line by line,
+     * and large snapshots are parsed in parallel across up to loadParallelism threads.
+     *
+     * @param taskList The TaskList to populate with tasks read from the database file.
+     * @throws IOException If the database file cannot be found or read.
+     */
+    private void loadSnapshot(TaskList taskList) throws IOException {
+        if (getDatabaseFormat() == DatabaseFormat.BINARY) {
+            new BinaryTaskCodec().readTasks(this.databaseFile, taskList);
+        } else {
+            new MappedTaskReader(this.loadParallelism).readTasks(this.databaseFile, taskList);
+        }
+    }
+
+    /**
+     * Returns the generation recorded in the header of the database snapshot, in its detected format.
+     *
+     * @throws IOException If the database file cannot be read.
+     */
+    private long readSnapshotGeneration() throws IOException {
+        return getDatabaseFormat() == DatabaseFormat.BINARY
+                ? BinaryTaskCodec.readGeneration(this.databaseFile)
+                : ShadowJournal.readGeneration(this.databaseFile);
+    }
+
+    /**
+     * Returns the id the next new task takes as recorded in the header of the database snapshot, or 1 for
+     * snapshots written before task ids were stored.
+     *
+     * @throws IOException If the database file cannot be read.
+     */
+    private long readSnapshotNextTaskId() throws IOException {
+        if (getDatabaseFormat() == DatabaseFormat.BINARY) {
+            return BinaryTaskCodec.readNextTaskId(this.databaseFile);
+        }
+
+        try (BufferedReader databaseReader = Files.newBufferedReader(this.databaseFile.toPath(),
+                StandardCharsets.UTF_8)) {
+            String line = databaseReader.readLine();
+            while (line != null && line.startsWith(ShadowJournal.GENERATION_HEADER.substring(0, 1))) {
+                if (line.startsWith(NEXT_TASK_ID_HEADER)) {
+                    return Long.parseLong(line.substring(NEXT_TASK_ID_HEADER.length()).trim());
+                }
+                line = databaseReader.readLine();
+            }
+        } catch (NumberFormatException exception) {
+            // A damaged header only loses the reservation; the loaded ids still bound the next id
+        }
+        return 1;
+    }
+
+    /**
+     * Replays the journal records in order on top of the given TaskList.
+     * The journal already drops the unterminated tail left behind by an interrupted append, and replay
+     * also stops at the first record that cannot be applied, as the records after it would change the wrong tasks.
+     *
+     * @param taskList The TaskList loaded from the database file snapshot.
+     * @param snapshotGeneration The generation of the loaded database snapshot.
+     * @throws IOException If the journal files cannot be read.
+     */
+    private void replayJournal(TaskList taskList, long snapshotGeneration) throws IOException {
+        for (String record : this.journal.load(snapshotGeneration)) {
+            if (!applyRecord(record, taskList)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes every change committed so far: the buffered journal records in JOURNAL mode,
+     * or the most recent pending snapshot in SNAPSHOT mode.
+     * Runs on the write-behind writer thread, or on the calling thread when the storage is closed.
+     *
+     * @throws IOException If the journal or database file cannot be written to.
+     */
+    private void flushPendingChanges() throws IOException {
+        if (this.persistenceMode == PersistenceMode.JOURNAL) {
+            this.journal.flush();
+            return;
+        }
+
+        synchronized (this) {
+            if (this.pendingSnapshot != null) {
+                writeSnapshotAndResetJournal(this.pendingSnapshot, this.pendingNextTaskId);
+                this.pendingSnapshot = null;
+            }
+        }
+    }
+
+    /**
+     * Writes the given tasks as the next snapshot generation and resets the journal it supersedes.
+     *
+     * @param tasks The tasks to write, in TaskList order.
+     * @param nextTaskId The id the next new task will take.
+     * @throws IOException If the snapshot cannot be written or the journal cannot be reset.
+     */
+    private synchronized void writeSnapshotAndResetJournal(List<Task> tasks, long nextTaskId) throws IOException {
+        long generation = this.journal.getBaseGeneration() + 1;
+        writeSnapshot(tasks, nextTaskId, generation, getDatabaseFormat());
+        this.journal.reset(generation);
+    }
+
+    /**
+     * Starts a background compaction when the journal has passed its threshold.
+     * The tasks are copied and the journal is rotated on the calling thread, which takes no disk I/O
+     * proportional to the task list. The compactor only sees the copies, so the snapshot holds exactly the
+     * state at the rotation, and mutations made afterwards go to the new active journal.
+     *
+     * @param taskList The TaskList whose current contents the new snapshot will hold.
+     * @throws IOException If the journal cannot be rotated.
+     */
+    private void compactJournalIfDue(TaskList taskList) throws IOException {
+        int journalRecordCount = this.journal.getRecordCount() + this.journal.getPendingCount();
+        if (!this.compactor.isCompactionDue(journalRecordCount, this.journal.getByteCount())) {
+            return;
+        }
 
-            for (int i = 0; i < taskDetails.length; i++) {
-                taskDetails[i] = taskDetails[i].trim();
+        List<Task> tasks = detachTasks(taskList);
+        long nextTaskId = taskList.getNextTaskId();
+        long generation = this.journal.rotate();
+        DatabaseFormat format = getDatabaseFormat();
+        this.compactor.submit(() -> {
+            writeSnapshot(tasks, nextTaskId, generation, format);
+            this.journal.deleteSegmentsBefore(generation);
+        });
+    }
+
+    /**
+     * Writes the given tasks as a snapshot with the given generation and format.
+     * The snapshot is written to a temporary file next to the database file, forced to disk unless the
+     * durability mode is NONE, and then atomically moved over the database file, so a crash during the
+     * write never leaves a partially written database behind.
+     *
+     * @param tasks The tasks to write, in TaskList order.
+     * @param nextTaskId The id the next new task will take, recorded in the snapshot header.
+     * @param generation The generation recorded in the snapshot header.
+     * @param format The format in which the snapshot is written.
+     * @throws IOException If the snapshot cannot be written or moved into place.
+     */
+    private void writeSnapshot(List<Task> tasks, long nextTaskId, long generation, DatabaseFormat format)
+            throws IOException {
+        Path tempPath = getTempPath();
+        if (format == DatabaseFormat.BINARY) {
+            new BinaryTaskCodec().writeTasks(tempPath.toFile(), tasks, nextTaskId, generation);
+        } else {
+            try (Writer taskWriter = new BufferedWriter(new FileWriter(tempPath.toFile(), StandardCharsets.UTF_8))) {
+                taskWriter.write(ShadowJournal.GENERATION_HEADER + generation + "\n");
+                taskWriter.write(NEXT_TASK_ID_HEADER + nextTaskId + "\n");
+                for (Task task : tasks) {
+                    taskWriter.write(formatTask(task) + "\n");
+                }
             }
+        }
 
-            Task currentTask = createTask(taskDetails);
-            taskList.addTask(currentTask);
+        if (this.durabilityMode != DurabilityMode.NONE) {
+            try (FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                tempChannel.force(true);
+            }
+        }
+        try {
+            Files.move(tempPath, this.databaseFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(tempPath, this.databaseFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (this.durabilityMode == DurabilityMode.FSYNC) {
+            forceDirectory(this.databaseFile.getAbsoluteFile().toPath().getParent());
         }
-        fileScanner.close();
+    }
+
+    /**
+     * Forces the entries of the given directory to disk, so that a completed rename survives a power loss.
+     * Platforms that cannot open a directory for syncing, such as Windows, are skipped.
+     */
+    static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException exception) {
+            // Directory syncing is not supported on this platform, the rename itself is still atomic
+        }
+    }
+
+    private Path getTempPath() {
+        return Path.of(this.filePath + TEMP_EXTENSION);
+    }
+
+    /**
+     * Applies a single journal record to the given TaskList.
+     *
+     * @param record The journal record to apply.
+     * @param taskList The TaskList to modify.
+     * @return True if the record was well-formed and applied; False otherwise.
+     */
+    private boolean applyRecord(String record, TaskList taskList) {
+        String[] recordDetails = record.split("\\|");
+        for (int i = 0; i < recordDetails.length; i++) {
+            recordDetails[i] = recordDetails[i].trim();
+        }
+
+        try {
+            switch (recordDetails[0]) {
+            case RECORD_ADD:
+                taskList.restoreTask(createTask(Arrays.copyOfRange(recordDetails, 1, recordDetails.length)));
+                return true;
+            case RECORD_INSERT:
+                taskList.insertTask(Integer.parseInt(recordDetails[1]),
+                        createTask(Arrays.copyOfRange(recordDetails, 2, recordDetails.length)));
+                return true;
+            case RECORD_MARK:
+                taskList.markTask(Integer.parseInt(recordDetails[1]));
+                return true;
+            case RECORD_UNMARK:
+                taskList.unmarkTask(Integer.parseInt(recordDetails[1]));
+                return true;
+            case RECORD_DELETE:
+                if (!recordDetails[1].contains(INDEX_SEPARATOR)) {
+                    taskList.deleteTask(Integer.parseInt(recordDetails[1]));
+                    return true;
+                }
+                int[] indices = Arrays.stream(recordDetails[1].split(INDEX_SEPARATOR))
+                        .mapToInt(Integer::parseInt)
+                        .toArray();
+                if (!isAscendingWithinBounds(indices, taskList.getLength())) {
+                    return false;
+                }
+                taskList.deleteTasks(indices);
+                return true;
+            default:
+                return false;
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true when the given 1-based indices ascend without duplicates and all lie within the TaskList.
+     */
+    private static boolean isAscendingWithinBounds(int[] indices, int taskCount) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 1 || indices[i] > taskCount || (i > 0 && indices[i] <= indices[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Buffers the given mutation record in the journal when running in JOURNAL mode.
+     *
+     * @param record The journal record describing the mutation.
+     */
+    private void recordMutation(String record) {
+        if (this.persistenceMode == PersistenceMode.JOURNAL) {
+            this.journal.append(record);
+        }
+    }
+
+    /**
+     * Returns copies of the tasks in the given TaskList, in order, for a snapshot written on another thread.
+     * Later changes to the tasks in the TaskList are not seen by the copies, so the writer thread never reads
+     * a task while the calling thread changes it.
+     *
+     * @param taskList The TaskList whose tasks are copied.
+     * @return A List of copies that share no mutable state with the TaskList.
+     */
+    private static List<Task> detachTasks(TaskList taskList) {
+        List<Task> tasks = taskList.copyTasks();
+        List<Task> detachedTasks = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task detachedTask;
+            if (task instanceof Todo) {
+                detachedTask = new Todo(task.getDescription());
+            } else if (task instanceof Deadline deadline) {
+                detachedTask = new Deadline(deadline.getDescription(), deadline.getDueEpochSecond());
+            } else if (task instanceof Event event) {
+                detachedTask = new Event(event.getDescription(), event.getStartEpochSecond(),
+                        event.getEndEpochSecond());
+            } else {
+                throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, task));
+            }
+
+            if (task.getStatusIcon().equalsIgnoreCase("X")) {
+                detachedTask.markAsDone();
+            }
+            if (task.getId() != Task.NO_ID) {
+                detachedTask.restoreId(task.getId());
+            }
+            detachedTasks.add(detachedTask);
+        }
+        return detachedTasks;
     }
 
     /**
@@ -142,17 +734,21 @@ public class ShadowStorage {
         boolean isTaskDone = taskDetails[1].equals("1");
         String taskDescription = taskDetails[2];
         Task currentTask;
+        int idField;
 
         switch (taskType) {
         case "T":
             currentTask = new Todo(taskDescription);
+            idField = 3;
             break;
         case "D":
             currentTask = new Deadline(taskDescription, taskDetails[3]);
+            idField = 4;
             break;
         case "E":
             String[] eventTimings = taskDetails[3].split("-");
             currentTask = new Event(taskDescription, eventTimings[0], eventTimings[1]);
+            idField = 4;
             break;
         default:
             throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK_TYPE, taskType));
@@ -161,13 +757,22 @@ public class ShadowStorage {
         if (isTaskDone) {
             currentTask.markAsDone();
         }
+        // Records written before task ids were stored end without an id field
+        if (idField < taskDetails.length) {
+            long taskId = Long.parseLong(taskDetails[idField]);
+            if (taskId < 1) {
+                throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, currentTask));
+            }
+            currentTask.restoreId(taskId);
+        }
         return currentTask;
     }
 
     /**
      * Returns a formatted String representation of the given Task.
      * The format of the returned String representation is:
-     * "type | status | description | additional dates and timings (if present)."
+     * "type | status | description | additional dates and timings (if present) | id".
+     * The id is left out for a task that has not been added to a TaskList yet.
      *
      * @param task The specified Task instance to be formatted for storage.
      * @return A single-line String representing the given Task.
@@ -175,15 +780,16 @@ public class ShadowStorage {
     private String formatTask(Task task) {
         assert task != null : "task should not be null";
         String taskStatus = (task.getStatusIcon().equalsIgnoreCase("X")) ? "1" : "0";
+        String taskId = task.getId() == Task.NO_ID ? "" : FIELD_SEPARATOR + task.getId();
 
         // Solution below inspired from a ChatGPT example on handling multiple object types in a single conditional
         if (task instanceof Todo todo) {
-            return "T | " + taskStatus + " | " + todo.getDescription();
+            return "T | " + taskStatus + " | " + todo.getDescription() + taskId;
         } else if (task instanceof Deadline deadline) {
-            return "D | " + taskStatus + " | " + deadline.getDescription() + " | " + deadline.getDueDate();
+            return "D | " + taskStatus + " | " + deadline.getDescription() + " | " + deadline.getDueDate() + taskId;
         } else if (task instanceof Event event) {
             return "E | " + taskStatus + " | " + event.getDescription() + " | " + event.getStartDate()
-                    + "-" + event.getEndDate();
+                    + "-" + event.getEndDate() + taskId;
         } else {
             throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, task));
         }
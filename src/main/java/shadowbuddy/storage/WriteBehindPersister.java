@@ -0,0 +1,150 @@
+package shadowbuddy.storage;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces persistence requests and performs them on a single background writer thread.
+ * The WriteBehindPersister class lets a burst of commands share one flush (group commit): a flush runs
+ * once the oldest unflushed commit is older than the flush delay, or once the number of unflushed commits
+ * reaches the batch size, whichever comes first. Closing the persister always performs a final flush.
+ * A failed background flush is reported on the next call to checkFailure.
+ */
+public class WriteBehindPersister {
+    private final Object lock;
+    private final FlushAction flushAction;
+    private final long flushDelayNanos;
+    private final int maxBatchSize;
+    private final Thread writerThread;
+    private int pendingCommits;
+    private long oldestPendingNanos;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Initializes a WriteBehindPersister instance and starts its writer thread.
+     * The writer thread is a daemon thread, so close must be called to guarantee the final flush.
+     *
+     * @param flushAction The action persisting every change committed so far.
+     * @param flushDelayMillis The longest time a commit may wait before it is flushed.
+     * @param maxBatchSize The number of unflushed commits that triggers an immediate flush.
+     */
+    public WriteBehindPersister(FlushAction flushAction, long flushDelayMillis, int maxBatchSize) {
+        assert flushAction != null : "flushAction should not be null";
+        assert flushDelayMillis > 0 : "flushDelayMillis should be positive";
+        assert maxBatchSize > 0 : "maxBatchSize should be positive";
+        this.lock = new Object();
+        this.flushAction = flushAction;
+        this.flushDelayNanos = TimeUnit.MILLISECONDS.toNanos(flushDelayMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.pendingCommits = 0;
+        this.isClosed = false;
+        this.writerThread = new Thread(this::runWriter, "shadow-write-behind");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Signals that new changes were committed and should be flushed soon.
+     * This method never performs I/O, so it returns immediately.
+     */
+    public void requestFlush() {
+        synchronized (this.lock) {
+            if (this.pendingCommits == 0) {
+                this.oldestPendingNanos = System.nanoTime();
+            }
+            this.pendingCommits++;
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Rethrows the failure of the last background flush, if any, and clears it.
+     *
+     * @throws IOException If a background flush failed since the last check.
+     */
+    public void checkFailure() throws IOException {
+        synchronized (this.lock) {
+            IOException lastFailure = this.failure;
+            this.failure = null;
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+        }
+    }
+
+    /**
+     * Stops the writer thread and performs a final flush on the calling thread.
+     * Calling close more than once only repeats the final flush.
+     *
+     * @throws IOException If the final flush or an earlier background flush failed.
+     */
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            this.isClosed = true;
+            this.lock.notifyAll();
+        }
+
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+        this.flushAction.flush();
+    }
+
+    /**
+     * Waits for commits and flushes them in groups until the persister is closed.
+     */
+    private void runWriter() {
+        while (awaitFlushDue()) {
+            try {
+                this.flushAction.flush();
+            } catch (IOException exception) {
+                synchronized (this.lock) {
+                    this.failure = exception;
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks until a flush is due and claims the pending commits.
+     *
+     * @return True if a flush should be performed; False if the persister was closed.
+     */
+    private boolean awaitFlushDue() {
+        synchronized (this.lock) {
+            try {
+                while (!this.isClosed && this.pendingCommits == 0) {
+                    this.lock.wait();
+                }
+                while (!this.isClosed && this.pendingCommits < this.maxBatchSize) {
+                    long remainingNanos = this.oldestPendingNanos + this.flushDelayNanos - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this.lock, remainingNanos);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            if (this.isClosed) {
+                return false;
+            }
+            this.pendingCommits = 0;
+            return true;
+        }
+    }
+
+    /**
+     * Represents the flush performed by the writer thread, which may fail with an IOException.
+     */
+    @FunctionalInterface
+    public interface FlushAction {
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,105 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Stores the tasks of a TaskList in an ArrayList, with their sequence ids in a parallel PostingList.
+ * Reading a position and appending cost O(1), but inserting or removing a task shifts every later task,
+ * so positional updates cost O(n). This suits the usual list of a few hundred tasks that is mostly appended
+ * to and read from.
+ */
+public class ArrayTaskSequence implements TaskSequence {
+    private final ArrayList<Task> tasks;
+    private final PostingList sequenceIds;
+
+    /**
+     * Initializes an empty ArrayTaskSequence instance with a pre-allocated capacity of 100 elements.
+     */
+    public ArrayTaskSequence() {
+        this.tasks = new ArrayList<>(100);
+        this.sequenceIds = new PostingList();
+    }
+
+    @Override
+    public void append(long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        this.sequenceIds.append(sequenceId);
+        this.tasks.add(task);
+    }
+
+    @Override
+    public void insertAt(int index, long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        this.sequenceIds.insertAt(index, sequenceId);
+        this.tasks.add(index, task);
+    }
+
+    @Override
+    public Task removeAt(int index) {
+        this.sequenceIds.removeAt(index);
+        return this.tasks.remove(index);
+    }
+
+    /**
+     * Removes the tasks at the given positions in one sweep, moving each remaining task at most once.
+     */
+    @Override
+    public void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+
+        int writeIndex = indices[0];
+        int nextRemoved = 0;
+        for (int readIndex = indices[0]; readIndex < this.tasks.size(); readIndex++) {
+            if (nextRemoved < indices.length && indices[nextRemoved] == readIndex) {
+                nextRemoved++;
+            } else {
+                this.tasks.set(writeIndex++, this.tasks.get(readIndex));
+            }
+        }
+        this.tasks.subList(writeIndex, this.tasks.size()).clear();
+        this.sequenceIds.removeAll(indices);
+    }
+
+    @Override
+    public Task get(int index) {
+        return this.tasks.get(index);
+    }
+
+    @Override
+    public long getSequenceId(int index) {
+        return this.sequenceIds.get(index);
+    }
+
+    @Override
+    public void setDone(int index, boolean isDone) {
+        if (isDone) {
+            get(index).markAsDone();
+        } else {
+            get(index).markAsNotDone();
+        }
+    }
+
+    @Override
+    public int seek(long target, int start) {
+        return this.sequenceIds.seek(target, start);
+    }
+
+    @Override
+    public int size() {
+        return this.tasks.size();
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        this.tasks.ensureCapacity(capacity);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return Collections.unmodifiableList(this.tasks).iterator();
+    }
+}
@@ -0,0 +1,227 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a set of words in a Burkhard-Keller tree keyed by Levenshtein distance.
+ * Every child of a node sits at a known edit distance from it, so by the triangle inequality a search
+ * for words within distance d of a keyword only descends into children whose edge distance lies within d
+ * of the keyword's distance to the node, which skips most of the vocabulary.
+ * Removed words are only marked as deleted, and the tree is rebuilt once deleted nodes outnumber live ones.
+ */
+public class BkTree {
+    private Node root;
+    private int liveCount;
+    private int deletedCount;
+
+    /**
+     * Initializes an empty BkTree instance.
+     */
+    public BkTree() {
+        this.root = null;
+        this.liveCount = 0;
+        this.deletedCount = 0;
+    }
+
+    /**
+     * Adds the given word to the tree, reviving it if it was previously removed.
+     *
+     * @param word The word to add.
+     */
+    public void add(String word) {
+        assert word != null : "word should not be null";
+        if (this.root == null) {
+            this.root = new Node(word);
+            this.liveCount++;
+            return;
+        }
+
+        Node node = this.root;
+        while (true) {
+            int distance = computeDistance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (node.isDeleted) {
+                    node.isDeleted = false;
+                    this.deletedCount--;
+                    this.liveCount++;
+                }
+                return;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word));
+                this.liveCount++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes the given word from the tree if it is present.
+     *
+     * @param word The word to remove.
+     */
+    public void remove(String word) {
+        assert word != null : "word should not be null";
+        Node node = this.root;
+        while (node != null) {
+            int distance = computeDistance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (!node.isDeleted) {
+                    node.isDeleted = true;
+                    this.liveCount--;
+                    this.deletedCount++;
+                    rebuildIfSparse();
+                }
+                return;
+            }
+            node = node.getChild(distance);
+        }
+    }
+
+    /**
+     * Returns every word in the tree within the given Levenshtein distance of the given keyword.
+     *
+     * @param keyword The keyword to compare against.
+     * @param maxDistance The largest number of single-character insertions, deletions or substitutions allowed.
+     * @return A List of the matching words, in no particular order.
+     */
+    public List<String> search(String keyword, int maxDistance) {
+        assert keyword != null : "keyword should not be null";
+        assert maxDistance >= 0 : "maxDistance should not be negative";
+        List<String> matchingWords = new ArrayList<>();
+        if (this.root == null) {
+            return matchingWords;
+        }
+
+        ArrayDeque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.push(this.root);
+        while (!pendingNodes.isEmpty()) {
+            Node node = pendingNodes.pop();
+            // Children lie at edge distances below children.length, so larger distances prune them all
+            int limit = Math.max(maxDistance, node.children.length - 1 + maxDistance);
+            int distance = computeDistance(keyword, node.word, limit);
+            if (distance <= maxDistance && !node.isDeleted) {
+                matchingWords.add(node.word);
+            }
+            int lowest = Math.max(1, distance - maxDistance);
+            int highest = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int edge = lowest; edge <= highest; edge++) {
+                if (node.children[edge] != null) {
+                    pendingNodes.push(node.children[edge]);
+                }
+            }
+        }
+        return matchingWords;
+    }
+
+    public int size() {
+        return this.liveCount;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the given words, or a value above the limit once the
+     * distance is known to exceed it.
+     *
+     * @param first A word to compare.
+     * @param second Another word to compare.
+     * @param limit The distance above which the exact value is not needed.
+     * @return The edit distance between the words, or limit + 1 if it is larger than the limit.
+     */
+    static int computeDistance(String first, String second, int limit) {
+        int firstLength = first.length();
+        int secondLength = second.length();
+        if (Math.abs(firstLength - secondLength) > limit) {
+            return limit + 1;
+        }
+
+        int[] previousRow = new int[secondLength + 1];
+        int[] currentRow = new int[secondLength + 1];
+        for (int j = 0; j <= secondLength; j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= firstLength; i++) {
+            currentRow[0] = i;
+            int rowMinimum = i;
+            char firstChar = first.charAt(i - 1);
+            for (int j = 1; j <= secondLength; j++) {
+                int substitution = previousRow[j - 1] + (firstChar == second.charAt(j - 1) ? 0 : 1);
+                currentRow[j] = Math.min(substitution, Math.min(previousRow[j], currentRow[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, currentRow[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+        return previousRow[secondLength];
+    }
+
+    /**
+     * Rebuilds the tree from its live words once deleted nodes outnumber them, so searches do not keep
+     * paying for words that are gone.
+     */
+    private void rebuildIfSparse() {
+        if (this.deletedCount <= this.liveCount) {
+            return;
+        }
+
+        List<String> liveWords = new ArrayList<>(this.liveCount);
+        ArrayDeque<Node> pendingNodes = new ArrayDeque<>();
+        if (this.root != null) {
+            pendingNodes.push(this.root);
+        }
+        while (!pendingNodes.isEmpty()) {
+            Node node = pendingNodes.pop();
+            if (!node.isDeleted) {
+                liveWords.add(node.word);
+            }
+            for (Node child : node.children) {
+                if (child != null) {
+                    pendingNodes.push(child);
+                }
+            }
+        }
+
+        this.root = null;
+        this.liveCount = 0;
+        this.deletedCount = 0;
+        for (String word : liveWords) {
+            add(word);
+        }
+    }
+
+    /**
+     * Represents a word in the tree, with its children indexed by their edit distance from it.
+     */
+    private static class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final String word;
+        private Node[] children;
+        private boolean isDeleted;
+
+        private Node(String word) {
+            this.word = word;
+            this.children = NO_CHILDREN;
+            this.isDeleted = false;
+        }
+
+        private Node getChild(int distance) {
+            return distance < this.children.length ? this.children[distance] : null;
+        }
+
+        private void setChild(int distance, Node child) {
+            if (distance >= this.children.length) {
+                this.children = Arrays.copyOf(this.children, distance + 1);
+            }
+            this.children[distance] = child;
+        }
+    }
+}
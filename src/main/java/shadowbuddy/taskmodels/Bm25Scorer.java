@@ -0,0 +1,66 @@
+package shadowbuddy.taskmodels;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Scores task descriptions against a set of keywords with the Okapi BM25 ranking function.
+ * Each keyword is weighted by its inverse document frequency, so rare words count for more than common ones,
+ * and its contribution saturates as it repeats and shrinks for descriptions longer than average.
+ * The document frequencies and lengths are read from a KeywordIndex, which maintains them incrementally.
+ */
+public class Bm25Scorer {
+    /** Controls how quickly repeated occurrences of a keyword stop adding to the score (k1) */
+    private static final double TERM_SATURATION = 1.2;
+    /** Controls how strongly long descriptions are penalised relative to the average length (b) */
+    private static final double LENGTH_NORMALIZATION = 0.75;
+
+    private final HashMap<String, Double> keywordWeights;
+    private final double averageLength;
+
+    /**
+     * Initializes a Bm25Scorer instance for the given keywords, using the statistics of the given KeywordIndex.
+     *
+     * @param keywordIndex The KeywordIndex holding the document frequencies and description lengths.
+     * @param keywords The keywords to score descriptions against.
+     */
+    public Bm25Scorer(KeywordIndex keywordIndex, List<String> keywords) {
+        assert keywordIndex != null : "keywordIndex should not be null";
+        assert keywords != null : "keywords should not be null";
+        this.keywordWeights = new HashMap<>();
+        int documentCount = keywordIndex.getDocumentCount();
+        for (String keyword : keywords) {
+            int documentFrequency = keywordIndex.getPostings(keyword).size();
+            double inverseFrequency = Math.log(1 + (documentCount - documentFrequency + 0.5)
+                    / (documentFrequency + 0.5));
+            this.keywordWeights.put(KeywordIndex.foldCase(keyword), inverseFrequency);
+        }
+        this.averageLength = documentCount == 0 ? 1 : (double) keywordIndex.getWordCount() / documentCount;
+    }
+
+    /**
+     * Returns the BM25 score of the given description; higher scores indicate better matches.
+     *
+     * @param description The task description to score.
+     * @return The sum of the weighted, saturated and length-normalised keyword frequencies.
+     */
+    public double score(String description) {
+        String[] words = description.split(KeywordIndex.WORD_SEPARATOR);
+        HashMap<String, Integer> keywordFrequencies = new HashMap<>();
+        for (String word : words) {
+            String key = KeywordIndex.foldCase(word);
+            if (this.keywordWeights.containsKey(key)) {
+                keywordFrequencies.merge(key, 1, Integer::sum);
+            }
+        }
+
+        double lengthFactor = 1 - LENGTH_NORMALIZATION + LENGTH_NORMALIZATION * words.length / this.averageLength;
+        double score = 0;
+        for (String keyword : keywordFrequencies.keySet()) {
+            int frequency = keywordFrequencies.get(keyword);
+            score += this.keywordWeights.get(keyword) * frequency * (TERM_SATURATION + 1)
+                    / (frequency + TERM_SATURATION * lengthFactor);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,320 @@
+package shadowbuddy.taskmodels;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import shadowbuddy.services.Messages;
+
+/**
+ * Stores the tasks of a TaskList as parallel primitive columns instead of one object per task.
+ * Each task takes one byte combining its type and completion status, its sequence id, its task id, two date
+ * slots and the start and length of its UTF-8 description in a shared byte arena, so a task costs a few dozen
+ * bytes plus its description rather than a Task object, a String and its byte array.
+ * Task objects are only created as views when a task is read. A view stays cached for as long as anything
+ * else refers to it, so reading the same task twice returns the same object while it is in use, and views
+ * nobody holds are left to the garbage collector. Completion status must be changed through setDone, which
+ * updates both the column and any cached view.
+ * The task id is kept in a column of its own, as a task inserted back into a TaskList may keep a task id that
+ * differs from its sequence id.
+ * Removing a task shifts the later entries of every column, so positional updates cost O(n), and the arena
+ * is compacted once more than half of it belongs to removed descriptions.
+ */
+public class ColumnarTaskSequence implements TaskSequence {
+    private static final int TYPE_MASK = 0x03;
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int DONE_FLAG = 0x80;
+
+    private final ReferenceQueue<Task> clearedViews;
+    private byte[] typesAndStatuses;
+    private long[] sequenceIds;
+    private long[] taskIds;
+    private long[] dates;
+    private int[] descriptionStarts;
+    private int[] descriptionLengths;
+    private TaskView[] cachedViews;
+    private byte[] descriptionArena;
+    private int arenaSize;
+    private int liveArenaSize;
+    private int size;
+
+    /**
+     * Initializes an empty ColumnarTaskSequence instance with a pre-allocated capacity of 100 elements.
+     */
+    public ColumnarTaskSequence() {
+        this.clearedViews = new ReferenceQueue<>();
+        this.typesAndStatuses = new byte[100];
+        this.sequenceIds = new long[100];
+        this.taskIds = new long[100];
+        this.dates = new long[200];
+        this.descriptionStarts = new int[100];
+        this.descriptionLengths = new int[100];
+        this.cachedViews = new TaskView[100];
+        this.descriptionArena = new byte[4096];
+        this.arenaSize = 0;
+        this.liveArenaSize = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public void append(long sequenceId, Task task) {
+        insertAt(this.size, sequenceId, task);
+    }
+
+    @Override
+    public void insertAt(int index, long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        assert index >= 0 && index <= this.size : "index should be within or at the end of the sequence";
+        assert index == 0 || sequenceId > this.sequenceIds[index - 1] : "ids should stay in ascending order";
+        assert index == this.size || sequenceId < this.sequenceIds[index] : "ids should stay in ascending order";
+        int statusFlag = task.getStatusIcon().equalsIgnoreCase("X") ? DONE_FLAG : 0;
+        int type;
+        if (task instanceof Todo) {
+            type = TYPE_TODO;
+        } else if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            type = TYPE_EVENT;
+        } else {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, task));
+        }
+
+        purgeClearedViews();
+        ensureCapacity(this.size + 1);
+        shift(index, index + 1, this.size - index);
+        this.size++;
+        this.typesAndStatuses[index] = (byte) (type | statusFlag);
+        if (task instanceof Deadline deadline) {
+            this.dates[2 * index] = deadline.getDueEpochSecond();
+        } else if (task instanceof Event event) {
+            this.dates[2 * index] = event.getStartEpochSecond();
+            this.dates[2 * index + 1] = event.getEndEpochSecond();
+        }
+        this.sequenceIds[index] = sequenceId;
+        this.taskIds[index] = task.getId();
+        storeDescription(index, task.getDescription());
+        this.cachedViews[index] = new TaskView(sequenceId, task, this.clearedViews);
+    }
+
+    @Override
+    public Task removeAt(int index) {
+        Task removedTask = get(index);
+        this.liveArenaSize -= this.descriptionLengths[index];
+        shift(index + 1, index, this.size - index - 1);
+        this.size--;
+        this.cachedViews[this.size] = null;
+        if (this.liveArenaSize < this.arenaSize / 2) {
+            compactArena();
+        }
+        return removedTask;
+    }
+
+    /**
+     * Removes the tasks at the given positions in one sweep, moving the entries between two removed positions
+     * down in a single shift of every column.
+     */
+    @Override
+    public void removeAll(int[] indices) {
+        for (int k = 0; k < indices.length; k++) {
+            assert k == 0 || indices[k] > indices[k - 1] : "indices should be ascending without duplicates";
+            this.liveArenaSize -= this.descriptionLengths[indices[k]];
+            int blockEnd = k + 1 < indices.length ? indices[k + 1] : this.size;
+            shift(indices[k] + 1, indices[k] - k, blockEnd - indices[k] - 1);
+        }
+        int oldSize = this.size;
+        this.size -= indices.length;
+        Arrays.fill(this.cachedViews, this.size, oldSize, null);
+        if (this.liveArenaSize < this.arenaSize / 2) {
+            compactArena();
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+        purgeClearedViews();
+        TaskView cachedView = this.cachedViews[index];
+        Task task = cachedView == null ? null : cachedView.get();
+        if (task == null) {
+            task = createView(index);
+            this.cachedViews[index] = new TaskView(this.sequenceIds[index], task, this.clearedViews);
+        }
+        return task;
+    }
+
+    @Override
+    public long getSequenceId(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+        return this.sequenceIds[index];
+    }
+
+    /**
+     * Sets the completion status of the task at the given position in its column and in its cached view.
+     */
+    @Override
+    public void setDone(int index, boolean isDone) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+        int type = this.typesAndStatuses[index] & TYPE_MASK;
+        this.typesAndStatuses[index] = (byte) (isDone ? type | DONE_FLAG : type);
+        TaskView cachedView = this.cachedViews[index];
+        Task task = cachedView == null ? null : cachedView.get();
+        if (task != null && isDone) {
+            task.markAsDone();
+        } else if (task != null) {
+            task.markAsNotDone();
+        }
+    }
+
+    @Override
+    public int seek(long target, int start) {
+        int position = Arrays.binarySearch(this.sequenceIds, start, this.size, target);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= this.typesAndStatuses.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, this.typesAndStatuses.length + (this.typesAndStatuses.length >> 1));
+        this.typesAndStatuses = Arrays.copyOf(this.typesAndStatuses, newCapacity);
+        this.sequenceIds = Arrays.copyOf(this.sequenceIds, newCapacity);
+        this.taskIds = Arrays.copyOf(this.taskIds, newCapacity);
+        this.dates = Arrays.copyOf(this.dates, 2 * newCapacity);
+        this.descriptionStarts = Arrays.copyOf(this.descriptionStarts, newCapacity);
+        this.descriptionLengths = Arrays.copyOf(this.descriptionLengths, newCapacity);
+        this.cachedViews = Arrays.copyOf(this.cachedViews, newCapacity);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < size;
+            }
+
+            @Override
+            public Task next() {
+                if (this.position >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(this.position++);
+            }
+        };
+    }
+
+    /**
+     * Creates a Task view of the task at the given position from its columns.
+     */
+    private Task createView(int index) {
+        String description = new String(this.descriptionArena, this.descriptionStarts[index],
+                this.descriptionLengths[index], StandardCharsets.UTF_8);
+        int typeAndStatus = this.typesAndStatuses[index];
+        Task task;
+        switch (typeAndStatus & TYPE_MASK) {
+        case TYPE_DEADLINE:
+            task = new Deadline(description, this.dates[2 * index]);
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, this.dates[2 * index], this.dates[2 * index + 1]);
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+
+        task.setId(this.taskIds[index]);
+        if ((typeAndStatus & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Moves the entries of every column in the given range to the given position.
+     */
+    private void shift(int from, int to, int count) {
+        System.arraycopy(this.typesAndStatuses, from, this.typesAndStatuses, to, count);
+        System.arraycopy(this.sequenceIds, from, this.sequenceIds, to, count);
+        System.arraycopy(this.taskIds, from, this.taskIds, to, count);
+        System.arraycopy(this.dates, 2 * from, this.dates, 2 * to, 2 * count);
+        System.arraycopy(this.descriptionStarts, from, this.descriptionStarts, to, count);
+        System.arraycopy(this.descriptionLengths, from, this.descriptionLengths, to, count);
+        System.arraycopy(this.cachedViews, from, this.cachedViews, to, count);
+    }
+
+    private void storeDescription(int index, String description) {
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        if (this.arenaSize + descriptionBytes.length > this.descriptionArena.length) {
+            int grownLength = this.descriptionArena.length + (this.descriptionArena.length >> 1);
+            this.descriptionArena = Arrays.copyOf(this.descriptionArena,
+                    Math.max(this.arenaSize + descriptionBytes.length, grownLength));
+        }
+        System.arraycopy(descriptionBytes, 0, this.descriptionArena, this.arenaSize, descriptionBytes.length);
+        this.descriptionStarts[index] = this.arenaSize;
+        this.descriptionLengths[index] = descriptionBytes.length;
+        this.arenaSize += descriptionBytes.length;
+        this.liveArenaSize += descriptionBytes.length;
+    }
+
+    /**
+     * Copies the descriptions of the remaining tasks into a new arena sized for them, in TaskList order.
+     */
+    private void compactArena() {
+        byte[] compactedArena = new byte[Math.max(4096, 2 * this.liveArenaSize)];
+        int compactedSize = 0;
+        for (int i = 0; i < this.size; i++) {
+            System.arraycopy(this.descriptionArena, this.descriptionStarts[i], compactedArena, compactedSize,
+                    this.descriptionLengths[i]);
+            this.descriptionStarts[i] = compactedSize;
+            compactedSize += this.descriptionLengths[i];
+        }
+        this.descriptionArena = compactedArena;
+        this.arenaSize = compactedSize;
+    }
+
+    /**
+     * Forgets the cached views that the garbage collector has reclaimed, so they stop taking up memory.
+     */
+    private void purgeClearedViews() {
+        TaskView clearedView = (TaskView) this.clearedViews.poll();
+        while (clearedView != null) {
+            int position = seek(clearedView.sequenceId, 0);
+            if (position < this.size && this.cachedViews[position] == clearedView) {
+                this.cachedViews[position] = null;
+            }
+            clearedView = (TaskView) this.clearedViews.poll();
+        }
+    }
+
+    /**
+     * Refers weakly to a cached view, remembering the sequence id it was cached under.
+     */
+    private static class TaskView extends WeakReference<Task> {
+        private final long sequenceId;
+
+        private TaskView(long sequenceId, Task task, ReferenceQueue<Task> clearedViews) {
+            super(task, clearedViews);
+            this.sequenceId = sequenceId;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package shadowbuddy.taskmodels;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A TaskList that can be shared between threads, such as the GUI thread, a background persister and
+ * request handlers. Mutations take the write lock of a StampedLock, so they are serialized, while queries
+ * take its read lock and run alongside each other. The task count and modification count are single fields,
+ * so they are read optimistically without taking any lock, and only retried under the read lock when a
+ * mutation overlapped the read.
+ * The tasks in order are published as an unmodifiable snapshot tagged with the modification count it was
+ * taken at. The snapshot is taken on the first read after a mutation, and until the next mutation copyTasks
+ * and getTask are served from it without taking any lock.
+ * The tasks in a snapshot are the live tasks rather than copies, so the membership and order it shows are
+ * those of a single modification count, while the completion state of each task, which is volatile, may be
+ * newer than that. A PERSISTENT backing replaces a task on marking instead of changing it, so its snapshots
+ * also keep the completion state of that modification count.
+ * Every index is built up front and kept built after each mutation, so queries never write to the TaskList.
+ * A columnar backing creates task views on reads, so it cannot be shared and is not accepted.
+ */
+public class ConcurrentTaskList extends TaskList {
+    private final StampedLock lock;
+    private volatile TaskSnapshot snapshot;
+
+    /**
+     * Initializes an empty ConcurrentTaskList instance backed by an array.
+     */
+    public ConcurrentTaskList() {
+        this(Backing.ARRAY);
+    }
+
+    /**
+     * Initializes an empty ConcurrentTaskList instance stored in the given backing.
+     *
+     * @param backing The kind of TaskSequence holding the tasks, other than COLUMNAR.
+     * @throws IllegalArgumentException If the backing is COLUMNAR.
+     */
+    public ConcurrentTaskList(Backing backing) {
+        super(backing);
+        if (backing == Backing.COLUMNAR) {
+            throw new IllegalArgumentException("A columnar TaskList cannot be shared between threads");
+        }
+        this.lock = new StampedLock();
+        buildIndexes();
+    }
+
+    @Override
+    public void addTask(Task task) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.addTask(task);
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends the given tasks to the end of the TaskList, in order, as a single mutation.
+     * Readers see either none or all of the tasks.
+     *
+     * @param tasks The Tasks to add to the TaskList.
+     */
+    @Override
+    public void addTasks(List<Task> tasks) {
+        assert tasks != null : "tasks should not be null";
+        long stamp = this.lock.writeLock();
+        try {
+            this.storage.ensureCapacity(this.storage.size() + tasks.size());
+            for (Task task : tasks) {
+                super.addTask(task);
+            }
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void restoreTask(Task task) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.restoreTask(task);
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends the given tasks, loaded from storage, to the end of the TaskList, in order, as a single mutation.
+     * Readers see either none or all of the tasks.
+     *
+     * @param tasks The Tasks to restore, which are not held by any other TaskList.
+     */
+    @Override
+    public void restoreTasks(List<Task> tasks) {
+        assert tasks != null : "tasks should not be null";
+        long stamp = this.lock.writeLock();
+        try {
+            this.storage.ensureCapacity(this.storage.size() + tasks.size());
+            for (Task task : tasks) {
+                super.restoreTask(task);
+            }
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void insertTask(int index, Task task) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.insertTask(index, task);
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        long stamp = this.lock.writeLock();
+        try {
+            return super.deleteTask(index);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<Task> deleteTasks(int[] indices) {
+        long stamp = this.lock.writeLock();
+        try {
+            return super.deleteTasks(indices);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void markTask(int index) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.markTask(index);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.unmarkTask(index);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Version getVersion() {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getVersion();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Makes this TaskList hold the tasks of the given Version again, rebuilding every index for them before
+     * the write lock is released, so queries still never write to the TaskList.
+     *
+     * @param version A Version taken from this TaskList.
+     */
+    @Override
+    public void restoreVersion(Version version) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.restoreVersion(version);
+            buildIndexes();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns a TaskList containing only tasks whose descriptions match the given keyword query, holding the
+     * read lock of this TaskList. The given TaskList should be this one, or one not shared between threads.
+     *
+     * @param taskList The TaskList to search through.
+     * @param query The parsed keywords and operators to match against task descriptions.
+     * @return A new TaskList containing all the matching tasks.
+     */
+    @Override
+    public TaskList getMatchingTasks(TaskList taskList, KeywordQuery query) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getMatchingTasks(taskList, query);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns one page of the tasks matching the given keyword query, ranked by their BM25 score, holding the
+     * read lock of this TaskList. The given TaskList should be this one, or one not shared between threads.
+     *
+     * @param taskList The TaskList to search through.
+     * @param query The parsed keywords and operators to match against task descriptions.
+     * @param pageSize The largest number of tasks on a page.
+     * @return The requested SearchPage, which is empty when the page lies past the last match.
+     */
+    @Override
+    public SearchPage getRankedTasks(TaskList taskList, KeywordQuery query, int pageSize) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getRankedTasks(taskList, query, pageSize);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public TaskList getTasksDueBefore(long epochSecond) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getTasksDueBefore(epochSecond);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public TaskList getTasksHappeningBetween(long startEpochSecond, long endEpochSecond) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getTasksHappeningBetween(startEpochSecond, endEpochSecond);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public List<Event> getConflictingEvents(Event event) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getConflictingEvents(event);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Task getTaskById(long taskId) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getTaskById(taskId);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int getIndexOfTaskId(long taskId) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.getIndexOfTaskId(taskId);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean containsDuplicate(String taskDescription) {
+        long stamp = this.lock.readLock();
+        try {
+            return super.containsDuplicate(taskDescription);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks in this TaskList, in order, as an unmodifiable List shared by every caller until the
+     * next mutation. Only the first call after a mutation takes the read lock, to take the snapshot.
+     *
+     * @return An unmodifiable List holding the current tasks.
+     */
+    @Override
+    public List<Task> copyTasks() {
+        TaskSnapshot currentSnapshot = getCurrentSnapshot();
+        if (currentSnapshot != null) {
+            return currentSnapshot.tasks;
+        }
+
+        long stamp = this.lock.readLock();
+        try {
+            currentSnapshot = new TaskSnapshot(super.getModificationCount(),
+                    Collections.unmodifiableList(super.copyTasks()));
+            this.snapshot = currentSnapshot;
+            return currentSnapshot.tasks;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the task at the given 1-based index, read from the current snapshot without a lock when there is
+     * one, or under the read lock otherwise.
+     */
+    @Override
+    public Task getTask(int index) {
+        TaskSnapshot currentSnapshot = getCurrentSnapshot();
+        if (currentSnapshot != null) {
+            return currentSnapshot.tasks.get(index - 1);
+        }
+
+        long stamp = this.lock.readLock();
+        try {
+            return super.getTask(index);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of tasks, read without a lock unless a mutation overlapped the read.
+     */
+    @Override
+    public int getLength() {
+        long stamp = this.lock.tryOptimisticRead();
+        int length = super.getLength();
+        if (this.lock.validate(stamp)) {
+            return length;
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            return super.getLength();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of mutations applied so far, read without a lock unless a mutation overlapped the read.
+     */
+    @Override
+    public long getModificationCount() {
+        long stamp = this.lock.tryOptimisticRead();
+        long modificationCount = super.getModificationCount();
+        if (this.lock.validate(stamp)) {
+            return modificationCount;
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            return super.getModificationCount();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the id the next new task will take, read without a lock unless a mutation overlapped the read.
+     */
+    @Override
+    public long getNextTaskId() {
+        long stamp = this.lock.tryOptimisticRead();
+        long nextTaskId = super.getNextTaskId();
+        if (this.lock.validate(stamp)) {
+            return nextTaskId;
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            return super.getNextTaskId();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void reserveTaskIds(long nextTaskId) {
+        long stamp = this.lock.writeLock();
+        try {
+            super.reserveTaskIds(nextTaskId);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the published snapshot if no mutation has been applied since it was taken, or null otherwise.
+     * The modification count is read optimistically, so this method never blocks.
+     */
+    private TaskSnapshot getCurrentSnapshot() {
+        TaskSnapshot currentSnapshot = this.snapshot;
+        long stamp = this.lock.tryOptimisticRead();
+        long modificationCount = super.getModificationCount();
+        if (currentSnapshot == null || !this.lock.validate(stamp)
+                || currentSnapshot.modificationCount != modificationCount) {
+            return null;
+        }
+        return currentSnapshot;
+    }
+
+    @Override
+    public String toString() {
+        long stamp = this.lock.readLock();
+        try {
+            return super.toString();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Holds the tasks of the TaskList in order as they were at the given modification count.
+     */
+    private static final class TaskSnapshot {
+        private final long modificationCount;
+        private final List<Task> tasks;
+
+        private TaskSnapshot(long modificationCount, List<Task> tasks) {
+            this.modificationCount = modificationCount;
+            this.tasks = tasks;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Orders the deadlines and events of a TaskList by their dates, so date queries only visit matching tasks.
+ * Deadlines are kept in a sorted map keyed by their due date, with the sequence ids of the deadlines sharing
+ * a date kept in a PostingList, so a range query is one O(log n) descent followed by a walk over the deadlines
+ * in the range, and deadlines sharing a date come out in TaskList order.
+ * Events are kept in an IntervalTree, which finds the events overlapping a period without visiting the events
+ * that start after it or end before it.
+ * Only sequence ids and dates are indexed, so the index never keeps task objects alive; queries resolve the
+ * matching sequence ids to tasks through the TaskSequence of the TaskList.
+ */
+public class DateIndex {
+    private final TreeMap<Long, PostingList> deadlines;
+    private final IntervalTree events;
+
+    /**
+     * Initializes an empty DateIndex instance.
+     */
+    public DateIndex() {
+        this.deadlines = new TreeMap<>();
+        this.events = new IntervalTree();
+    }
+
+    /**
+     * Adds the given task to the index if it is a Deadline or an Event.
+     *
+     * @param sequenceId The sequence id of the task being indexed.
+     * @param task The task being indexed.
+     */
+    public void addTask(long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        if (task instanceof Deadline deadline) {
+            PostingList dueTasks = this.deadlines.computeIfAbsent(deadline.getDueEpochSecond(),
+                    date -> new PostingList());
+            int position = dueTasks.indexOf(sequenceId);
+            if (position < 0) {
+                dueTasks.insertAt(-position - 1, sequenceId);
+            }
+        } else if (task instanceof Event event) {
+            this.events.add(sequenceId, event);
+        }
+    }
+
+    /**
+     * Removes the given task from the index if it is a Deadline or an Event.
+     *
+     * @param sequenceId The sequence id of the task being removed.
+     * @param task The task being removed, whose dates locate it in the index.
+     */
+    public void removeTask(long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        if (task instanceof Deadline deadline) {
+            PostingList dueTasks = this.deadlines.get(deadline.getDueEpochSecond());
+            if (dueTasks != null && dueTasks.remove(sequenceId) && dueTasks.isEmpty()) {
+                this.deadlines.remove(deadline.getDueEpochSecond());
+            }
+        } else if (task instanceof Event event) {
+            this.events.remove(sequenceId, event);
+        }
+    }
+
+    /**
+     * Returns the deadlines due strictly before the given date, earliest first.
+     *
+     * @param epochSecond The date before which the deadlines are due, as an epoch second.
+     * @param tasks The TaskSequence holding the indexed tasks.
+     * @return A List of the matching Deadline tasks.
+     */
+    public List<Task> getDeadlinesBefore(long epochSecond, TaskSequence tasks) {
+        List<Task> dueTasks = new ArrayList<>();
+        for (PostingList sequenceIds : this.deadlines.headMap(epochSecond, false).values()) {
+            addResolvedTasks(sequenceIds, tasks, dueTasks);
+        }
+        return dueTasks;
+    }
+
+    /**
+     * Returns the deadlines due within the given period and the events overlapping it, ordered by their
+     * due or start dates. Deadlines come before events sharing the same date.
+     *
+     * @param startEpochSecond The inclusive start of the period, as an epoch second.
+     * @param endEpochSecond The exclusive end of the period, as an epoch second.
+     * @param tasks The TaskSequence holding the indexed tasks.
+     * @return A List of the matching Deadline and Event tasks.
+     */
+    public List<Task> getTasksBetween(long startEpochSecond, long endEpochSecond, TaskSequence tasks) {
+        assert startEpochSecond <= endEpochSecond : "period should not end before it starts";
+        List<Event> overlappingEvents = new ArrayList<>();
+        this.events.findOverlapping(startEpochSecond, endEpochSecond - 1,
+                sequenceId -> overlappingEvents.add((Event) resolve(sequenceId, tasks)));
+
+        List<Task> matchingTasks = new ArrayList<>();
+        Iterator<Map.Entry<Long, PostingList>> dueDates = this.deadlines
+                .subMap(startEpochSecond, true, endEpochSecond, false).entrySet().iterator();
+        Map.Entry<Long, PostingList> nextDueDate = dueDates.hasNext() ? dueDates.next() : null;
+        for (Event event : overlappingEvents) {
+            while (nextDueDate != null && nextDueDate.getKey() <= event.getStartEpochSecond()) {
+                addResolvedTasks(nextDueDate.getValue(), tasks, matchingTasks);
+                nextDueDate = dueDates.hasNext() ? dueDates.next() : null;
+            }
+            matchingTasks.add(event);
+        }
+
+        while (nextDueDate != null) {
+            addResolvedTasks(nextDueDate.getValue(), tasks, matchingTasks);
+            nextDueDate = dueDates.hasNext() ? dueDates.next() : null;
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Returns the events sharing some time with the given period, in start date order.
+     * Events that only touch the period at its start or end, such as back-to-back meetings, are excluded.
+     *
+     * @param startEpochSecond The start of the period, as an epoch second.
+     * @param endEpochSecond The end of the period, as an epoch second.
+     * @param excludedSequenceId The sequence id of an event to leave out, or TaskIdMap.NO_SEQUENCE_ID.
+     * @param tasks The TaskSequence holding the indexed tasks.
+     * @return A List of the conflicting events.
+     */
+    public List<Event> getConflictingEvents(long startEpochSecond, long endEpochSecond, long excludedSequenceId,
+            TaskSequence tasks) {
+        List<Event> conflictingEvents = new ArrayList<>();
+        // Ending after the start and starting before the end is overlapping the closed period one second inside
+        this.events.findOverlapping(startEpochSecond + 1, endEpochSecond - 1, sequenceId -> {
+            if (sequenceId != excludedSequenceId) {
+                conflictingEvents.add((Event) resolve(sequenceId, tasks));
+            }
+        });
+        return conflictingEvents;
+    }
+
+    /**
+     * Appends the tasks with the given ascending sequence ids to the given list, in order.
+     */
+    private static void addResolvedTasks(PostingList sequenceIds, TaskSequence tasks, List<Task> resolvedTasks) {
+        int position = 0;
+        for (int i = 0; i < sequenceIds.size(); i++) {
+            position = tasks.seek(sequenceIds.get(i), position);
+            resolvedTasks.add(tasks.get(position));
+        }
+    }
+
+    /**
+     * Returns the task with the given sequence id, which must be in the given TaskSequence.
+     */
+    private static Task resolve(long sequenceId, TaskSequence tasks) {
+        int position = tasks.seek(sequenceId, 0);
+        assert position < tasks.size() && tasks.getSequenceId(position) == sequenceId
+                : "indexed sequence ids should be in the TaskSequence";
+        return tasks.get(position);
+    }
+}
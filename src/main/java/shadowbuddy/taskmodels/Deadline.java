@@ -3,25 +3,41 @@ package shadowbuddy.taskmodels;
 /**
  * Models a Deadline task with a description, completion state, and due date.
  * The Deadline class is a subclass of Task and inherits its functionality.
+ * The due date is kept as an epoch second, and its display form is only computed when needed.
  */
 public class Deadline extends Task {
-    protected String dueDate;
+    protected final long dueEpochSecond;
 
     /**
      * Initializes a Deadline instance with the given description and due date.
      * The new Deadline instance is initially not done.
      *
      * @param description The description of the Deadline task.
-     * @param dueDate The due date associated with the Deadline task.
+     * @param dueEpochSecond The due date associated with the Deadline task, as an epoch second.
      */
-    public Deadline(String description, String dueDate) {
+    public Deadline(String description, long dueEpochSecond) {
         super(description);
-        assert dueDate != null : "dueDate should not be null";
-        this.dueDate = dueDate;
+        this.dueEpochSecond = dueEpochSecond;
+    }
+
+    /**
+     * Initializes a Deadline instance with the given description and due date in the display form.
+     * The new Deadline instance is initially not done.
+     *
+     * @param description The description of the Deadline task.
+     * @param dueDate The due date associated with the Deadline task, in the "MMM d yyyy HH:mm" form.
+     * @throws IllegalArgumentException If the due date is not in the display form.
+     */
+    public Deadline(String description, String dueDate) {
+        this(description, TaskDate.parseDisplayDate(dueDate));
+    }
+
+    public long getDueEpochSecond() {
+        return this.dueEpochSecond;
     }
 
     public String getDueDate() {
-        return this.dueDate;
+        return TaskDate.formatDisplayDate(this.dueEpochSecond);
     }
 
     /**
@@ -31,6 +47,6 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + this.dueDate + ")";
+        return "[D]" + super.toString() + " (by: " + getDueDate() + ")";
     }
 }
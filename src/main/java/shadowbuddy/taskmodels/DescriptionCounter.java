@@ -0,0 +1,183 @@
+package shadowbuddy.taskmodels;
+
+/**
+ * Counts the tasks of a TaskSequence sharing each description, to detect duplicate descriptions.
+ * Descriptions are kept in an open-addressing hash table of parallel primitive arrays holding a 64-bit hash of
+ * the description, the number of tasks with it, and the sequence id of one of those tasks as its
+ * representative. No String or entry object is kept per description: when two hashes match, the description
+ * is compared with that of the representative task, read back from the TaskSequence, so distinct
+ * descriptions sharing a hash are still told apart. The table is kept at most half full, and removals shift
+ * the following entries back instead of leaving tombstones.
+ */
+public class DescriptionCounter {
+    private static final long NO_REPRESENTATIVE = Long.MIN_VALUE;
+
+    private final TaskSequence tasks;
+    private long[] hashes;
+    private int[] counts;
+    private long[] representatives;
+    private int size;
+
+    /**
+     * Initializes an empty DescriptionCounter instance for the given TaskSequence.
+     *
+     * @param tasks The TaskSequence holding the counted tasks, used to compare descriptions with equal hashes.
+     */
+    public DescriptionCounter(TaskSequence tasks) {
+        assert tasks != null : "tasks should not be null";
+        this.tasks = tasks;
+        this.hashes = new long[16];
+        this.counts = new int[16];
+        this.representatives = new long[16];
+        this.size = 0;
+    }
+
+    /**
+     * Returns true when at least one counted task has the given description.
+     *
+     * @param description The description to look up.
+     * @return True if the description is counted; False otherwise.
+     */
+    public boolean contains(String description) {
+        assert description != null : "description should not be null";
+        return this.counts[findSlot(hash(description), description, NO_REPRESENTATIVE)] > 0;
+    }
+
+    /**
+     * Counts the task with the given sequence id and description, which must already be in the TaskSequence.
+     *
+     * @param sequenceId The sequence id of the added task.
+     * @param description The description of the added task.
+     */
+    public void add(long sequenceId, String description) {
+        assert description != null : "description should not be null";
+        if (2 * (this.size + 1) > this.counts.length) {
+            resize(this.counts.length * 2);
+        }
+
+        long descriptionHash = hash(description);
+        int slot = findSlot(descriptionHash, description, NO_REPRESENTATIVE);
+        if (this.counts[slot] == 0) {
+            this.hashes[slot] = descriptionHash;
+            this.representatives[slot] = sequenceId;
+            this.size++;
+        }
+        this.counts[slot]++;
+    }
+
+    /**
+     * Stops counting the task with the given sequence id and description, which must already be removed from
+     * the TaskSequence. When that task represented other tasks with the same description, one of them is found
+     * by scanning the TaskSequence to represent them instead.
+     *
+     * @param sequenceId The sequence id of the removed task.
+     * @param description The description of the removed task.
+     */
+    public void remove(long sequenceId, String description) {
+        assert description != null : "description should not be null";
+        int slot = findSlot(hash(description), description, sequenceId);
+        if (this.counts[slot] == 0) {
+            return;
+        }
+
+        this.counts[slot]--;
+        if (this.counts[slot] == 0) {
+            deleteSlot(slot);
+        } else if (this.representatives[slot] == sequenceId) {
+            this.representatives[slot] = findRepresentative(description);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the slot counting the given description, or the empty slot where it would be counted.
+     * A slot whose representative is the given removed task matches without reading its description back.
+     */
+    private int findSlot(long descriptionHash, String description, long removedSequenceId) {
+        int mask = this.counts.length - 1;
+        int slot = (int) descriptionHash & mask;
+        while (this.counts[slot] > 0) {
+            if (this.hashes[slot] == descriptionHash
+                    && (this.representatives[slot] == removedSequenceId
+                    || getDescription(this.representatives[slot]).equals(description))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private String getDescription(long sequenceId) {
+        return this.tasks.get(this.tasks.seek(sequenceId, 0)).getDescription();
+    }
+
+    private long findRepresentative(String description) {
+        int position = 0;
+        for (Task task : this.tasks) {
+            if (task.getDescription().equals(description)) {
+                return this.tasks.getSequenceId(position);
+            }
+            position++;
+        }
+        assert false : "a counted description should belong to a task in the sequence";
+        return NO_REPRESENTATIVE;
+    }
+
+    /**
+     * Empties the given slot and shifts back the entries probed after it, so no lookup skips over the gap.
+     */
+    private void deleteSlot(int slot) {
+        int mask = this.counts.length - 1;
+        int emptySlot = slot;
+        for (int next = (slot + 1) & mask; this.counts[next] > 0; next = (next + 1) & mask) {
+            int home = (int) this.hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - emptySlot) & mask)) {
+                this.hashes[emptySlot] = this.hashes[next];
+                this.counts[emptySlot] = this.counts[next];
+                this.representatives[emptySlot] = this.representatives[next];
+                emptySlot = next;
+            }
+        }
+        this.counts[emptySlot] = 0;
+        this.size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHashes = this.hashes;
+        int[] oldCounts = this.counts;
+        long[] oldRepresentatives = this.representatives;
+        this.hashes = new long[capacity];
+        this.counts = new int[capacity];
+        this.representatives = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] == 0) {
+                continue;
+            }
+            int slot = (int) oldHashes[i] & mask;
+            while (this.counts[slot] > 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.hashes[slot] = oldHashes[i];
+            this.counts[slot] = oldCounts[i];
+            this.representatives[slot] = oldRepresentatives[i];
+        }
+    }
+
+    /**
+     * Returns a 64-bit hash of the given description, mixing in each character with FNV-1a and then
+     * spreading the bits with the MurmurHash3 finalizer, so the low bits used for the slot are well mixed.
+     */
+    private static long hash(String description) {
+        long bits = 0xCBF29CE484222325L;
+        for (int i = 0; i < description.length(); i++) {
+            bits = (bits ^ description.charAt(i)) * 0x100000001B3L;
+        }
+        bits = (bits ^ (bits >>> 33)) * 0xFF51AFD7ED558CCDL;
+        bits = (bits ^ (bits >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return bits ^ (bits >>> 33);
+    }
+}
@@ -3,33 +3,53 @@ package shadowbuddy.taskmodels;
 /**
  * Models an Event task with a description, completion state, start date, and end date.
  * The Event class is a subclass of Task and inherits its functionality.
+ * Both dates are kept as epoch seconds, and their display forms are only computed when needed.
  */
 public class Event extends Task {
-    protected String startDate;
-    protected String endDate;
+    protected final long startEpochSecond;
+    protected final long endEpochSecond;
 
     /**
      * Initializes an Event instance with the given description, start date, and end date.
      * The new Event instance is initially not done.
      *
      * @param description The description of the Event task.
-     * @param startDate The start date associated with the Event task.
-     * @param endDate The end date associated with the Event task.
+     * @param startEpochSecond The start date associated with the Event task, as an epoch second.
+     * @param endEpochSecond The end date associated with the Event task, as an epoch second.
      */
-    public Event(String description, String startDate, String endDate) {
+    public Event(String description, long startEpochSecond, long endEpochSecond) {
         super(description);
-        assert startDate != null : "startDate should not be null";
-        assert endDate != null : "endDate should not be null";
-        this.startDate = startDate;
-        this.endDate = endDate;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+    }
+
+    /**
+     * Initializes an Event instance with the given description, start date, and end date in the display form.
+     * The new Event instance is initially not done.
+     *
+     * @param description The description of the Event task.
+     * @param startDate The start date associated with the Event task, in the "MMM d yyyy HH:mm" form.
+     * @param endDate The end date associated with the Event task, in the "MMM d yyyy HH:mm" form.
+     * @throws IllegalArgumentException If either date is not in the display form.
+     */
+    public Event(String description, String startDate, String endDate) {
+        this(description, TaskDate.parseDisplayDate(startDate), TaskDate.parseDisplayDate(endDate));
+    }
+
+    public long getStartEpochSecond() {
+        return this.startEpochSecond;
+    }
+
+    public long getEndEpochSecond() {
+        return this.endEpochSecond;
     }
 
     public String getStartDate() {
-        return this.startDate;
+        return TaskDate.formatDisplayDate(this.startEpochSecond);
     }
 
     public String getEndDate() {
-        return this.endDate;
+        return TaskDate.formatDisplayDate(this.endEpochSecond);
     }
 
     /**
@@ -39,6 +59,6 @@ public class Event extends Task {
      */
     @Override
     public String toString() {
-        return "[E]" + super.toString() + " (from: " + this.startDate + " to: " + this.endDate + ")";
+        return "[E]" + super.toString() + " (from: " + getStartDate() + " to: " + getEndDate() + ")";
     }
 }
@@ -0,0 +1,220 @@
+package shadowbuddy.taskmodels;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Stores the periods of Event tasks in an augmented interval tree ordered by their start dates.
+ * The tree is an AVL tree keyed by start date and then by sequence id, so it stays balanced under any
+ * insertion order. Every node also records the latest end date in its subtree, so an overlap query skips each
+ * subtree that ends before the queried period and each right subtree that starts after it. A query that
+ * finds nothing costs O(log n), and one reporting k overlapping events at most O(k log n), as each reported
+ * event adds at most one root-to-leaf path to the walk. The events are reported in start date order.
+ * Each node holds the sequence id and dates of its event rather than the event itself, so the tree does not
+ * keep task objects alive; the TaskList resolves the reported sequence ids to its tasks.
+ */
+public class IntervalTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Initializes an empty IntervalTree instance.
+     */
+    public IntervalTree() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given event to the tree.
+     *
+     * @param sequenceId The sequence id of the event, which orders events sharing a start date.
+     * @param event The event to add.
+     */
+    public void add(long sequenceId, Event event) {
+        assert event != null : "event should not be null";
+        this.root = insert(this.root, new Node(sequenceId, event));
+        this.size++;
+    }
+
+    /**
+     * Removes the event with the given sequence id and start date from the tree if it is present.
+     *
+     * @param sequenceId The sequence id of the event to remove.
+     * @param event The event to remove.
+     */
+    public void remove(long sequenceId, Event event) {
+        assert event != null : "event should not be null";
+        this.root = delete(this.root, event.getStartEpochSecond(), sequenceId);
+    }
+
+    /**
+     * Passes the sequence ids of the events whose start and end dates overlap the given closed period to the
+     * given consumer, in start date order.
+     * An event overlaps the period when it starts no later than the period ends and ends no earlier than
+     * the period starts.
+     *
+     * @param fromEpochSecond The start of the period, as an epoch second.
+     * @param toEpochSecond The end of the period, as an epoch second.
+     * @param consumer The consumer receiving the sequence ids of the overlapping events.
+     */
+    public void findOverlapping(long fromEpochSecond, long toEpochSecond, LongConsumer consumer) {
+        assert consumer != null : "consumer should not be null";
+        collectOverlapping(this.root, fromEpochSecond, toEpochSecond, consumer);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Passes the sequence ids of the events in the given subtree that overlap the given period to the given
+     * consumer, in order. Subtrees ending before the period are skipped, and so are right subtrees once a node
+     * starts after it.
+     */
+    private static void collectOverlapping(Node node, long from, long to, LongConsumer consumer) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+
+        collectOverlapping(node.left, from, to, consumer);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.sequenceId);
+        }
+        collectOverlapping(node.right, from, to, consumer);
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        if (compare(newNode.start, newNode.sequenceId, node.start, node.sequenceId) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, long start, long sequenceId) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(start, sequenceId, node.start, node.sequenceId);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, sequenceId);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, sequenceId);
+        } else {
+            this.size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeSmallest(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeSmallest(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeSmallest(node.left);
+        return rebalance(node);
+    }
+
+    /**
+     * Restores the AVL balance of the given node after one of its subtrees changed height by at most one,
+     * and returns the root of the rebalanced subtree with its height and latest end date updated.
+     */
+    private static Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        node.update();
+        newRoot.update();
+        return newRoot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        node.update();
+        newRoot.update();
+        return newRoot;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long start, long sequenceId, long otherStart, long otherSequenceId) {
+        int comparison = Long.compare(start, otherStart);
+        return comparison != 0 ? comparison : Long.compare(sequenceId, otherSequenceId);
+    }
+
+    /**
+     * Represents the period of an event in the tree, with the height and latest end date of the subtree
+     * rooted at it.
+     */
+    private static class Node {
+        private final long sequenceId;
+        private final long start;
+        private final long end;
+        private Node left;
+        private Node right;
+        private int height;
+        private long maxEnd;
+
+        private Node(long sequenceId, Event event) {
+            this.sequenceId = sequenceId;
+            this.start = event.getStartEpochSecond();
+            this.end = event.getEndEpochSecond();
+            this.height = 1;
+            this.maxEnd = this.end;
+        }
+
+        private void update() {
+            this.height = 1 + Math.max(height(this.left), height(this.right));
+            this.maxEnd = this.end;
+            if (this.left != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.left.maxEnd);
+            }
+            if (this.right != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.right.maxEnd);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Maps each word of the task descriptions to the sequence ids of the tasks containing it.
+ * The KeywordIndex class splits descriptions on single spaces, exactly like the original FIND scan,
+ * and case-folds every word, so a lookup returns the same tasks as a case-insensitive whole-word comparison.
+ * Posting lists hold ascending sequence ids, so their order is also TaskList order.
+ * For partial matching, the distinct words are also kept in a sorted vocabulary, which answers prefix
+ * lookups with a range scan, and in a trigram index, which narrows substring lookups to the words sharing
+ * a trigram with the keyword. A BkTree over the same words answers fuzzy lookups within an edit distance.
+ * All three are sized by the vocabulary, not by the number of tasks.
+ */
+public class KeywordIndex {
+    /** Separator between the words of a task description */
+    static final String WORD_SEPARATOR = " ";
+    private static final PostingList EMPTY_POSTINGS = new PostingList();
+    private static final int GRAM_LENGTH = 3;
+
+    private final HashMap<String, PostingList> postings;
+    private final TreeSet<String> vocabulary;
+    private final HashMap<String, HashSet<String>> trigramWords;
+    private final BkTree fuzzyVocabulary;
+    private int documentCount;
+    private long wordCount;
+
+    /**
+     * Initializes an empty KeywordIndex instance.
+     */
+    public KeywordIndex() {
+        this.postings = new HashMap<>();
+        this.vocabulary = new TreeSet<>();
+        this.trigramWords = new HashMap<>();
+        this.fuzzyVocabulary = new BkTree();
+        this.documentCount = 0;
+        this.wordCount = 0;
+    }
+
+    /**
+     * Adds the words of the given description to the postings of the given task.
+     * The sequence id is usually larger than every id already indexed and appended to the postings; the id of a
+     * task inserted back into the TaskList is inserted at its place instead.
+     *
+     * @param sequenceId The sequence id of the task being indexed.
+     * @param description The description of the task being indexed.
+     */
+    public void addTask(long sequenceId, String description) {
+        assert description != null : "description should not be null";
+        String[] words = description.split(WORD_SEPARATOR);
+        this.documentCount++;
+        this.wordCount += words.length;
+        for (String word : words) {
+            String key = foldCase(word);
+            PostingList wordPostings = this.postings.get(key);
+            if (wordPostings == null) {
+                wordPostings = new PostingList();
+                this.postings.put(key, wordPostings);
+                addToVocabulary(key);
+            }
+            if (wordPostings.isEmpty() || wordPostings.getLast() < sequenceId) {
+                wordPostings.append(sequenceId);
+            } else {
+                int index = wordPostings.indexOf(sequenceId);
+                if (index < 0) {
+                    wordPostings.insertAt(-index - 1, sequenceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the given task from the postings of every word in its description.
+     *
+     * @param sequenceId The sequence id of the task being removed.
+     * @param description The description of the task being removed.
+     */
+    public void removeTask(long sequenceId, String description) {
+        assert description != null : "description should not be null";
+        String[] words = description.split(WORD_SEPARATOR);
+        this.documentCount--;
+        this.wordCount -= words.length;
+        for (String word : words) {
+            String key = foldCase(word);
+            PostingList wordPostings = this.postings.get(key);
+            if (wordPostings != null && wordPostings.remove(sequenceId) && wordPostings.isEmpty()) {
+                this.postings.remove(key);
+                removeFromVocabulary(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the sequence ids of the tasks whose descriptions contain the given keyword as a whole word.
+     * The returned PostingList is owned by the index and must not be modified.
+     *
+     * @param keyword The keyword to look up, compared case-insensitively.
+     * @return The ascending sequence ids of the matching tasks, possibly empty.
+     */
+    public PostingList getPostings(String keyword) {
+        assert keyword != null : "keyword should not be null";
+        return this.postings.getOrDefault(foldCase(keyword), EMPTY_POSTINGS);
+    }
+
+    /**
+     * Returns the sequence ids of the tasks containing a word that matches the given keyword in the given mode.
+     * The returned PostingList may be owned by the index and must not be modified.
+     *
+     * @param keyword The keyword to look up, compared case-insensitively.
+     * @param matchMode Whether the keyword must match a whole word, the start of a word, or any part of a word.
+     * @return The ascending sequence ids of the matching tasks, possibly empty.
+     */
+    public PostingList getPostings(String keyword, KeywordQuery.MatchMode matchMode) {
+        assert keyword != null : "keyword should not be null";
+        String key = foldCase(keyword);
+        List<PostingList> matchingPostings = new ArrayList<>();
+        switch (matchMode) {
+        case WORD:
+            return getPostings(keyword);
+        case FUZZY:
+            return getFuzzyPostings(keyword, KeywordQuery.DEFAULT_FUZZY_DISTANCE);
+        case PREFIX:
+            for (String word : this.vocabulary.tailSet(key)) {
+                if (!word.startsWith(key)) {
+                    break;
+                }
+                matchingPostings.add(this.postings.get(word));
+            }
+            break;
+        case SUBSTRING:
+            for (String word : findSubstringCandidates(key)) {
+                if (word.contains(key)) {
+                    matchingPostings.add(this.postings.get(word));
+                }
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown match mode: " + matchMode);
+        }
+        return PostingList.unionAll(matchingPostings);
+    }
+
+    /**
+     * Returns the sequence ids of the tasks containing a word within the given edit distance of the keyword.
+     *
+     * @param keyword The keyword to look up, compared case-insensitively.
+     * @param maxDistance The largest Levenshtein distance between the keyword and a matching word.
+     * @return The ascending sequence ids of the matching tasks, possibly empty.
+     */
+    public PostingList getFuzzyPostings(String keyword, int maxDistance) {
+        assert keyword != null : "keyword should not be null";
+        List<PostingList> matchingPostings = new ArrayList<>();
+        for (String word : this.fuzzyVocabulary.search(foldCase(keyword), maxDistance)) {
+            matchingPostings.add(this.postings.get(word));
+        }
+        return PostingList.unionAll(matchingPostings);
+    }
+
+    public int getDocumentCount() {
+        return this.documentCount;
+    }
+
+    public long getWordCount() {
+        return this.wordCount;
+    }
+
+    /**
+     * Returns the words that may contain the given folded keyword.
+     * Keywords of at least three characters only need the words holding their rarest trigram, while shorter
+     * keywords have no trigram and fall back to the whole vocabulary.
+     */
+    private Iterable<String> findSubstringCandidates(String key) {
+        if (key.length() < GRAM_LENGTH) {
+            return this.vocabulary;
+        }
+
+        HashSet<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            HashSet<String> gramWords = this.trigramWords.get(key.substring(i, i + GRAM_LENGTH));
+            if (gramWords == null) {
+                return List.of();
+            }
+            if (candidates == null || gramWords.size() < candidates.size()) {
+                candidates = gramWords;
+            }
+        }
+        return candidates;
+    }
+
+    private void addToVocabulary(String word) {
+        this.vocabulary.add(word);
+        this.fuzzyVocabulary.add(word);
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            this.trigramWords.computeIfAbsent(word.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>()).add(word);
+        }
+    }
+
+    private void removeFromVocabulary(String word) {
+        this.vocabulary.remove(word);
+        this.fuzzyVocabulary.remove(word);
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            String gram = word.substring(i, i + GRAM_LENGTH);
+            HashSet<String> gramWords = this.trigramWords.get(gram);
+            if (gramWords != null && gramWords.remove(word) && gramWords.isEmpty()) {
+                this.trigramWords.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the given word with every character case-folded the way String.equalsIgnoreCase compares them,
+     * so that two words are equal ignoring case exactly when their folded forms are equal.
+     */
+    static String foldCase(String word) {
+        int length = word.length();
+        int i = 0;
+        while (i < length) {
+            char c = word.charAt(i);
+            if (c >= 0x80 || (c >= 'A' && c <= 'Z')) {
+                break;
+            }
+            i++;
+        }
+        if (i == length) {
+            return word;
+        }
+
+        StringBuilder folded = new StringBuilder(length).append(word, 0, i);
+        while (i < length) {
+            int codePoint = word.codePointAt(i);
+            folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,280 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shadowbuddy.services.Messages;
+
+/**
+ * Represents a boolean keyword search over task descriptions.
+ * A KeywordQuery is a list of clauses joined by OR, where each clause is a list of keywords joined by AND,
+ * any of which may be negated with NOT. Adjacent keywords without an operator are joined by AND, so
+ * "find return book" matches tasks containing both words. The operators must be written in upper case,
+ * so the lower-case words "and", "or" and "not" can still be searched for.
+ * A leading "/prefix" or "/substring" option makes every keyword also match words starting with or
+ * containing it, instead of only whole words. A leading "/fuzzy" option matches words within a small
+ * edit distance of each keyword, which can be changed with a trailing "/distance N".
+ * A leading "/ranked" option orders the matching tasks by relevance and selects a single page of them,
+ * chosen with a trailing "/page N".
+ */
+public class KeywordQuery {
+    /**
+     * Defines how a keyword is matched against the words of a task description.
+     * WORD requires the whole word, PREFIX the start of a word, SUBSTRING any part of a word,
+     * and FUZZY a whole word within the query's edit distance.
+     */
+    public enum MatchMode { WORD, PREFIX, SUBSTRING, FUZZY }
+
+    /** Edit distance allowed by the "/fuzzy" option when no "/distance" is given */
+    public static final int DEFAULT_FUZZY_DISTANCE = 1;
+    /** Largest edit distance accepted by "/distance", beyond which most short words would match */
+    public static final int MAX_FUZZY_DISTANCE = 3;
+
+    private static final String OPTION_PREFIX = "/prefix";
+    private static final String OPTION_SUBSTRING = "/substring";
+    private static final String OPTION_FUZZY = "/fuzzy";
+    private static final String OPTION_DISTANCE = "/distance";
+    private static final String OPTION_RANKED = "/ranked";
+    private static final String OPTION_PAGE = "/page";
+    private static final String OPTION_MARKER = "/";
+    private static final String OPERATOR_AND = "AND";
+    private static final String OPERATOR_OR = "OR";
+    private static final String OPERATOR_NOT = "NOT";
+
+    private final List<Clause> clauses;
+    private final MatchMode matchMode;
+    private final int maxDistance;
+    private final boolean isRanked;
+    private final int pageNumber;
+
+    /**
+     * Initializes a KeywordQuery instance with the given clauses, match mode, fuzzy edit distance and ranking.
+     */
+    private KeywordQuery(List<Clause> clauses, MatchMode matchMode, int maxDistance, boolean isRanked,
+            int pageNumber) {
+        this.clauses = clauses;
+        this.matchMode = matchMode;
+        this.maxDistance = maxDistance;
+        this.isRanked = isRanked;
+        this.pageNumber = pageNumber;
+    }
+
+    /**
+     * Returns the KeywordQuery described by the given search text.
+     * Every clause must contain at least one keyword that is not negated, so that the query can be
+     * answered from the keyword postings without scanning the whole TaskList.
+     *
+     * @param query The search text, with an optional match option, keywords and operators separated by spaces.
+     * @return The parsed KeywordQuery.
+     * @throws IllegalArgumentException If the option is unknown, there is no keyword, an operator is misplaced,
+     *     or a clause only holds negated keywords.
+     */
+    public static KeywordQuery parse(String query) {
+        assert query != null : "query should not be null";
+        if (query.isBlank()) {
+            throw new IllegalArgumentException(Messages.MESSAGE_NO_KEYWORD);
+        }
+
+        String[] tokens = query.trim().split(" ");
+        boolean isRanked = tokens[0].equalsIgnoreCase(OPTION_RANKED);
+        MatchMode matchMode = MatchMode.WORD;
+        int firstKeyword = 0;
+        if (isRanked) {
+            firstKeyword = 1;
+        } else if (tokens[0].startsWith(OPTION_MARKER)) {
+            matchMode = parseMatchMode(tokens[0]);
+            firstKeyword = 1;
+        }
+
+        int maxDistance = DEFAULT_FUZZY_DISTANCE;
+        int pageNumber = 1;
+        int keywordsEnd = tokens.length;
+        String trailingOption = tokens.length >= 2 ? tokens[tokens.length - 2] : "";
+        if (matchMode == MatchMode.FUZZY && trailingOption.equalsIgnoreCase(OPTION_DISTANCE)) {
+            maxDistance = parseDistance(tokens[tokens.length - 1]);
+            keywordsEnd = tokens.length - 2;
+        } else if (isRanked && trailingOption.equalsIgnoreCase(OPTION_PAGE)) {
+            pageNumber = parsePageNumber(tokens[tokens.length - 1]);
+            keywordsEnd = tokens.length - 2;
+        }
+
+        List<Clause> clauses = new ArrayList<>();
+        Clause currentClause = new Clause();
+        boolean isKeywordExpected = true;
+        boolean isNegated = false;
+        if (firstKeyword >= keywordsEnd) {
+            throw new IllegalArgumentException(Messages.MESSAGE_NO_KEYWORD);
+        }
+
+        for (int i = firstKeyword; i < keywordsEnd; i++) {
+            String token = tokens[i];
+            if (token.isEmpty()) {
+                continue;
+            }
+            switch (token) {
+            case OPERATOR_OR:
+                if (isKeywordExpected) {
+                    throw new IllegalArgumentException(Messages.MESSAGE_INVALID_KEYWORD_QUERY);
+                }
+                clauses.add(currentClause.validate());
+                currentClause = new Clause();
+                isKeywordExpected = true;
+                break;
+            case OPERATOR_AND:
+                if (isKeywordExpected) {
+                    throw new IllegalArgumentException(Messages.MESSAGE_INVALID_KEYWORD_QUERY);
+                }
+                isKeywordExpected = true;
+                break;
+            case OPERATOR_NOT:
+                if (isNegated) {
+                    throw new IllegalArgumentException(Messages.MESSAGE_INVALID_KEYWORD_QUERY);
+                }
+                isNegated = true;
+                isKeywordExpected = true;
+                break;
+            default:
+                (isNegated ? currentClause.excludedKeywords : currentClause.requiredKeywords).add(token);
+                isNegated = false;
+                isKeywordExpected = false;
+            }
+        }
+
+        if (isKeywordExpected) {
+            throw new IllegalArgumentException(Messages.MESSAGE_INVALID_KEYWORD_QUERY);
+        }
+        clauses.add(currentClause.validate());
+        return new KeywordQuery(clauses, matchMode, maxDistance, isRanked, pageNumber);
+    }
+
+    /**
+     * Returns the ascending sequence ids of the tasks matching this query in the given KeywordIndex.
+     * Within each clause, the required postings are intersected from the shortest list upwards, so the
+     * intermediate results only shrink, and the excluded postings are then subtracted.
+     * The clause results are finally merged into a single PostingList.
+     *
+     * @param keywordIndex The KeywordIndex to evaluate the query against.
+     * @return A PostingList holding the matching sequence ids, in TaskList order.
+     */
+    public PostingList evaluate(KeywordIndex keywordIndex) {
+        assert keywordIndex != null : "keywordIndex should not be null";
+        PostingList matchingIds = null;
+        for (Clause clause : this.clauses) {
+            PostingList clauseIds = clause.evaluate(keywordIndex, this);
+            matchingIds = matchingIds == null ? clauseIds : PostingList.union(matchingIds, clauseIds);
+        }
+        return matchingIds;
+    }
+
+    public MatchMode getMatchMode() {
+        return this.matchMode;
+    }
+
+    public int getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    public boolean isRanked() {
+        return this.isRanked;
+    }
+
+    public int getPageNumber() {
+        return this.pageNumber;
+    }
+
+    /**
+     * Returns the distinct keywords that are not negated in any clause, which are the keywords used for ranking.
+     */
+    public List<String> getRequiredKeywords() {
+        List<String> requiredKeywords = new ArrayList<>();
+        for (Clause clause : this.clauses) {
+            for (String keyword : clause.requiredKeywords) {
+                if (!requiredKeywords.contains(keyword)) {
+                    requiredKeywords.add(keyword);
+                }
+            }
+        }
+        return requiredKeywords;
+    }
+
+    /**
+     * Returns the postings of the given keyword under this query's match mode.
+     */
+    private PostingList lookUp(KeywordIndex keywordIndex, String keyword) {
+        return this.matchMode == MatchMode.FUZZY
+                ? keywordIndex.getFuzzyPostings(keyword, this.maxDistance)
+                : keywordIndex.getPostings(keyword, this.matchMode);
+    }
+
+    private static MatchMode parseMatchMode(String option) {
+        switch (option.toLowerCase()) {
+        case OPTION_PREFIX:
+            return MatchMode.PREFIX;
+        case OPTION_SUBSTRING:
+            return MatchMode.SUBSTRING;
+        case OPTION_FUZZY:
+            return MatchMode.FUZZY;
+        default:
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_FIND_OPTION, option));
+        }
+    }
+
+    private static int parseDistance(String distance) {
+        try {
+            int parsedDistance = Integer.parseInt(distance);
+            if (parsedDistance >= 0 && parsedDistance <= MAX_FUZZY_DISTANCE) {
+                return parsedDistance;
+            }
+        } catch (NumberFormatException exception) {
+            // Reported below together with out-of-range distances
+        }
+        throw new IllegalArgumentException(String.format(Messages.MESSAGE_INVALID_FUZZY_DISTANCE, MAX_FUZZY_DISTANCE));
+    }
+
+    private static int parsePageNumber(String pageNumber) {
+        try {
+            int parsedPageNumber = Integer.parseInt(pageNumber);
+            if (parsedPageNumber > 0) {
+                return parsedPageNumber;
+            }
+        } catch (NumberFormatException exception) {
+            // Reported below together with non-positive page numbers
+        }
+        throw new IllegalArgumentException(Messages.MESSAGE_INVALID_PAGE_NUMBER);
+    }
+
+    /**
+     * Represents keywords joined by AND, split into the keywords that must and must not be present.
+     */
+    private static class Clause {
+        private final List<String> requiredKeywords = new ArrayList<>();
+        private final List<String> excludedKeywords = new ArrayList<>();
+
+        private Clause validate() {
+            if (this.requiredKeywords.isEmpty()) {
+                throw new IllegalArgumentException(Messages.MESSAGE_NEGATED_ONLY_QUERY);
+            }
+            return this;
+        }
+
+        private PostingList evaluate(KeywordIndex keywordIndex, KeywordQuery query) {
+            List<PostingList> requiredPostings = new ArrayList<>(this.requiredKeywords.size());
+            for (String keyword : this.requiredKeywords) {
+                requiredPostings.add(query.lookUp(keywordIndex, keyword));
+            }
+            requiredPostings.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+            PostingList clauseIds = requiredPostings.get(0);
+            for (int i = 1; i < requiredPostings.size() && !clauseIds.isEmpty(); i++) {
+                clauseIds = PostingList.intersect(clauseIds, requiredPostings.get(i));
+            }
+            for (String keyword : this.excludedKeywords) {
+                if (clauseIds.isEmpty()) {
+                    break;
+                }
+                clauseIds = PostingList.subtract(clauseIds, query.lookUp(keywordIndex, keyword));
+            }
+            return clauseIds;
+        }
+    }
+}
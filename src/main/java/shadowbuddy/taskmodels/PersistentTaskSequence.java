@@ -0,0 +1,330 @@
+package shadowbuddy.taskmodels;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import shadowbuddy.services.Messages;
+
+/**
+ * Stores the tasks of a TaskList in a persistent implicit treap, whose nodes are never changed once built.
+ * Inserting, removing or changing a task copies only the O(log n) expected nodes on the path to its position
+ * and shares every other node with the tree as it was before, which stays intact. A snapshot of the sequence
+ * is therefore a new PersistentTaskSequence holding the same root, taken in O(1), and later changes to either
+ * sequence never show in the other.
+ * Tasks are not changed in place either: marking a task as done or not done replaces it with a copy holding
+ * the new status and the same id, so a snapshot also keeps the completion status its tasks had.
+ * As in TreeTaskSequence, node priorities are derived from the sequence ids, and seek descends by id.
+ */
+public class PersistentTaskSequence implements TaskSequence {
+    private Node root;
+
+    /**
+     * Initializes an empty PersistentTaskSequence instance.
+     */
+    public PersistentTaskSequence() {
+        this(null);
+    }
+
+    private PersistentTaskSequence(Node root) {
+        this.root = root;
+    }
+
+    @Override
+    public void append(long sequenceId, Task task) {
+        insertAt(size(), sequenceId, task);
+    }
+
+    @Override
+    public void insertAt(int index, long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        assert index >= 0 && index <= size() : "index should be within or at the end of the sequence";
+        assert index == 0 || sequenceId > getSequenceId(index - 1) : "ids should stay in ascending order";
+        assert index == size() || sequenceId < getSequenceId(index) : "ids should stay in ascending order";
+        this.root = insert(this.root, index, new Node(sequenceId, task, null, null));
+    }
+
+    @Override
+    public Task removeAt(int index) {
+        Task removedTask = get(index);
+        this.root = delete(this.root, index);
+        return removedTask;
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(this.root, index).task;
+    }
+
+    @Override
+    public long getSequenceId(int index) {
+        return nodeAt(this.root, index).sequenceId;
+    }
+
+    /**
+     * Replaces the task at the given position with a copy holding the given completion status, leaving the
+     * task itself, which earlier snapshots may still hold, unchanged.
+     */
+    @Override
+    public void setDone(int index, boolean isDone) {
+        Task task = get(index);
+        if (task.isDone != isDone) {
+            this.root = replace(this.root, index, copyWithStatus(task, isDone));
+        }
+    }
+
+    @Override
+    public int seek(long target, int start) {
+        int position = 0;
+        int firstNotSmaller = size();
+        Node node = this.root;
+        while (node != null) {
+            if (node.sequenceId < target) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                firstNotSmaller = position + size(node.left);
+                node = node.left;
+            }
+        }
+        return Math.max(start, firstNotSmaller);
+    }
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    @Override
+    public TaskSequence snapshot() {
+        return new PersistentTaskSequence(this.root);
+    }
+
+    /**
+     * Returns an unmodifiable view of the current tree, taken in O(1), which reads a task in O(log n).
+     */
+    @Override
+    public List<Task> toList() {
+        return new TaskView(this.root);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return iterate(this.root);
+    }
+
+    /**
+     * Returns an iterator over the tasks of the given tree in order, walking it with an explicit stack of
+     * O(log n) nodes.
+     */
+    private static Iterator<Task> iterate(Node root) {
+        return new Iterator<>() {
+            private final ArrayDeque<Node> pendingNodes = pushLeftSpine(new ArrayDeque<>(), root);
+
+            @Override
+            public boolean hasNext() {
+                return !this.pendingNodes.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (this.pendingNodes.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = this.pendingNodes.pop();
+                pushLeftSpine(this.pendingNodes, node.right);
+                return node.task;
+            }
+        };
+    }
+
+    private static Node nodeAt(Node root, int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size(root));
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the given subtree with the given leaf node inserted at the given position.
+     * The new node is placed where its priority beats its parent's, splitting the subtree found there around it.
+     */
+    private static Node insert(Node node, int index, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (newNode.priority > node.priority) {
+            Node[] parts = split(node, index);
+            return newNode.withChildren(parts[0], parts[1]);
+        }
+
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return node.withChildren(insert(node.left, index, newNode), node.right);
+        }
+        return node.withChildren(node.left, insert(node.right, index - leftSize - 1, newNode));
+    }
+
+    /**
+     * Returns a copy of the given subtree without the node at the given position.
+     */
+    private static Node delete(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return node.withChildren(delete(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return node.withChildren(node.left, delete(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Returns a copy of the given subtree with the task at the given position replaced by the given task.
+     */
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return node.withChildren(replace(node.left, index, task), node.right);
+        } else if (index > leftSize) {
+            return node.withChildren(node.left, replace(node.right, index - leftSize - 1, task));
+        }
+        return new Node(node.sequenceId, task, node.left, node.right);
+    }
+
+    /**
+     * Splits the given subtree into the nodes before the given position and the nodes from it onwards,
+     * copying only the nodes along the split path.
+     */
+    private static Node[] split(Node node, int index) {
+        if (node == null) {
+            return new Node[2];
+        }
+
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            Node[] parts = split(node.left, index);
+            parts[1] = node.withChildren(parts[1], node.right);
+            return parts;
+        }
+        Node[] parts = split(node.right, index - leftSize - 1);
+        parts[0] = node.withChildren(node.left, parts[0]);
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees, where every node of the first comes before every node of the second, keeping the
+     * node with the higher priority on top at each step and copying only the nodes along the two spines.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            return first.withChildren(first.left, merge(first.right, second));
+        }
+        return second.withChildren(merge(first, second.left), second.right);
+    }
+
+    /**
+     * Returns a copy of the given task with the given completion status and the same id.
+     */
+    private static Task copyWithStatus(Task task, boolean isDone) {
+        Task copiedTask;
+        if (task instanceof Todo) {
+            copiedTask = new Todo(task.getDescription());
+        } else if (task instanceof Deadline deadline) {
+            copiedTask = new Deadline(deadline.getDescription(), deadline.getDueEpochSecond());
+        } else if (task instanceof Event event) {
+            copiedTask = new Event(event.getDescription(), event.getStartEpochSecond(), event.getEndEpochSecond());
+        } else {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK, task));
+        }
+
+        copiedTask.setId(task.getId());
+        if (isDone) {
+            copiedTask.markAsDone();
+        }
+        return copiedTask;
+    }
+
+    private static ArrayDeque<Node> pushLeftSpine(ArrayDeque<Node> pendingNodes, Node node) {
+        while (node != null) {
+            pendingNodes.push(node);
+            node = node.left;
+        }
+        return pendingNodes;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a task in the treap, with the number of tasks in the subtree rooted at it.
+     * Every field is final, so a node can be shared by any number of trees and read on any thread.
+     */
+    private static final class Node {
+        private final long sequenceId;
+        private final Task task;
+        private final long priority;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(long sequenceId, Task task, Node left, Node right) {
+            this.sequenceId = sequenceId;
+            this.task = task;
+            this.priority = TreeTaskSequence.scramble(sequenceId);
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        private Node withChildren(Node left, Node right) {
+            return new Node(this.sequenceId, this.task, left, right);
+        }
+    }
+
+    /**
+     * Presents the tasks of one tree as an unmodifiable List.
+     */
+    private static final class TaskView extends AbstractList<Task> {
+        private final Node root;
+
+        private TaskView(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public Task get(int index) {
+            return nodeAt(this.root, index).task;
+        }
+
+        @Override
+        public int size() {
+            return PersistentTaskSequence.size(this.root);
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return iterate(this.root);
+        }
+    }
+}
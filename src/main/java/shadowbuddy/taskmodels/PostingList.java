@@ -0,0 +1,272 @@
+package shadowbuddy.taskmodels;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a growable list of task sequence ids in strictly ascending order.
+ * Since every task of a TaskList has a larger sequence id than the tasks before it, ascending id order is
+ * also TaskList order. The ids are kept in a primitive array, so positions can be found by binary search
+ * without boxing a Long per task.
+ */
+public class PostingList {
+    /** Length ratio below which two lists are merged linearly instead of galloping through the longer one */
+    private static final int GALLOP_RATIO = 16;
+
+    private long[] ids;
+    private int size;
+
+    /**
+     * Initializes an empty PostingList instance with a small pre-allocated capacity.
+     */
+    public PostingList() {
+        this.ids = new long[4];
+        this.size = 0;
+    }
+
+    /**
+     * Appends the given id, which must be larger than every id already in the PostingList.
+     *
+     * @param id The sequence id to append.
+     */
+    public void append(long id) {
+        assert this.size == 0 || id > this.ids[this.size - 1] : "ids should be appended in ascending order";
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+        }
+        this.ids[this.size++] = id;
+    }
+
+    /**
+     * Removes the given id if it is present.
+     *
+     * @param id The sequence id to remove.
+     * @return True if the id was present and removed; False otherwise.
+     */
+    public boolean remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Inserts the given id at the given 0-based position, shifting the later ids up by one.
+     * The id must lie strictly between its new neighbours, so the ids stay in ascending order.
+     *
+     * @param index The 0-based position the id will occupy.
+     * @param id The sequence id to insert.
+     */
+    public void insertAt(int index, long id) {
+        assert index >= 0 && index <= this.size : "index should be within or at the end of the PostingList";
+        assert index == 0 || id > this.ids[index - 1] : "ids should stay in ascending order";
+        assert index == this.size || id < this.ids[index] : "ids should stay in ascending order";
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+        }
+        System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+        this.ids[index] = id;
+        this.size++;
+    }
+
+    /**
+     * Removes the id at the given 0-based position, shifting the later ids down by one.
+     *
+     * @param index The 0-based position of the id to remove.
+     */
+    public void removeAt(int index) {
+        assert index >= 0 && index < this.size : "index should be within the PostingList";
+        System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+        this.size--;
+    }
+
+    /**
+     * Removes the ids at the given 0-based positions, moving each remaining id down at most once.
+     *
+     * @param indices The positions of the ids to remove, in ascending order and without duplicates.
+     */
+    public void removeAll(int[] indices) {
+        for (int k = 0; k < indices.length; k++) {
+            assert k == 0 || indices[k] > indices[k - 1] : "indices should be ascending without duplicates";
+            int blockEnd = k + 1 < indices.length ? indices[k + 1] : this.size;
+            System.arraycopy(this.ids, indices[k] + 1, this.ids, indices[k] - k, blockEnd - indices[k] - 1);
+        }
+        this.size -= indices.length;
+    }
+
+    /**
+     * Returns the 0-based position of the given id, or a negative value if it is absent.
+     *
+     * @param id The sequence id to look up.
+     * @return The position of the id, following the convention of Arrays.binarySearch when absent.
+     */
+    public int indexOf(long id) {
+        return Arrays.binarySearch(this.ids, 0, this.size, id);
+    }
+
+    /**
+     * Returns the ids present in both given PostingLists, in ascending order.
+     * Lists of similar length are merged linearly. Otherwise, each id of the shorter list is located in the
+     * longer list by galloping search from the previous match, so intersecting a rare keyword with a common
+     * one costs little more than the length of the rare one.
+     *
+     * @param first A PostingList to intersect.
+     * @param second Another PostingList to intersect.
+     * @return A new PostingList holding the common ids.
+     */
+    public static PostingList intersect(PostingList first, PostingList second) {
+        PostingList shorter = first.size <= second.size ? first : second;
+        PostingList longer = shorter == first ? second : first;
+        PostingList result = new PostingList();
+        if (longer.size < shorter.size * GALLOP_RATIO) {
+            int i = 0;
+            int j = 0;
+            while (i < shorter.size && j < longer.size) {
+                if (shorter.ids[i] < longer.ids[j]) {
+                    i++;
+                } else if (shorter.ids[i] > longer.ids[j]) {
+                    j++;
+                } else {
+                    result.append(shorter.ids[i++]);
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        int position = 0;
+        for (int i = 0; i < shorter.size && position < longer.size; i++) {
+            position = longer.seek(shorter.ids[i], position);
+            if (position < longer.size && longer.ids[position] == shorter.ids[i]) {
+                result.append(shorter.ids[i]);
+                position++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids present in either of the given PostingLists, in ascending order and without duplicates.
+     *
+     * @param first A PostingList to merge.
+     * @param second Another PostingList to merge.
+     * @return A new PostingList holding every id of both lists.
+     */
+    public static PostingList union(PostingList first, PostingList second) {
+        PostingList result = new PostingList();
+        result.ids = new long[Math.max(4, first.size + second.size)];
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j == second.size || (i < first.size && first.ids[i] < second.ids[j])) {
+                result.ids[result.size++] = first.ids[i++];
+            } else if (i == first.size || second.ids[j] < first.ids[i]) {
+                result.ids[result.size++] = second.ids[j++];
+            } else {
+                result.ids[result.size++] = first.ids[i++];
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids present in any of the given PostingLists, in ascending order and without duplicates.
+     * The ids are gathered and sorted once, which avoids repeated pairwise merges when many lists are combined.
+     *
+     * @param postingLists The PostingLists to merge.
+     * @return A PostingList holding every id of the given lists.
+     */
+    public static PostingList unionAll(List<PostingList> postingLists) {
+        if (postingLists.size() == 1) {
+            return postingLists.get(0);
+        }
+
+        int totalSize = 0;
+        for (PostingList postingList : postingLists) {
+            totalSize += postingList.size;
+        }
+        long[] allIds = new long[Math.max(4, totalSize)];
+        int offset = 0;
+        for (PostingList postingList : postingLists) {
+            System.arraycopy(postingList.ids, 0, allIds, offset, postingList.size);
+            offset += postingList.size;
+        }
+        Arrays.sort(allIds, 0, totalSize);
+
+        PostingList result = new PostingList();
+        result.ids = allIds;
+        for (int i = 0; i < totalSize; i++) {
+            if (result.size == 0 || allIds[i] != allIds[result.size - 1]) {
+                allIds[result.size++] = allIds[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the first PostingList that are absent from the second, in ascending order.
+     *
+     * @param included The PostingList whose ids are kept.
+     * @param excluded The PostingList whose ids are removed.
+     * @return A new PostingList holding the remaining ids.
+     */
+    public static PostingList subtract(PostingList included, PostingList excluded) {
+        PostingList result = new PostingList();
+        int position = 0;
+        boolean isGalloping = excluded.size >= included.size * GALLOP_RATIO;
+        for (int i = 0; i < included.size; i++) {
+            if (isGalloping) {
+                position = excluded.seek(included.ids[i], position);
+            } else {
+                while (position < excluded.size && excluded.ids[position] < included.ids[i]) {
+                    position++;
+                }
+            }
+            if (position == excluded.size || excluded.ids[position] != included.ids[i]) {
+                result.append(included.ids[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the first id at or after the given start position that is not smaller than
+     * the target, or size if there is none. The search doubles its step until it overshoots the target,
+     * then binary searches the last step, so seeking through ascending targets stays close to the cache.
+     *
+     * @param target The id to look for.
+     * @param start The position to start searching from.
+     * @return The position of the target, or of the first larger id, or size.
+     */
+    public int seek(long target, int start) {
+        int low = start;
+        int step = 1;
+        int high = start;
+        while (high < this.size && this.ids[high] < target) {
+            low = high + 1;
+            high = start + step;
+            step <<= 1;
+        }
+        int position = Arrays.binarySearch(this.ids, low, Math.min(high + 1, this.size), target);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    public long get(int index) {
+        return this.ids[index];
+    }
+
+    public long getLast() {
+        return this.ids[this.size - 1];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
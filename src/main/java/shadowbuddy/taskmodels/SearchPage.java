@@ -0,0 +1,58 @@
+package shadowbuddy.taskmodels;
+
+import java.util.List;
+
+/**
+ * Holds one page of ranked search results, together with the total number of matching tasks.
+ * The tasks are ordered from the best to the worst match on the page.
+ */
+public class SearchPage {
+    private final List<Task> tasks;
+    private final int pageNumber;
+    private final int pageSize;
+    private final int matchCount;
+
+    /**
+     * Initializes a SearchPage instance with the given ranked tasks and paging details.
+     *
+     * @param tasks The tasks on this page, best match first.
+     * @param pageNumber The 1-based number of this page.
+     * @param pageSize The largest number of tasks on a page.
+     * @param matchCount The total number of tasks matching the search.
+     */
+    public SearchPage(List<Task> tasks, int pageNumber, int pageSize, int matchCount) {
+        assert tasks != null : "tasks should not be null";
+        assert pageNumber > 0 : "pageNumber should be positive";
+        assert pageSize > 0 : "pageSize should be positive";
+        this.tasks = tasks;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.matchCount = matchCount;
+    }
+
+    public List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    public int getPageNumber() {
+        return this.pageNumber;
+    }
+
+    public int getMatchCount() {
+        return this.matchCount;
+    }
+
+    /**
+     * Returns the number of pages needed to show every matching task, which is at least 1.
+     */
+    public int getPageCount() {
+        return Math.max(1, (this.matchCount + this.pageSize - 1) / this.pageSize);
+    }
+
+    /**
+     * Returns the overall rank of the first task on this page, counting from 1.
+     */
+    public int getFirstRank() {
+        return (this.pageNumber - 1) * this.pageSize + 1;
+    }
+}
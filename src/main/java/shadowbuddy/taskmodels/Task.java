@@ -4,10 +4,18 @@ package shadowbuddy.taskmodels;
  * Represents a generic task with a description and completion state.
  * The Task class serves as the base class for the different task types (Todo, Deadline, Event),
  * providing common state handling and String representation.
+ * Every task also receives a stable id from the first TaskList it is added to, which does not change when
+ * tasks before it are deleted.
+ * The description never changes, and the completion state and id are volatile, so a task shared through a
+ * ConcurrentTaskList shows its latest state on every thread.
  */
 public class Task {
-    protected String description;
-    protected boolean isDone;
+    /** Id of a task that has not been added to a TaskList yet */
+    public static final long NO_ID = -1;
+
+    protected final String description;
+    protected volatile boolean isDone;
+    private volatile long id;
 
     /**
      * Initializes a Task instance with the given description and default not-done state.
@@ -16,6 +24,7 @@ public class Task {
         assert description != null : "description should not be null";
         this.description = description;
         this.isDone = false;
+        this.id = NO_ID;
     }
 
     /**
@@ -31,6 +40,26 @@ public class Task {
         return this.description;
     }
 
+    public long getId() {
+        return this.id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Restores the id this task was saved with, so that a task loaded from storage keeps the id it was known by.
+     * Must be called before the task is added to a TaskList.
+     *
+     * @param id The saved id of the task, which is positive.
+     */
+    public void restoreId(long id) {
+        assert this.id == NO_ID : "only a task without an id can have its id restored";
+        assert id > 0 : "a saved id should be positive";
+        this.id = id;
+    }
+
     public void markAsDone() {
         this.isDone = true;
     }
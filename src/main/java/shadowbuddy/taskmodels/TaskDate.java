@@ -0,0 +1,57 @@
+package shadowbuddy.taskmodels;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import shadowbuddy.services.Messages;
+
+/**
+ * Converts task dates between their stored epoch form and their display form.
+ * Task dates are wall-clock times without a time zone, so each one is stored as the number of seconds from
+ * the epoch to that wall-clock time at UTC, which keeps the values independent of the machine's time zone.
+ * The display form "MMM d yyyy HH:mm" is only produced when a task is shown or written to the text database.
+ */
+public class TaskDate {
+    /** Number of seconds in a calendar day, since task dates carry no time zone or daylight saving shifts */
+    public static final long SECONDS_PER_DAY = 86_400;
+
+    private static final DateTimeFormatter DISPLAY_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+    private static final DateTimeFormatter DISPLAY_DAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    /**
+     * Returns the epoch second of the given wall-clock date and time.
+     *
+     * @param dateTime The date and time to convert.
+     * @return The number of seconds from the epoch to the given date and time at UTC.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        assert dateTime != null : "dateTime should not be null";
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the epoch second of the given date in the "MMM d yyyy HH:mm" display form.
+     *
+     * @param displayDate The date as shown to the user and written to the text database.
+     * @return The number of seconds from the epoch to the given date at UTC.
+     * @throws IllegalArgumentException If the date is not in the display form.
+     */
+    public static long parseDisplayDate(String displayDate) {
+        assert displayDate != null : "displayDate should not be null";
+        try {
+            return toEpochSecond(LocalDateTime.parse(displayDate, DISPLAY_DATE_FORMATTER));
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException(String.format(Messages.MESSAGE_UNKNOWN_TASK_DATE, displayDate));
+        }
+    }
+
+    public static String formatDisplayDate(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(DISPLAY_DATE_FORMATTER);
+    }
+
+    public static String formatDisplayDay(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(DISPLAY_DAY_FORMATTER);
+    }
+}
@@ -0,0 +1,127 @@
+package shadowbuddy.taskmodels;
+
+/**
+ * Maps task ids to the sequence ids the tasks hold in a TaskList, in an open-addressing hash table with
+ * primitive long keys and values.
+ * Keys and sequence ids are kept in two parallel arrays probed linearly from the hashed slot, so a lookup costs
+ * O(1) expected without boxing a Long per task or allocating an entry object per mapping. Holding sequence ids
+ * rather than tasks keeps the map from pinning task objects, such as the views of a columnar TaskList, in
+ * memory. The table is kept at most half full, and removals shift the following entries back instead of
+ * leaving tombstones, so probe sequences stay short however many tasks are added and removed.
+ */
+public class TaskIdMap {
+    /** Value returned for an id that is not mapped, which is never a valid sequence id */
+    public static final long NO_SEQUENCE_ID = 0;
+
+    private long[] keys;
+    private long[] sequenceIds;
+    private int size;
+
+    /**
+     * Initializes an empty TaskIdMap instance with a small pre-allocated capacity.
+     */
+    public TaskIdMap() {
+        this.keys = new long[16];
+        this.sequenceIds = new long[16];
+        this.size = 0;
+    }
+
+    /**
+     * Maps the given task id to the given sequence id, replacing any sequence id already mapped to it.
+     *
+     * @param id The id of the task.
+     * @param sequenceId The sequence id of the task, which is positive.
+     */
+    public void put(long id, long sequenceId) {
+        assert sequenceId > NO_SEQUENCE_ID : "sequenceId should be positive";
+        if (2 * (this.size + 1) > this.sequenceIds.length) {
+            resize(this.sequenceIds.length * 2);
+        }
+
+        int slot = findSlot(id);
+        if (this.sequenceIds[slot] == NO_SEQUENCE_ID) {
+            this.keys[slot] = id;
+            this.size++;
+        }
+        this.sequenceIds[slot] = sequenceId;
+    }
+
+    /**
+     * Returns the sequence id mapped to the given task id, or NO_SEQUENCE_ID if there is none.
+     *
+     * @param id The id to look up.
+     * @return The sequence id of the task with the given id, or NO_SEQUENCE_ID.
+     */
+    public long get(long id) {
+        return this.sequenceIds[findSlot(id)];
+    }
+
+    /**
+     * Removes the mapping of the given id if it is present.
+     * The entries probed after the removed one are shifted back, so no lookup skips over the emptied slot.
+     *
+     * @param id The id to remove.
+     * @return The sequence id that was mapped to the id, or NO_SEQUENCE_ID if there was none.
+     */
+    public long remove(long id) {
+        int slot = findSlot(id);
+        long removedSequenceId = this.sequenceIds[slot];
+        if (removedSequenceId == NO_SEQUENCE_ID) {
+            return NO_SEQUENCE_ID;
+        }
+
+        int mask = this.sequenceIds.length - 1;
+        int emptySlot = slot;
+        for (int next = (slot + 1) & mask; this.sequenceIds[next] != NO_SEQUENCE_ID; next = (next + 1) & mask) {
+            int home = hash(this.keys[next]) & mask;
+            boolean isHomeBeforeEmpty = ((next - home) & mask) >= ((next - emptySlot) & mask);
+            if (isHomeBeforeEmpty) {
+                this.keys[emptySlot] = this.keys[next];
+                this.sequenceIds[emptySlot] = this.sequenceIds[next];
+                emptySlot = next;
+            }
+        }
+        this.sequenceIds[emptySlot] = NO_SEQUENCE_ID;
+        this.size--;
+        return removedSequenceId;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the slot holding the given id, or the empty slot where it would be inserted.
+     */
+    private int findSlot(long id) {
+        int mask = this.sequenceIds.length - 1;
+        int slot = hash(id) & mask;
+        while (this.sequenceIds[slot] != NO_SEQUENCE_ID && this.keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        long[] oldSequenceIds = this.sequenceIds;
+        this.keys = new long[capacity];
+        this.sequenceIds = new long[capacity];
+        for (int i = 0; i < oldSequenceIds.length; i++) {
+            if (oldSequenceIds[i] != NO_SEQUENCE_ID) {
+                int slot = findSlot(oldKeys[i]);
+                this.keys[slot] = oldKeys[i];
+                this.sequenceIds[slot] = oldSequenceIds[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the given id with the MurmurHash3 finalizer, so consecutive ids do not cluster.
+     */
+    private static int hash(long id) {
+        long bits = (id ^ (id >>> 33)) * 0xFF51AFD7ED558CCDL;
+        bits = (bits ^ (bits >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (bits ^ (bits >>> 33));
+    }
+}
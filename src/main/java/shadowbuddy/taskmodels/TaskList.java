@@ -1,55 +1,234 @@
 package shadowbuddy.taskmodels;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Manages an ordered collection of Task instances.
  * The TaskList class provides operations to add, remove, and toggle the completion status of tasks.
  * All methods use 1-based indexing to match the TaskList numbering.
+ * Every task receives an increasing sequence id when added. A KeywordIndex over those ids is built on the
+ * first keyword search and then kept up to date on every addition and deletion, so keyword searches do not
+ * scan the whole TaskList, while lists that are never searched, such as search results, never pay for it.
+ * A DateIndex over the deadlines and events is built and maintained the same way on the first date query.
+ * The tasks themselves are kept in a TaskSequence chosen by the Backing of the TaskList.
+ * The descriptions are counted in a DescriptionCounter, so a description stays taken until the last task
+ * holding it is deleted.
+ * A task added to its first TaskList takes its sequence id there as its stable task id. A task that already has
+ * an id larger than every sequence id of the TaskList keeps that id as its sequence id, so the ids of tasks
+ * restored from storage survive a restart. A restored id that is not larger than every id handed out so far
+ * would be shared with another task, so such a task is given a fresh id instead. A TaskIdMap from task ids to
+ * sequence ids is built on the first lookup by id and kept up to date in the same way as the other indexes.
+ * The indexes hold sequence ids rather than tasks, and their results are resolved through the TaskSequence,
+ * so no index keeps a task alive or relies on the identity of the task objects.
+ * A task can also be inserted back at a given index, as when a deletion is undone, taking a sequence id between
+ * those of its new neighbours.
+ * A TaskList with a PERSISTENT backing can also hand out its current state as a Version in O(1), and switch back
+ * to any earlier Version in O(1). Since the indexes are not persistent, switching drops them, and each is rebuilt
+ * for the restored Version on its next use.
  */
 public class TaskList {
-    protected final ArrayList<Task> storage;
-    protected final HashSet<String> uniqueDescriptions;
+    protected TaskSequence storage;
+    private DescriptionCounter descriptionCounts;
+    private final Backing backing;
+    private KeywordIndex keywordIndex;
+    private DateIndex dateIndex;
+    private TaskIdMap taskIds;
+    private long nextSequenceId;
+    private long modificationCount;
 
     /**
-     * Initializes an empty TaskList instance with a pre-allocated capacity of 100 elements.
+     * Initializes an empty TaskList instance backed by an array with a pre-allocated capacity of 100 elements.
      */
     public TaskList() {
-        this.storage = new ArrayList<>(100);
-        this.uniqueDescriptions = new HashSet<>();
+        this(Backing.ARRAY);
+    }
+
+    /**
+     * Initializes an empty TaskList instance stored in the given backing.
+     *
+     * @param backing The kind of TaskSequence holding the tasks.
+     */
+    public TaskList(Backing backing) {
+        assert backing != null : "backing should not be null";
+        this.backing = backing;
+        this.storage = backing.createSequence();
+        this.descriptionCounts = new DescriptionCounter(this.storage);
+        this.keywordIndex = null;
+        this.dateIndex = null;
+        this.taskIds = null;
+        this.nextSequenceId = 1;
+        this.modificationCount = 0;
     }
 
     /**
      * Appends the given task to the end of the TaskList.
+     * The task keeps its id as its sequence id when that id is larger than every sequence id in the TaskList;
+     * otherwise it takes the next free sequence id.
      *
      * @param task The Task to add to the TaskList.
      */
     public void addTask(Task task) {
         assert task != null : "task should not be null";
-        this.storage.add(task);
-        this.uniqueDescriptions.add(task.getDescription());
+        appendTask(task);
+    }
+
+    /**
+     * Appends the given task, loaded from storage, to the end of the TaskList.
+     * The task keeps its restored id when that id is larger than every id handed out by this TaskList so far;
+     * otherwise the id could already belong to another task, so the task takes the next free id instead.
+     *
+     * @param task The Task to restore, which is not held by any other TaskList.
+     */
+    public void restoreTask(Task task) {
+        assert task != null : "task should not be null";
+        if (task.getId() != Task.NO_ID && task.getId() < this.nextSequenceId) {
+            task.setId(Task.NO_ID);
+        }
+        appendTask(task);
+    }
+
+    /**
+     * Appends the given tasks, loaded from storage, to the end of the TaskList, in order.
+     * Equivalent to calling restoreTask for each task, but grows an array backing only once.
+     *
+     * @param tasks The Tasks to restore, which are not held by any other TaskList.
+     */
+    public void restoreTasks(List<Task> tasks) {
+        assert tasks != null : "tasks should not be null";
+        this.storage.ensureCapacity(this.storage.size() + tasks.size());
+        for (Task task : tasks) {
+            restoreTask(task);
+        }
+    }
+
+    /**
+     * Inserts the given task at the given 1-based index, shifting the tasks from that index onwards down by one.
+     * A task that already has an id keeps it as its sequence id when the id still lies between those of its new
+     * neighbours, as it does when the deletion of the task is undone; any other task takes a free id between
+     * them. When no id is free there, every task is renumbered first, which also changes the task ids, so that
+     * only happens while replaying journal records written before task ids were stored.
+     *
+     * @param index The 1-based index the Task will occupy, up to one past the last task.
+     * @param task The Task to insert into the TaskList.
+     * @throws IndexOutOfBoundsException If the index lies outside the TaskList.
+     */
+    public void insertTask(int index, Task task) {
+        assert task != null : "task should not be null";
+        if (index < 1 || index > this.storage.size() + 1) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+                    + this.storage.size());
+        }
+
+        int position = index - 1;
+        long previousId = position == 0 ? 0 : this.storage.getSequenceId(position - 1);
+        long nextId = position == this.storage.size() ? this.nextSequenceId : this.storage.getSequenceId(position);
+        long sequenceId = task.getId();
+        if (sequenceId <= previousId || sequenceId >= nextId) {
+            if (position == this.storage.size()) {
+                sequenceId = this.nextSequenceId;
+            } else {
+                if (nextId - previousId < 2) {
+                    renumberTasks(position);
+                    previousId = position == 0 ? 0 : this.storage.getSequenceId(position - 1);
+                }
+                sequenceId = previousId + 1;
+            }
+        }
+        this.nextSequenceId = Math.max(this.nextSequenceId, sequenceId + 1);
+        insertAt(position, sequenceId, task);
+    }
+
+    /**
+     * Appends the given tasks to the end of the TaskList, in order.
+     * Equivalent to calling addTask for each task, but grows an array backing only once.
+     *
+     * @param tasks The Tasks to add to the TaskList.
+     */
+    public void addTasks(List<Task> tasks) {
+        assert tasks != null : "tasks should not be null";
+        this.storage.ensureCapacity(this.storage.size() + tasks.size());
+        for (Task task : tasks) {
+            addTask(task);
+        }
     }
 
     /**
      * Removes the task at the given 1-based index and returns it.
+     * This costs O(n) on an array backing and O(log n) on a tree backing, plus the upkeep of built indexes.
      *
      * @param index The 1-based index of the Task to remove.
      * @return The Task that was removed from the TaskList.
      */
     public Task deleteTask(int index) {
-        Task deletedTask = this.storage.remove(index - 1);
-        this.uniqueDescriptions.remove(deletedTask.getDescription());
+        long sequenceId = this.storage.getSequenceId(index - 1);
+        Task deletedTask = this.storage.removeAt(index - 1);
+        if (this.descriptionCounts != null) {
+            this.descriptionCounts.remove(sequenceId, deletedTask.getDescription());
+        }
+        if (this.keywordIndex != null) {
+            this.keywordIndex.removeTask(sequenceId, deletedTask.getDescription());
+        }
+        if (this.dateIndex != null) {
+            this.dateIndex.removeTask(sequenceId, deletedTask);
+        }
+        if (this.taskIds != null) {
+            this.taskIds.remove(deletedTask.getId());
+        }
+        this.modificationCount++;
         return deletedTask;
     }
 
+    /**
+     * Removes the tasks at the given 1-based indices and returns them, in TaskList order.
+     * The remaining tasks are moved up in a single sweep, so on an array backing this costs O(n) however many
+     * tasks are removed, where deleting them one at a time would cost O(n) each.
+     *
+     * @param indices The 1-based indices of the Tasks to remove, in ascending order and without duplicates.
+     * @return The Tasks that were removed from the TaskList.
+     */
+    public List<Task> deleteTasks(int[] indices) {
+        assert indices != null : "indices should not be null";
+        int[] positions = new int[indices.length];
+        long[] sequenceIds = new long[indices.length];
+        List<Task> deletedTasks = new ArrayList<>(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            assert i == 0 || indices[i] > indices[i - 1] : "indices should be ascending without duplicates";
+            positions[i] = indices[i] - 1;
+            sequenceIds[i] = this.storage.getSequenceId(positions[i]);
+            deletedTasks.add(this.storage.get(positions[i]));
+        }
+        this.storage.removeAll(positions);
+
+        for (int i = 0; i < indices.length; i++) {
+            Task deletedTask = deletedTasks.get(i);
+            if (this.descriptionCounts != null) {
+                this.descriptionCounts.remove(sequenceIds[i], deletedTask.getDescription());
+            }
+            if (this.keywordIndex != null) {
+                this.keywordIndex.removeTask(sequenceIds[i], deletedTask.getDescription());
+            }
+            if (this.dateIndex != null) {
+                this.dateIndex.removeTask(sequenceIds[i], deletedTask);
+            }
+            if (this.taskIds != null) {
+                this.taskIds.remove(deletedTask.getId());
+            }
+        }
+        this.modificationCount++;
+        return deletedTasks;
+    }
+
     /**
      * Marks the task at the given 1-based index as done.
      *
      * @param index The 1-based index of the Task to mark.
      */
     public void markTask(int index) {
-        this.storage.get(index - 1).markAsDone();
+        this.storage.setDone(index - 1, true);
+        this.modificationCount++;
     }
 
     /**
@@ -58,31 +237,173 @@ public class TaskList {
      * @param index The 1-based index of the Task to unmark.
      */
     public void unmarkTask(int index) {
-        this.storage.get(index - 1).markAsNotDone();
+        this.storage.setDone(index - 1, false);
+        this.modificationCount++;
+    }
+
+    /**
+     * Returns a TaskList containing only tasks whose descriptions match the given keyword query.
+     * The query is a KeywordQuery of keywords joined by AND, OR and NOT, evaluated on the posting lists of
+     * the KeywordIndex of the given TaskList, so only the matching tasks are visited.
+     * Only whole words are matched, comparisons are case-insensitive, and the matching tasks keep their order.
+     *
+     * @param taskList The TaskList to search through.
+     * @param query The keywords and operators to match against task descriptions.
+     * @return A new TaskList containing all the matching tasks.
+     * @throws IllegalArgumentException If the query is not a valid KeywordQuery.
+     */
+    public TaskList getMatchingTasks(TaskList taskList, String query) {
+        assert query != null : "query should not be null";
+        return getMatchingTasks(taskList, KeywordQuery.parse(query));
     }
 
     /**
-     * Returns a TaskList containing only tasks whose descriptions match the given keyword.
-     * Iterates through the given TaskList, comparing each task's description against the
-     * given keyword, and stores all matching tasks in a new Tasklist.
+     * Returns a TaskList containing only tasks whose descriptions match the given parsed keyword query.
      *
-     * @param taskList The TaskList to traverse through.
-     * @param keyword The keyword to match against task descriptions.
+     * @param taskList The TaskList to search through.
+     * @param query The parsed keywords and operators to match against task descriptions.
      * @return A new TaskList containing all the matching tasks.
      */
-    public TaskList getMatchingTasks(TaskList taskList, String keyword) {
+    public TaskList getMatchingTasks(TaskList taskList, KeywordQuery query) {
         assert taskList != null : "taskList should not be null";
-        assert keyword != null : "keyword should not be null";
+        assert query != null : "query should not be null";
         TaskList matchingTasks = new TaskList();
-        for (int i = 0; i < taskList.getLength(); i++) {
-            Task task = taskList.getTask(i + 1);
-            if (containsKeyword(task.getDescription(), keyword)) {
-                matchingTasks.addTask(task);
-            }
+        PostingList matchingIds = query.evaluate(taskList.getKeywordIndex());
+        int position = 0;
+        for (int i = 0; i < matchingIds.size(); i++) {
+            position = taskList.storage.seek(matchingIds.get(i), position);
+            assert position < taskList.getLength() : "matching ids should belong to tasks in the TaskList";
+            matchingTasks.addTask(taskList.storage.get(position));
         }
         return matchingTasks;
     }
 
+    /**
+     * Returns one page of the tasks matching the given keyword query, ranked by their BM25 score.
+     * The matches are scored as they are found, and only the best pageNumber * pageSize of them are kept in
+     * a bounded min-heap, so neither memory use nor output size grows with the number of matches.
+     * Tasks with equal scores keep their TaskList order.
+     *
+     * @param taskList The TaskList to search through.
+     * @param query The keywords and operators to match against task descriptions.
+     * @param pageSize The largest number of tasks on a page.
+     * @return The requested SearchPage, which is empty when the page lies past the last match.
+     * @throws IllegalArgumentException If the query is not a valid KeywordQuery.
+     */
+    public SearchPage getRankedTasks(TaskList taskList, String query, int pageSize) {
+        assert query != null : "query should not be null";
+        return getRankedTasks(taskList, KeywordQuery.parse(query), pageSize);
+    }
+
+    /**
+     * Returns one page of the tasks matching the given parsed keyword query, ranked by their BM25 score.
+     *
+     * @param taskList The TaskList to search through.
+     * @param keywordQuery The parsed keywords and operators to match against task descriptions.
+     * @param pageSize The largest number of tasks on a page.
+     * @return The requested SearchPage, which is empty when the page lies past the last match.
+     */
+    public SearchPage getRankedTasks(TaskList taskList, KeywordQuery keywordQuery, int pageSize) {
+        assert taskList != null : "taskList should not be null";
+        assert keywordQuery != null : "keywordQuery should not be null";
+        assert pageSize > 0 : "pageSize should be positive";
+        KeywordIndex keywordIndex = taskList.getKeywordIndex();
+        PostingList matchingIds = keywordQuery.evaluate(keywordIndex);
+        Bm25Scorer scorer = new Bm25Scorer(keywordIndex, keywordQuery.getRequiredKeywords());
+        int pageNumber = keywordQuery.getPageNumber();
+        int keptCount = (int) Math.min(matchingIds.size(), (long) pageNumber * pageSize);
+
+        PriorityQueue<ScoredTask> bestTasks = new PriorityQueue<>(Math.max(1, keptCount));
+        int position = 0;
+        for (int i = 0; i < matchingIds.size() && keptCount > 0; i++) {
+            position = taskList.storage.seek(matchingIds.get(i), position);
+            Task task = taskList.storage.get(position);
+            ScoredTask scoredTask = new ScoredTask(task, scorer.score(task.getDescription()), position);
+            if (bestTasks.size() < keptCount) {
+                bestTasks.add(scoredTask);
+            } else if (scoredTask.compareTo(bestTasks.peek()) > 0) {
+                bestTasks.poll();
+                bestTasks.add(scoredTask);
+            }
+        }
+
+        int pageStart = (pageNumber - 1) * pageSize;
+        Task[] rankedTasks = new Task[bestTasks.size()];
+        for (int rank = rankedTasks.length - 1; rank >= 0; rank--) {
+            rankedTasks[rank] = bestTasks.poll().task;
+        }
+        List<Task> pageTasks = pageStart < rankedTasks.length
+                ? Arrays.asList(rankedTasks).subList(pageStart, rankedTasks.length)
+                : List.of();
+        return new SearchPage(pageTasks, pageNumber, pageSize, matchingIds.size());
+    }
+
+    /**
+     * Returns a TaskList containing the deadlines due strictly before the given date, earliest first.
+     * The deadlines are read from the DateIndex of this TaskList, so only the matching tasks are visited.
+     *
+     * @param epochSecond The date before which the deadlines are due, as an epoch second.
+     * @return A new TaskList containing all the matching deadlines.
+     */
+    public TaskList getTasksDueBefore(long epochSecond) {
+        TaskList dueTasks = new TaskList();
+        dueTasks.addTasks(getDateIndex().getDeadlinesBefore(epochSecond, this.storage));
+        return dueTasks;
+    }
+
+    /**
+     * Returns a TaskList containing the deadlines due within the given period and the events overlapping it,
+     * ordered by their due or start dates.
+     *
+     * @param startEpochSecond The inclusive start of the period, as an epoch second.
+     * @param endEpochSecond The exclusive end of the period, as an epoch second.
+     * @return A new TaskList containing all the matching deadlines and events.
+     */
+    public TaskList getTasksHappeningBetween(long startEpochSecond, long endEpochSecond) {
+        TaskList happeningTasks = new TaskList();
+        happeningTasks.addTasks(getDateIndex().getTasksBetween(startEpochSecond, endEpochSecond, this.storage));
+        return happeningTasks;
+    }
+
+    /**
+     * Returns the events in this TaskList that share some time with the given event, in start date order.
+     * Events that only meet the given event at its start or end do not conflict with it.
+     *
+     * @param event The event to check, which does not need to be in this TaskList.
+     * @return A List of the conflicting events, excluding the task of this TaskList with the id of the given event.
+     */
+    public List<Event> getConflictingEvents(Event event) {
+        assert event != null : "event should not be null";
+        long excludedSequenceId = event.getId() == Task.NO_ID
+                ? TaskIdMap.NO_SEQUENCE_ID
+                : getTaskIds().get(event.getId());
+        return getDateIndex().getConflictingEvents(event.getStartEpochSecond(), event.getEndEpochSecond(),
+                excludedSequenceId, this.storage);
+    }
+
+    /**
+     * Returns the task with the given stable id, or null if no task in this TaskList has it.
+     *
+     * @param taskId The id of the task.
+     * @return The task with the given id, or null.
+     */
+    public Task getTaskById(long taskId) {
+        int position = findPositionOfTaskId(taskId);
+        return position < 0 ? null : this.storage.get(position);
+    }
+
+    /**
+     * Returns the current 1-based index of the task with the given stable id, or -1 if no task in this TaskList
+     * has it. The TaskIdMap gives the sequence id of the task, whose position is found by one O(log n) seek.
+     *
+     * @param taskId The id of the task.
+     * @return The 1-based index of the task, or -1.
+     */
+    public int getIndexOfTaskId(long taskId) {
+        int position = findPositionOfTaskId(taskId);
+        return position < 0 ? -1 : position + 1;
+    }
+
     /**
      * Returns true when the given task description already exists in the TaskList.
      *
@@ -91,7 +412,19 @@ public class TaskList {
      */
     public boolean containsDuplicate(String taskDescription) {
         assert taskDescription != null : "taskDescription should not be null";
-        return this.uniqueDescriptions.contains(taskDescription);
+        return getDescriptionCounts().contains(taskDescription);
+    }
+
+    /**
+     * Returns a copy of the tasks in this TaskList, in order.
+     * Only the Task references are copied, so the copy is cheap to take and safe to iterate
+     * on another thread while this TaskList keeps changing. A PERSISTENT backing returns a view of its
+     * current Version instead, which takes O(1) and is just as unaffected by later changes.
+     *
+     * @return A List holding the current tasks, which must not be modified.
+     */
+    public List<Task> copyTasks() {
+        return this.storage.toList();
     }
 
     public Task getTask(int index) {
@@ -103,24 +436,267 @@ public class TaskList {
     }
 
     /**
-     * Returns true when the given task description contains the specified keyword.
-     * Partial matches of the keyword are not considered, and comparisons are case-insensitive.
+     * Returns the id the next task added to this TaskList will take, unless it already has a larger one.
+     */
+    public long getNextTaskId() {
+        return this.nextSequenceId;
+    }
+
+    /**
+     * Keeps every task added from now on from taking an id below the given one, so the ids of deleted tasks
+     * are not handed out again after the TaskList is restored from storage.
      *
-     * @param description The task description to search through.
-     * @param keyword The keyword to match against task descriptions.
-     * @return True if the keyword appears in the description; False otherwise.
+     * @param nextTaskId The smallest id the next new task may take.
+     */
+    public void reserveTaskIds(long nextTaskId) {
+        this.nextSequenceId = Math.max(this.nextSequenceId, nextTaskId);
+    }
+
+    /**
+     * Returns the number of mutations applied to this TaskList so far.
+     * A TaskList is dirty with respect to a saved copy whenever this count differs from the count at saving time.
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Returns the current state of this TaskList as a Version, in O(1).
+     * Later changes to this TaskList do not affect the Version, which shares every unchanged task with it.
+     *
+     * @return The current Version.
+     * @throws UnsupportedOperationException If this TaskList does not have a PERSISTENT backing.
+     */
+    public Version getVersion() {
+        return new Version(this.storage.snapshot());
+    }
+
+    /**
+     * Makes this TaskList hold the tasks of the given Version again, in O(1).
+     * The indexes are dropped and rebuilt for the restored tasks on their next use. Ids are never handed out
+     * twice, so tasks added after restoring an earlier Version still take ids after every id handed out so far.
+     *
+     * @param version A Version taken from this TaskList.
+     */
+    public void restoreVersion(Version version) {
+        assert version != null : "version should not be null";
+        this.storage = version.tasks.snapshot();
+        this.descriptionCounts = null;
+        this.keywordIndex = null;
+        this.dateIndex = null;
+        this.taskIds = null;
+        this.modificationCount++;
+    }
+
+    /**
+     * Builds every index that has not been built yet, so later queries only read this TaskList.
+     */
+    protected void buildIndexes() {
+        getDescriptionCounts();
+        getKeywordIndex();
+        getDateIndex();
+        getTaskIds();
+    }
+
+    /**
+     * Appends the given task, which keeps its id as its sequence id when that id is larger than every sequence
+     * id in the TaskList and takes the next free sequence id otherwise.
+     */
+    private void appendTask(Task task) {
+        long sequenceId = Math.max(task.getId(), this.nextSequenceId);
+        this.nextSequenceId = sequenceId + 1;
+        insertAt(this.storage.size(), sequenceId, task);
+    }
+
+    /**
+     * Inserts the given task at the given 0-based position with the given sequence id, and keeps the
+     * DescriptionCounter and every built index up to date.
+     */
+    private void insertAt(int position, long sequenceId, Task task) {
+        if (task.getId() == Task.NO_ID) {
+            task.setId(sequenceId);
+        }
+        this.storage.insertAt(position, sequenceId, task);
+        if (this.descriptionCounts != null) {
+            this.descriptionCounts.add(sequenceId, task.getDescription());
+        }
+        if (this.keywordIndex != null) {
+            this.keywordIndex.addTask(sequenceId, task.getDescription());
+        }
+        if (this.dateIndex != null) {
+            this.dateIndex.addTask(sequenceId, task);
+        }
+        if (this.taskIds != null) {
+            this.taskIds.put(task.getId(), sequenceId);
+        }
+        this.modificationCount++;
+    }
+
+    /**
+     * Gives every task a new sequence id, and with it a new task id, leaving one id free before the given
+     * 0-based position. The TaskSequence and DescriptionCounter are rebuilt, and the other indexes are dropped
+     * to be rebuilt on their next use.
+     */
+    private void renumberTasks(int gapPosition) {
+        TaskSequence oldStorage = this.storage;
+        this.storage = this.backing.createSequence();
+        this.storage.ensureCapacity(oldStorage.size() + 1);
+        this.descriptionCounts = new DescriptionCounter(this.storage);
+        this.keywordIndex = null;
+        this.dateIndex = null;
+        this.taskIds = null;
+        long sequenceId = 1;
+        int position = 0;
+        for (Task task : oldStorage) {
+            if (position++ == gapPosition) {
+                sequenceId++;
+            }
+            task.setId(sequenceId);
+            this.storage.append(sequenceId, task);
+            this.descriptionCounts.add(sequenceId, task.getDescription());
+            sequenceId++;
+        }
+        this.nextSequenceId = sequenceId;
+    }
+
+    /**
+     * Returns the DescriptionCounter of this TaskList, counting the description of every current task on first
+     * use after a Version is restored.
      */
-    private boolean containsKeyword(String description, String keyword) {
-        assert description != null : "description should not be null";
-        assert keyword != null : "keyword should not be null";
-        String[] descriptionDetails = description.split(" ");
+    private DescriptionCounter getDescriptionCounts() {
+        if (this.descriptionCounts == null) {
+            this.descriptionCounts = new DescriptionCounter(this.storage);
+            int position = 0;
+            for (Task task : this.storage) {
+                this.descriptionCounts.add(this.storage.getSequenceId(position++), task.getDescription());
+            }
+        }
+        return this.descriptionCounts;
+    }
 
-        for (int i = 0; i < descriptionDetails.length; i++) {
-            if (descriptionDetails[i].equalsIgnoreCase(keyword)) {
-                return true;
+    /**
+     * Returns the KeywordIndex of this TaskList, indexing every current task on first use.
+     */
+    private KeywordIndex getKeywordIndex() {
+        if (this.keywordIndex == null) {
+            this.keywordIndex = new KeywordIndex();
+            int position = 0;
+            for (Task task : this.storage) {
+                this.keywordIndex.addTask(this.storage.getSequenceId(position++), task.getDescription());
             }
         }
-        return false;
+        return this.keywordIndex;
+    }
+
+    /**
+     * Returns the TaskIdMap of this TaskList, mapping the id of every current task on first use.
+     */
+    private TaskIdMap getTaskIds() {
+        if (this.taskIds == null) {
+            this.taskIds = new TaskIdMap();
+            int position = 0;
+            for (Task task : this.storage) {
+                this.taskIds.put(task.getId(), this.storage.getSequenceId(position++));
+            }
+        }
+        return this.taskIds;
+    }
+
+    /**
+     * Returns the 0-based position of the task with the given stable id, or -1 if no task in this TaskList
+     * has it.
+     */
+    private int findPositionOfTaskId(long taskId) {
+        long sequenceId = getTaskIds().get(taskId);
+        if (sequenceId == TaskIdMap.NO_SEQUENCE_ID) {
+            return -1;
+        }
+
+        int position = this.storage.seek(sequenceId, 0);
+        assert position < this.storage.size() && this.storage.getSequenceId(position) == sequenceId
+                : "mapped sequence ids should be in the TaskSequence";
+        return position;
+    }
+
+    /**
+     * Returns the DateIndex of this TaskList, indexing every current deadline and event on first use.
+     */
+    private DateIndex getDateIndex() {
+        if (this.dateIndex == null) {
+            this.dateIndex = new DateIndex();
+            int position = 0;
+            for (Task task : this.storage) {
+                this.dateIndex.addTask(this.storage.getSequenceId(position++), task);
+            }
+        }
+        return this.dateIndex;
+    }
+
+    /**
+     * Represents the kinds of TaskSequence a TaskList can keep its tasks in.
+     * ARRAY reads and appends in O(1) but shifts later tasks on deletion; TREE does every positional
+     * operation in O(log n), which pays off once lists grow to many thousands of tasks. COLUMNAR keeps tasks
+     * in primitive columns and creates Task objects only on access, for lists of millions of tasks.
+     * PERSISTENT does every positional operation in O(log n) like TREE, but copies the changed path instead of
+     * changing nodes in place, so every earlier Version of the TaskList stays intact.
+     */
+    public enum Backing {
+        ARRAY, TREE, COLUMNAR, PERSISTENT;
+
+        private TaskSequence createSequence() {
+            switch (this) {
+            case TREE:
+                return new TreeTaskSequence();
+            case PERSISTENT:
+                return new PersistentTaskSequence();
+            case COLUMNAR:
+                return new ColumnarTaskSequence();
+            default:
+                return new ArrayTaskSequence();
+            }
+        }
+    }
+
+    /**
+     * Represents the tasks of a TaskList with a PERSISTENT backing as they were when the Version was taken.
+     * A Version is never changed, so it can be read on any thread while the TaskList keeps changing.
+     */
+    public static final class Version {
+        private final TaskSequence tasks;
+
+        private Version(TaskSequence tasks) {
+            this.tasks = tasks;
+        }
+
+        public Task getTask(int index) {
+            return this.tasks.get(index - 1);
+        }
+
+        public int getLength() {
+            return this.tasks.size();
+        }
+    }
+
+    /**
+     * Pairs a matching task with its BM25 score, ordered so that better matches compare greater.
+     * Equal scores are broken in favour of the task that comes first in the TaskList.
+     */
+    private static class ScoredTask implements Comparable<ScoredTask> {
+        private final Task task;
+        private final double score;
+        private final int position;
+
+        private ScoredTask(Task task, double score, int position) {
+            this.task = task;
+            this.score = score;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(ScoredTask other) {
+            int scoreComparison = Double.compare(this.score, other.score);
+            return scoreComparison != 0 ? scoreComparison : Integer.compare(other.position, this.position);
+        }
     }
 
     /**
@@ -133,8 +709,9 @@ public class TaskList {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         // Solution below inspired from a ChatGPT example on how to use StringBuilder with multiple appends
-        for (int i = 0; i < this.storage.size(); i++) {
-            sb.append(i + 1).append(". ").append(this.storage.get(i)).append("\n");
+        int taskNumber = 1;
+        for (Task task : this.storage) {
+            sb.append(taskNumber++).append(". ").append(task).append("\n");
         }
         return sb.toString();
     }
@@ -0,0 +1,107 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the tasks of a TaskList in order, each paired with its sequence id.
+ * Sequence ids strictly ascend with position, so a sequence id can be located by searching positions.
+ * All positions are 0-based; the TaskList converts its 1-based indices before calling in.
+ */
+public interface TaskSequence extends Iterable<Task> {
+    /**
+     * Appends the given task to the end of the sequence.
+     *
+     * @param sequenceId The sequence id of the task, larger than every id already in the sequence.
+     * @param task The task to append.
+     */
+    void append(long sequenceId, Task task);
+
+    /**
+     * Inserts the given task at the given position, shifting the later tasks up by one.
+     *
+     * @param index The 0-based position the task will occupy.
+     * @param sequenceId The sequence id of the task, between the ids of its new neighbours.
+     * @param task The task to insert.
+     */
+    void insertAt(int index, long sequenceId, Task task);
+
+    /**
+     * Removes the task at the given position, shifting the later tasks down by one.
+     *
+     * @param index The 0-based position of the task to remove.
+     * @return The removed task.
+     */
+    Task removeAt(int index);
+
+    /**
+     * Removes the tasks at the given positions, shifting the remaining tasks down to close the gaps.
+     * By default the tasks are removed one at a time from the last position down; sequences that shift
+     * their tasks on removal close every gap in one sweep instead.
+     *
+     * @param indices The 0-based positions of the tasks to remove, in ascending order and without duplicates.
+     */
+    default void removeAll(int[] indices) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            removeAt(indices[i]);
+        }
+    }
+
+    Task get(int index);
+
+    long getSequenceId(int index);
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index The 0-based position of the task.
+     * @param isDone True to mark the task as done; False to mark it as not done.
+     */
+    void setDone(int index, boolean isDone);
+
+    /**
+     * Returns the position of the first task at or after the given start position whose sequence id is not
+     * smaller than the target, or size if there is none.
+     *
+     * @param target The sequence id to look for.
+     * @param start The position to start searching from.
+     * @return The position of the target, or of the first larger id, or size.
+     */
+    int seek(long target, int start);
+
+    int size();
+
+    /**
+     * Prepares the sequence to hold at least the given number of tasks without growing again.
+     * Sequences that do not grow in steps ignore the hint.
+     *
+     * @param capacity The number of tasks the sequence is about to hold.
+     */
+    default void ensureCapacity(int capacity) {
+    }
+
+    /**
+     * Returns a copy of the sequence that later changes to either sequence do not affect.
+     * Only persistent sequences, which share their unchanged parts between copies, support snapshots.
+     *
+     * @return The copy of the sequence.
+     * @throws UnsupportedOperationException If the sequence is not persistent.
+     */
+    default TaskSequence snapshot() {
+        throw new UnsupportedOperationException("Only persistent task sequences can be snapshotted");
+    }
+
+    /**
+     * Returns the tasks in the sequence, in order, as a List that later changes to the sequence do not affect.
+     * By default the tasks are copied into a new List; persistent sequences return a view of their current state.
+     *
+     * @return The List of tasks, which must not be modified.
+     */
+    default List<Task> toList() {
+        List<Task> tasks = new ArrayList<>(size());
+        for (Task task : this) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
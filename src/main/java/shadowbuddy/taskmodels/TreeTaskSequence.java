@@ -0,0 +1,244 @@
+package shadowbuddy.taskmodels;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Stores the tasks of a TaskList in an implicit treap, a randomized binary tree ordered by position.
+ * Every node records the size of its subtree, so the node at a position is found by descending past the
+ * subtree sizes, and reading, inserting and removing a task all cost O(log n) expected, however long the list.
+ * Node priorities are derived from the sequence ids, so the tree shape does not depend on a random number
+ * generator and two runs over the same tasks build the same tree.
+ * Since sequence ids ascend with position, the tree is also a search tree on the ids, and seek descends by id.
+ */
+public class TreeTaskSequence implements TaskSequence {
+    private Node root;
+
+    /**
+     * Initializes an empty TreeTaskSequence instance.
+     */
+    public TreeTaskSequence() {
+        this.root = null;
+    }
+
+    @Override
+    public void append(long sequenceId, Task task) {
+        insertAt(size(), sequenceId, task);
+    }
+
+    @Override
+    public void insertAt(int index, long sequenceId, Task task) {
+        assert task != null : "task should not be null";
+        assert index >= 0 && index <= size() : "index should be within or at the end of the sequence";
+        assert index == 0 || sequenceId > getSequenceId(index - 1) : "ids should stay in ascending order";
+        assert index == size() || sequenceId < getSequenceId(index) : "ids should stay in ascending order";
+        this.root = insert(this.root, index, new Node(sequenceId, task));
+    }
+
+    @Override
+    public Task removeAt(int index) {
+        Task removedTask = get(index);
+        this.root = delete(this.root, index);
+        return removedTask;
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    @Override
+    public long getSequenceId(int index) {
+        return nodeAt(index).sequenceId;
+    }
+
+    @Override
+    public void setDone(int index, boolean isDone) {
+        if (isDone) {
+            get(index).markAsDone();
+        } else {
+            get(index).markAsNotDone();
+        }
+    }
+
+    @Override
+    public int seek(long target, int start) {
+        int position = 0;
+        int firstNotSmaller = size();
+        Node node = this.root;
+        while (node != null) {
+            if (node.sequenceId < target) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                firstNotSmaller = position + size(node.left);
+                node = node.left;
+            }
+        }
+        return Math.max(start, firstNotSmaller);
+    }
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, walking the tree with an explicit stack of O(log n) nodes.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node> pendingNodes = pushLeftSpine(new ArrayDeque<>(), root);
+
+            @Override
+            public boolean hasNext() {
+                return !this.pendingNodes.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (this.pendingNodes.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = this.pendingNodes.pop();
+                pushLeftSpine(this.pendingNodes, node.right);
+                return node.task;
+            }
+        };
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        Node node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Inserts the given node at the given position of the given subtree as a leaf, then rotates it up
+     * while its priority beats its parent's, and returns the new root of the subtree.
+     */
+    private static Node insert(Node node, int index, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, newNode);
+            node.size++;
+            return node.left.priority > node.priority ? rotateRight(node) : node;
+        }
+        node.right = insert(node.right, index - leftSize - 1, newNode);
+        node.size++;
+        return node.right.priority > node.priority ? rotateLeft(node) : node;
+    }
+
+    private static Node delete(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.size--;
+        return node;
+    }
+
+    /**
+     * Joins two subtrees, where every node of the first comes before every node of the second,
+     * keeping the node with the higher priority on top at each step.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.size = size(first.left) + size(first.right) + 1;
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.size = size(second.left) + size(second.right) + 1;
+        return second;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        newRoot.size = node.size;
+        node.size = size(node.left) + size(node.right) + 1;
+        return newRoot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        newRoot.size = node.size;
+        node.size = size(node.left) + size(node.right) + 1;
+        return newRoot;
+    }
+
+    private static ArrayDeque<Node> pushLeftSpine(ArrayDeque<Node> pendingNodes, Node node) {
+        while (node != null) {
+            pendingNodes.push(node);
+            node = node.left;
+        }
+        return pendingNodes;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Spreads consecutive sequence ids over the whole long range with the SplitMix64 finalizer,
+     * so the priorities behave like independent random values.
+     */
+    static long scramble(long sequenceId) {
+        long bits = sequenceId + 0x9E3779B97F4A7C15L;
+        bits = (bits ^ (bits >>> 30)) * 0xBF58476D1CE4E5B9L;
+        bits = (bits ^ (bits >>> 27)) * 0x94D049BB133111EBL;
+        return bits ^ (bits >>> 31);
+    }
+
+    /**
+     * Represents a task in the treap, with the number of tasks in the subtree rooted at it.
+     */
+    private static class Node {
+        private final long sequenceId;
+        private final Task task;
+        private final long priority;
+        private Node left;
+        private Node right;
+        private int size;
+
+        private Node(long sequenceId, Task task) {
+            this.sequenceId = sequenceId;
+            this.task = task;
+            this.priority = scramble(sequenceId);
+            this.size = 1;
+        }
+    }
+}
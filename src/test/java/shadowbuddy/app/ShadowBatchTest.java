@@ -0,0 +1,49 @@
+package shadowbuddy.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shadowbuddy.services.Messages;
+import shadowbuddy.services.ShadowException;
+import shadowbuddy.storage.ShadowStorage;
+
+public class ShadowBatchTest {
+    @Test
+    public void run_invalidLines_recordedAndSkipped(@TempDir Path tempDir) throws ShadowException, IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        String commands = "todo borrow book\n"
+                + "deadline return book /by 2/12/2025 1800\n"
+                + "\n"
+                + "mark 5\n"
+                + "todo borrow book\n"
+                + "mark 2\n"
+                + "bye\n"
+                + "todo after bye\n";
+
+        ShadowBatch.BatchReport report = new ShadowBatch(dummyController, 2)
+                .run(new BufferedReader(new StringReader(commands)));
+        dummyController.closeDatabase();
+        assertEquals(3, report.getExecutedCount());
+        assertEquals(List.of(
+                "Line 4: " + Messages.PREFIX_UNKNOWN_COMMAND
+                        + String.format(Messages.MESSAGE_INVALID_TASK_INDEX_BOUNDS, 2),
+                "Line 5: " + Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_DUPLICATE_TASK_DESCRIPTION),
+                report.getErrors());
+
+        ShadowController reloadedController = new ShadowController(new ShadowStorage(tempFile.toString()));
+        reloadedController.loadDatabase();
+        assertEquals("1. [T][ ] borrow book\n2. [D][X] return book (by: Dec 2 2025 18:00)\n",
+                reloadedController.getTaskList().toString());
+    }
+}
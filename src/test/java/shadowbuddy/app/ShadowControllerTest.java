@@ -3,6 +3,7 @@ package shadowbuddy.app;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 import org.junit.jupiter.api.Test;
@@ -10,18 +11,22 @@ import org.junit.jupiter.api.io.TempDir;
 
 import shadowbuddy.services.ShadowException;
 import shadowbuddy.storage.ShadowStorage;
+import shadowbuddy.taskmodels.KeywordQuery;
+import shadowbuddy.taskmodels.TaskDate;
 
 public class ShadowControllerTest {
     private static final ShadowCommand MARK_COMMAND = new ShadowCommand(ShadowCommand.CommandType.MARK, 1);
     private static final ShadowCommand UNMARK_COMMAND = new ShadowCommand(ShadowCommand.CommandType.UNMARK, 1);
     private static final ShadowCommand DELETE_COMMAND = new ShadowCommand(ShadowCommand.CommandType.DELETE, 1);
-    private static final ShadowCommand FIND_COMMAND = new ShadowCommand(ShadowCommand.CommandType.FIND, "book");
+    private static final ShadowCommand FIND_COMMAND = new ShadowCommand(ShadowCommand.CommandType.FIND, "book",
+            KeywordQuery.parse("book"));
     private static final ShadowCommand TODO_COMMAND = new ShadowCommand(ShadowCommand.CommandType.TODO,
             "borrow book");
     private static final ShadowCommand DEADLINE_COMMAND = new ShadowCommand(ShadowCommand.CommandType.DEADLINE,
-            "return book", "Dec 2 2025 18:00");
+            "return book", TaskDate.parseDisplayDate("Dec 2 2025 18:00"));
     private static final ShadowCommand EVENT_COMMAND = new ShadowCommand(ShadowCommand.CommandType.EVENT,
-            "project meeting", "Jul 4 2025 16:00", "Jul 5 2025 20:00");
+            "project meeting", TaskDate.parseDisplayDate("Jul 4 2025 16:00"),
+            TaskDate.parseDisplayDate("Jul 5 2025 20:00"));
     private static final ShadowCommand UNKNOWN_COMMAND = new ShadowCommand(ShadowCommand.CommandType.UNKNOWN);
 
     // Solution below adapted from a ChatGPT example on how to use @TempDir to create a temporary file for testing
@@ -97,6 +102,155 @@ public class ShadowControllerTest {
         assertEquals(0, dummyController.getTaskList().getLength());
     }
 
+    @Test
+    public void execute_taskAddressedById(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+        dummyController.executeCommand(DEADLINE_COMMAND, dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+        dummyController.executeCommand(DELETE_COMMAND, dummyUi);
+        dummyController.executeCommand(dummyController.handleInput("mark #3"), dummyUi);
+        assertEquals("Here are the tasks in your list:\n"
+                + "1. [D][ ] return book (by: Dec 2 2025 18:00) (#2)\n"
+                + "2. [E][X] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00) (#3)\n",
+                dummyController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.LIST), dummyUi));
+
+        try {
+            dummyController.executeCommand(dummyController.handleInput("delete #1"), dummyUi);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! There is no task with id #1 in your list.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void execute_taskAddressedByIdAfterRestart(@TempDir Path tempDir) throws ShadowException, IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.JOURNAL);
+        dummyStorage.createDatabase();
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+        for (int i = 1; i <= 4; i++) {
+            dummyController.executeCommand(dummyController.handleInput("todo task " + i), dummyUi);
+        }
+        dummyController.executeCommand(dummyController.handleInput("delete #4"), dummyUi);
+        dummyController.executeCommand(dummyController.handleInput("delete #1"), dummyUi);
+        dummyController.writeToDatabase();
+        dummyController.executeCommand(dummyController.handleInput("todo task 5"), dummyUi);
+        dummyController.writeToDatabase();
+        dummyController.closeDatabase();
+
+        ShadowStorage reloadedStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.JOURNAL);
+        reloadedStorage.convertDatabase(ShadowStorage.DatabaseFormat.BINARY);
+        ShadowController reloadedController = new ShadowController(reloadedStorage);
+        reloadedController.loadDatabase();
+        assertEquals("Noted. I've removed this task:\n  [T][ ] task 3\nNow you have 2 tasks in the list.\n",
+                reloadedController.executeCommand(reloadedController.handleInput("delete #3"), dummyUi));
+        reloadedController.executeCommand(reloadedController.handleInput("todo task 6"), dummyUi);
+        assertEquals("Here are the tasks in your list:\n"
+                + "1. [T][ ] task 2 (#2)\n"
+                + "2. [T][ ] task 5 (#5)\n"
+                + "3. [T][ ] task 6 (#6)\n",
+                reloadedController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.LIST), dummyUi));
+
+        reloadedController.executeCommand(reloadedController.handleInput("delete #6"), dummyUi);
+        reloadedController.writeToDatabase();
+        reloadedController.closeDatabase();
+        ShadowStorage textStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.JOURNAL);
+        textStorage.convertDatabase(ShadowStorage.DatabaseFormat.TEXT);
+        ShadowController textController = new ShadowController(textStorage);
+        textController.loadDatabase();
+        textController.executeCommand(textController.handleInput("todo task 7"), dummyUi);
+        assertEquals("Here are the tasks in your list:\n"
+                + "1. [T][ ] task 2 (#2)\n"
+                + "2. [T][ ] task 5 (#5)\n"
+                + "3. [T][ ] task 7 (#7)\n",
+                textController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.LIST), dummyUi));
+    }
+
+    @Test
+    public void execute_undoAndRedo(@TempDir Path tempDir) throws ShadowException, IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.JOURNAL);
+        dummyStorage.createDatabase();
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+        String fullList = "Here are the tasks in your list:\n"
+                + "1. [T][ ] borrow book (#1)\n"
+                + "2. [D][ ] return book (by: Dec 2 2025 18:00) (#2)\n"
+                + "3. [E][ ] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00) (#3)\n";
+
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+        dummyController.executeCommand(DEADLINE_COMMAND, dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+        dummyController.executeCommand(DELETE_COMMAND, dummyUi);
+        dummyController.executeCommand(dummyController.handleInput("mark #3"), dummyUi);
+        dummyController.executeCommand(dummyController.handleInput("undo"), dummyUi);
+        assertEquals("Done! I've undone your last change.\nNow you have 3 tasks in the list.\n",
+                dummyController.executeCommand(dummyController.handleInput("undo"), dummyUi));
+        assertEquals(fullList,
+                dummyController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.LIST), dummyUi));
+
+        dummyController.executeCommand(dummyController.handleInput("redo"), dummyUi);
+        dummyController.executeCommand(dummyController.handleInput("undo"), dummyUi);
+        dummyController.writeToDatabase();
+        dummyController.closeDatabase();
+        ShadowController reloadedController = new ShadowController(new ShadowStorage(tempFile.toString(),
+                ShadowStorage.PersistenceMode.JOURNAL));
+        reloadedController.loadDatabase();
+        assertEquals(fullList,
+                reloadedController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.LIST), dummyUi));
+
+        dummyController.executeCommand(MARK_COMMAND, dummyUi);
+        try {
+            dummyController.executeCommand(dummyController.handleInput("redo"), dummyUi);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! There is nothing to redo!", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void execute_bulkCommands(@TempDir Path tempDir) throws ShadowException, IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.JOURNAL);
+        dummyStorage.createDatabase();
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+        for (int i = 1; i <= 6; i++) {
+            dummyController.executeCommand(dummyController.handleInput("todo task " + i), dummyUi);
+        }
+
+        dummyController.executeCommand(dummyController.handleInput("mark 2"), dummyUi);
+        assertEquals("Nice! I've marked 2 tasks as done:\n  [T][X] task 1\n  [T][X] task 3\n"
+                + "Skipped 1 tasks that were already done.\n",
+                dummyController.executeCommand(dummyController.handleInput("mark 1-3"), dummyUi));
+        dummyController.executeCommand(dummyController.handleInput("delete 5,6"), dummyUi);
+        assertEquals("Noted. I've removed 3 tasks:\n  [T][X] task 1\n  [T][X] task 2\n  [T][X] task 3\n"
+                + "Now you have 1 tasks in the list.\n",
+                dummyController.executeCommand(dummyController.handleInput("delete /done"), dummyUi));
+        dummyController.executeCommand(dummyController.handleInput("undo"), dummyUi);
+        dummyController.writeToDatabase();
+        dummyController.closeDatabase();
+
+        ShadowController reloadedController = new ShadowController(new ShadowStorage(tempFile.toString(),
+                ShadowStorage.PersistenceMode.JOURNAL));
+        reloadedController.loadDatabase();
+        assertEquals("1. [T][X] task 1\n2. [T][X] task 2\n3. [T][X] task 3\n4. [T][ ] task 4\n",
+                reloadedController.getTaskList().toString());
+        try {
+            reloadedController.executeCommand(reloadedController.handleInput("unmark 4, 4"), dummyUi);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! All the tasks indicated are already marked as not done!",
+                    exception.getMessage());
+        }
+    }
+
     @Test
     public void execute_findKeyword(@TempDir Path tempDir) throws ShadowException {
         Path tempFile = tempDir.resolve("dummy.txt");
@@ -115,6 +269,154 @@ public class ShadowControllerTest {
         assertEquals(expectedOutput, actualOutput);
     }
 
+    @Test
+    public void execute_dueBeforeAndHappeningOn(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(dummyController.handleInput("deadline submit report /by 5/7/2025 0900"),
+                dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+        dummyController.executeCommand(DEADLINE_COMMAND, dummyUi);
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+
+        String dueOutput = dummyController.executeCommand(dummyController.handleInput("due before 1/12/2025 0000"),
+                dummyUi);
+        assertEquals("Here are the tasks due before Dec 1 2025 00:00:\n"
+                + "1. [D][ ] submit report (by: Jul 5 2025 09:00)\n", dueOutput);
+        String happeningOutput = dummyController.executeCommand(
+                dummyController.handleInput("happening on 5/7/2025"), dummyUi);
+        assertEquals("Here are the tasks happening on Jul 5 2025:\n"
+                + "1. [E][ ] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00)\n"
+                + "2. [D][ ] submit report (by: Jul 5 2025 09:00)\n", happeningOutput);
+
+        dummyController.executeCommand(DELETE_COMMAND, dummyUi);
+        dueOutput = dummyController.executeCommand(dummyController.handleInput("due before 1/1/2026 0000"),
+                dummyUi);
+        assertEquals("Here are the tasks due before Jan 1 2026 00:00:\n"
+                + "1. [D][ ] return book (by: Dec 2 2025 18:00)\n", dueOutput);
+    }
+
+    @Test
+    public void execute_overlappingEvent_conflictWarned(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+        String adjacentOutput = dummyController.executeCommand(
+                dummyController.handleInput("event team dinner /from 5/7/2025 2000 /to 5/7/2025 2200"), dummyUi);
+        assertEquals("Got it. I've added this task as #2:\n"
+                + "  [E][ ] team dinner (from: Jul 5 2025 20:00 to: Jul 5 2025 22:00)\n"
+                + "Now you have 2 tasks in the list.\n", adjacentOutput);
+
+        String overlappingOutput = dummyController.executeCommand(
+                dummyController.handleInput("event code review /from 5/7/2025 1900 /to 5/7/2025 2100"), dummyUi);
+        assertEquals("Got it. I've added this task as #3:\n"
+                + "  [E][ ] code review (from: Jul 5 2025 19:00 to: Jul 5 2025 21:00)\n"
+                + "Now you have 3 tasks in the list.\n"
+                + "Heads up! This event overlaps with 2 other events:\n"
+                + "  [E][ ] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00)\n"
+                + "  [E][ ] team dinner (from: Jul 5 2025 20:00 to: Jul 5 2025 22:00)\n", overlappingOutput);
+    }
+
+    @Test
+    public void execute_findKeywordAfterDeletion(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+        dummyController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.TODO, "read BOOK twice"), dummyUi);
+        dummyController.executeCommand(DEADLINE_COMMAND, dummyUi);
+        dummyController.executeCommand(DELETE_COMMAND, dummyUi);
+
+        String actualOutput = dummyController.executeCommand(FIND_COMMAND, dummyUi);
+        String expectedOutput = "Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read BOOK twice\n"
+                + "2. [D][ ] return book (by: Dec 2 2025 18:00)\n";
+        assertEquals(expectedOutput, actualOutput);
+    }
+
+    @Test
+    public void execute_findPartialKeyword(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+        dummyController.executeCommand(DEADLINE_COMMAND, dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+
+        String prefixOutput = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/prefix PROJ",
+                        KeywordQuery.parse("/prefix PROJ")), dummyUi);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [E][ ] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00)\n", prefixOutput);
+        String substringOutput = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/substring ook",
+                        KeywordQuery.parse("/substring ook")), dummyUi);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T][ ] borrow book\n"
+                + "2. [D][ ] return book (by: Dec 2 2025 18:00)\n", substringOutput);
+    }
+
+    @Test
+    public void execute_findFuzzyKeyword(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        dummyController.executeCommand(TODO_COMMAND, dummyUi);
+        dummyController.executeCommand(EVENT_COMMAND, dummyUi);
+
+        String closeOutput = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/fuzzy bok",
+                        KeywordQuery.parse("/fuzzy bok")), dummyUi);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T][ ] borrow book\n", closeOutput);
+        String distantOutput = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/fuzzy metting OR prjoect /distance 2",
+                        KeywordQuery.parse("/fuzzy metting OR prjoect /distance 2")), dummyUi);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [E][ ] project meeting (from: Jul 4 2025 16:00 to: Jul 5 2025 20:00)\n", distantOutput);
+    }
+
+    @Test
+    public void execute_findRankedKeywords(@TempDir Path tempDir) throws ShadowException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        ShadowController dummyController = new ShadowController(dummyStorage);
+        ShadowUi dummyUi = new ShadowUi();
+
+        for (int i = 1; i <= 12; i++) {
+            String description = i == 7 ? "read book book twice" : "read book chapter " + i;
+            dummyController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.TODO, description), dummyUi);
+        }
+        dummyController.executeCommand(new ShadowCommand(ShadowCommand.CommandType.TODO, "buy pen"), dummyUi);
+
+        String firstPage = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/ranked book",
+                        KeywordQuery.parse("/ranked book")), dummyUi);
+        assertEquals("Here are the best matching tasks in your list (page 1 of 2, 12 matches):",
+                firstPage.split("\n")[0]);
+        assertEquals("1. [T][ ] read book book twice", firstPage.split("\n")[1]);
+        assertEquals("2. [T][ ] read book chapter 1", firstPage.split("\n")[2]);
+        String secondPage = dummyController.executeCommand(
+                new ShadowCommand(ShadowCommand.CommandType.FIND, "/ranked book /page 2",
+                        KeywordQuery.parse("/ranked book /page 2")), dummyUi);
+        assertEquals("Here are the best matching tasks in your list (page 2 of 2, 12 matches):\n"
+                + "11. [T][ ] read book chapter 11\n"
+                + "12. [T][ ] read book chapter 12\n", secondPage);
+    }
+
     @Test
     public void execute_emptyTaskList_exceptionThrown(@TempDir Path tempDir) {
         Path tempFile = tempDir.resolve("dummy.txt");
@@ -191,7 +493,7 @@ public class ShadowControllerTest {
         ShadowUi dummyUi = new ShadowUi();
 
         ShadowCommand duplicateDeadlineCommand = new ShadowCommand(ShadowCommand.CommandType.DEADLINE,
-                "borrow book", "Dec 2 2025 18:00");
+                "borrow book", TaskDate.parseDisplayDate("Dec 2 2025 18:00"));
 
         try {
             dummyController.executeCommand(TODO_COMMAND, dummyUi);
@@ -1,11 +1,17 @@
 package shadowbuddy.app;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import shadowbuddy.services.Messages;
 import shadowbuddy.services.ShadowException;
+import shadowbuddy.taskmodels.TaskDate;
 
 public class ShadowParserTest {
     @Test
@@ -35,6 +41,37 @@ public class ShadowParserTest {
         assertEquals(2, userCommand.taskIndex);
     }
 
+    @Test
+    public void parse_validTaskIdCommand() throws ShadowException {
+        ShadowCommand userCommand = ShadowParser.parse("mark #12345");
+        assertEquals(ShadowCommand.CommandType.MARK, userCommand.commandType);
+        assertEquals(12345, userCommand.taskId);
+
+        try {
+            ShadowParser.parse("delete #book");
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Please provide a numeric id after # for your request!",
+                    exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_validBulkCommand() throws ShadowException {
+        ShadowCommand userCommand = ShadowParser.parse("delete 1-500, 7");
+        assertEquals(ShadowCommand.CommandType.DELETE, userCommand.commandType);
+        assertArrayEquals(new int[] {1, 500, 7, 7}, userCommand.taskRanges);
+        assertTrue(ShadowParser.parse("delete /done").selectsDoneTasks);
+
+        try {
+            ShadowParser.parse("mark 5-3");
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Please write each range as START-END, with START no larger than END, "
+                    + "e.g. mark 1-5.", exception.getMessage());
+        }
+    }
+
     @Test
     public void parse_invalidTaskIndex_exceptionThrown() {
         try {
@@ -80,12 +117,83 @@ public class ShadowParserTest {
     }
 
     @Test
-    public void parse_findMultipleKeywords_exceptionThrown() {
+    public void parse_findMultipleKeywords() throws ShadowException {
+        ShadowCommand userCommand = ShadowParser.parse("find return OR borrow AND NOT book");
+        assertEquals(ShadowCommand.CommandType.FIND, userCommand.commandType);
+        assertEquals("return OR borrow AND NOT book", userCommand.taskDescription);
+        assertEquals(List.of("return", "borrow"), userCommand.keywordQuery.getRequiredKeywords());
+    }
+
+    @Test
+    public void parse_findMisplacedOperator_exceptionThrown() {
+        try {
+            assertEquals(ShadowCommand.CommandType.FIND, ShadowParser.parse("find return OR").commandType);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Please place AND, OR and NOT between keywords, "
+                    + "e.g. find book AND NOT return.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_findUnknownOption_exceptionThrown() {
+        try {
+            assertEquals(ShadowCommand.CommandType.FIND, ShadowParser.parse("find /suffix book").commandType);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Unknown find option '/suffix'! "
+                    + "Please use /prefix, /substring, /fuzzy or /ranked before your keywords.",
+                    exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_findInvalidFuzzyDistance_exceptionThrown() {
+        try {
+            assertEquals(ShadowCommand.CommandType.FIND,
+                    ShadowParser.parse("find /fuzzy book /distance 9").commandType);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Please provide a /distance between 0 and 3.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_findInvalidPageNumber_exceptionThrown() {
+        try {
+            assertEquals(ShadowCommand.CommandType.FIND, ShadowParser.parse("find /ranked book /page 0").commandType);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid request! Please provide a /page number of at least 1.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_findOnlyNegatedKeywords_exceptionThrown() {
         try {
-            assertEquals(ShadowCommand.CommandType.FIND, ShadowParser.parse("find return book").commandType);
+            assertEquals(ShadowCommand.CommandType.FIND, ShadowParser.parse("find book OR NOT return").commandType);
             fail();
         } catch (ShadowException exception) {
-            assertEquals("Invalid request! Please provide only ONE keyword for your find.", exception.getMessage());
+            assertEquals("Invalid request! Please include a keyword without NOT in each part of your find.",
+                    exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_validHappeningCommand() throws ShadowException {
+        ShadowCommand userCommand = ShadowParser.parse("happening on 4/7/2025");
+        assertEquals(ShadowCommand.CommandType.HAPPENING, userCommand.commandType);
+        assertEquals("Jul 4 2025 00:00", TaskDate.formatDisplayDate(userCommand.startDate));
+        assertEquals("Jul 5 2025 00:00", TaskDate.formatDisplayDate(userCommand.endDate));
+    }
+
+    @Test
+    public void parse_dueWithoutBefore_exceptionThrown() {
+        try {
+            assertEquals(ShadowCommand.CommandType.DUE, ShadowParser.parse("due 2/12/2025 1800").commandType);
+            fail();
+        } catch (ShadowException exception) {
+            assertEquals("Invalid format! Please use: due before d/M/yyyy HHmm.", exception.getMessage());
         }
     }
 
@@ -111,7 +219,7 @@ public class ShadowParserTest {
         ShadowCommand userCommand = ShadowParser.parse("deadline buy book /by 2/12/2025 1800");
         assertEquals(ShadowCommand.CommandType.DEADLINE, userCommand.commandType);
         assertEquals("buy book", userCommand.taskDescription);
-        assertEquals("Dec 2 2025 18:00", userCommand.dueDate);
+        assertEquals("Dec 2 2025 18:00", TaskDate.formatDisplayDate(userCommand.dueDate));
     }
 
     @Test
@@ -177,8 +285,8 @@ public class ShadowParserTest {
         ShadowCommand userCommand = ShadowParser.parse("event meeting /from 4/7/2025 1600 /to 5/7/2025 2100");
         assertEquals(ShadowCommand.CommandType.EVENT, userCommand.commandType);
         assertEquals("meeting", userCommand.taskDescription);
-        assertEquals("Jul 4 2025 16:00", userCommand.startDate);
-        assertEquals("Jul 5 2025 21:00", userCommand.endDate);
+        assertEquals("Jul 4 2025 16:00", TaskDate.formatDisplayDate(userCommand.startDate));
+        assertEquals("Jul 5 2025 21:00", TaskDate.formatDisplayDate(userCommand.endDate));
     }
 
     @Test
@@ -283,6 +391,20 @@ public class ShadowParserTest {
         }
     }
 
+    @Test
+    public void parse_nonNumericIndex_exceptionWithoutStackTrace() {
+        for (String userInput : new String[] {"mark abc", "delete 2x", "unmark +", "mark 99999999999"}) {
+            try {
+                ShadowParser.parse(userInput);
+                fail();
+            } catch (ShadowException exception) {
+                assertEquals(Messages.PREFIX_UNKNOWN_COMMAND + Messages.MESSAGE_INVALID_TASK_INDEX,
+                        exception.getMessage());
+                assertEquals(0, exception.getStackTrace().length);
+            }
+        }
+    }
+
     @Test
     public void parse_invalidCommandType() throws ShadowException {
         ShadowCommand userCommand = ShadowParser.parse("plan");
@@ -0,0 +1,68 @@
+package shadowbuddy.reminders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.Task;
+import shadowbuddy.taskmodels.TaskDate;
+import shadowbuddy.taskmodels.TaskList;
+import shadowbuddy.taskmodels.Todo;
+
+public class ReminderSchedulerTest {
+    @Test
+    public void fireDueReminders_firedAnHourBeforeDate() {
+        AtomicLong clock = new AtomicLong(TaskDate.parseDisplayDate("Jul 4 2025 09:00"));
+        ReminderScheduler scheduler = new ReminderScheduler(clock::get);
+        Deadline deadline = new Deadline("return book", "Jul 4 2025 18:00");
+        Event event = new Event("project meeting", "Jul 4 2025 16:00", "Jul 4 2025 20:00");
+        scheduler.scheduleReminder(deadline);
+        scheduler.scheduleReminder(event);
+        scheduler.scheduleReminder(new Todo("borrow book"));
+        scheduler.scheduleReminder(new Deadline("submit report", "Jul 3 2025 18:00"));
+        assertEquals(2, scheduler.getPendingCount());
+
+        clock.set(TaskDate.parseDisplayDate("Jul 4 2025 14:59"));
+        assertEquals(List.of(), scheduler.fireDueReminders());
+        clock.set(TaskDate.parseDisplayDate("Jul 4 2025 15:00"));
+        assertEquals(List.<Task>of(event), scheduler.fireDueReminders());
+        clock.set(TaskDate.parseDisplayDate("Jul 5 2025 00:00"));
+        assertEquals(List.<Task>of(deadline), scheduler.fireDueReminders());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void scheduleReminder_doneTaskCancelledUntilUnmarked() {
+        AtomicLong clock = new AtomicLong(TaskDate.parseDisplayDate("Jul 4 2025 09:00"));
+        ReminderScheduler scheduler = new ReminderScheduler(clock::get);
+        Deadline deadline = new Deadline("return book", "Sep 1 2025 18:00");
+        scheduler.scheduleReminder(deadline);
+        deadline.markAsDone();
+        scheduler.cancelReminder(deadline);
+        scheduler.scheduleReminder(deadline);
+        assertEquals(0, scheduler.getPendingCount());
+
+        deadline.markAsNotDone();
+        scheduler.scheduleReminder(deadline);
+        scheduler.scheduleReminder(deadline);
+        clock.set(TaskDate.parseDisplayDate("Sep 1 2025 17:30"));
+        assertEquals(List.<Task>of(deadline), scheduler.fireDueReminders());
+        assertEquals(List.of(), scheduler.fireDueReminders());
+    }
+
+    @Test
+    public void scheduleReminders_disabledScheduler_nothingPending() {
+        ReminderScheduler scheduler = ReminderScheduler.disabled();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("return book", "Jul 4 2025 18:00"));
+        taskList.addTask(new Event("project meeting", "Jul 4 2025 16:00", "Jul 4 2025 20:00"));
+        scheduler.scheduleReminders(taskList);
+        scheduler.scheduleReminder(new Deadline("submit report", "Jul 5 2025 18:00"));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}
@@ -0,0 +1,272 @@
+package shadowbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shadowbuddy.taskmodels.Deadline;
+import shadowbuddy.taskmodels.Event;
+import shadowbuddy.taskmodels.TaskDate;
+import shadowbuddy.taskmodels.TaskList;
+import shadowbuddy.taskmodels.Todo;
+
+public class ShadowStorageTest {
+    @Test
+    public void journalByteCount_nonAsciiRecords_matchesFileSize(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowJournal journal = new ShadowJournal(tempFile.toString());
+        journal.append("A | T | 0 | caf\u00e9 avec Zo\u00eb");
+        journal.append("A | T | 0 | \u8bfb\u4e66");
+        journal.flush();
+        long fileSize = Files.size(tempDir.resolve("dummy.txt" + ShadowJournal.JOURNAL_EXTENSION));
+        assertEquals(fileSize, journal.getByteCount());
+
+        ShadowJournal reloadedJournal = new ShadowJournal(tempFile.toString());
+        reloadedJournal.load(0);
+        assertEquals(fileSize - (ShadowJournal.GENERATION_HEADER + "0\n").length(), reloadedJournal.getByteCount());
+    }
+
+    @Test
+    public void load_journalReplayedOnSnapshot(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("borrow book"));
+        dummyStorage.writeToDatabase(taskList);
+
+        Deadline deadline = new Deadline("return book", "Dec 2 2025 18:00");
+        Event event = new Event("project meeting", "Jul 4 2025 16:00", "Jul 5 2025 20:00");
+        taskList.addTask(deadline);
+        dummyStorage.recordAddition(deadline);
+        taskList.addTask(event);
+        dummyStorage.recordAddition(event);
+        taskList.markTask(2);
+        dummyStorage.recordMark(2);
+        taskList.deleteTask(1);
+        dummyStorage.recordDeletion(1);
+        dummyStorage.commitChanges(taskList);
+
+        TaskList loadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(loadedTaskList);
+        assertEquals(taskList.toString(), loadedTaskList.toString());
+    }
+
+    @Test
+    public void load_tornJournalTailIgnored(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("borrow book");
+        taskList.addTask(todo);
+        dummyStorage.recordAddition(todo);
+        dummyStorage.commitChanges(taskList);
+        Files.writeString(tempDir.resolve("dummy.txt.journal"), "M | ", StandardOpenOption.APPEND);
+
+        TaskList loadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(loadedTaskList);
+        assertEquals("1. [T][ ] borrow book\n", loadedTaskList.toString());
+    }
+
+    @Test
+    public void load_truncatedLastJournalRecordDropped(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("borrow book");
+        taskList.addTask(todo);
+        dummyStorage.recordAddition(todo);
+        dummyStorage.commitChanges(taskList);
+        Files.writeString(tempDir.resolve("dummy.txt.journal"), "A | T | 0 | borrow bo",
+                StandardOpenOption.APPEND);
+
+        ShadowStorage reloadedStorage = new ShadowStorage(tempFile.toString());
+        TaskList loadedTaskList = new TaskList();
+        reloadedStorage.loadDatabase(loadedTaskList);
+        assertEquals("1. [T][ ] borrow book\n", loadedTaskList.toString());
+
+        Todo nextTodo = new Todo("return book");
+        loadedTaskList.addTask(nextTodo);
+        reloadedStorage.recordAddition(nextTodo);
+        reloadedStorage.commitChanges(loadedTaskList);
+        TaskList reloadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(reloadedTaskList);
+        assertEquals("1. [T][ ] borrow book\n2. [T][ ] return book\n", reloadedTaskList.toString());
+    }
+
+    @Test
+    public void commit_journalCompactedInBackground(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+        dummyStorage.setCompactionThresholds(3, Long.MAX_VALUE);
+
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 4; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.addTask(todo);
+            dummyStorage.recordAddition(todo);
+            dummyStorage.commitChanges(taskList);
+        }
+        dummyStorage.compactor.awaitCompletion();
+        taskList.markTask(4);
+        dummyStorage.recordMark(4);
+        dummyStorage.commitChanges(taskList);
+
+        assertEquals(2, dummyStorage.journal.getRecordCount());
+        assertFalse(Files.exists(tempDir.resolve("dummy.txt.journal.0")));
+        TaskList loadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(loadedTaskList);
+        assertEquals(taskList.toString(), loadedTaskList.toString());
+    }
+
+    @Test
+    public void convert_binaryFormatDetectedOnLoad(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("borrow book"));
+        taskList.addTask(new Deadline("return book", "Dec 2 2025 18:00"));
+        taskList.addTask(new Event("project meeting", "Jul 4 2025 16:00", "Jul 5 2025 20:00"));
+        taskList.markTask(3);
+        dummyStorage.writeToDatabase(taskList);
+        Event event = new Event("team dinner", "Jul 6 2025 19:00", "Jul 6 2025 21:00");
+        taskList.addTask(event);
+        dummyStorage.recordAddition(event);
+        dummyStorage.commitChanges(taskList);
+
+        assertEquals(4, new ShadowStorage(tempFile.toString()).convertDatabase(ShadowStorage.DatabaseFormat.BINARY));
+        ShadowStorage binaryStorage = new ShadowStorage(tempFile.toString());
+        TaskList loadedTaskList = new TaskList();
+        binaryStorage.loadDatabase(loadedTaskList);
+        assertEquals(ShadowStorage.DatabaseFormat.BINARY, binaryStorage.getDatabaseFormat());
+        assertEquals(taskList.toString(), loadedTaskList.toString());
+
+        new ShadowStorage(tempFile.toString()).writeToDatabase(taskList);
+        assertEquals(ShadowStorage.DatabaseFormat.BINARY, new ShadowStorage(tempFile.toString()).getDatabaseFormat());
+    }
+
+    @Test
+    public void load_corruptBinaryDescriptionLength_exceptionThrown(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("borrow book"));
+        dummyStorage.writeToDatabase(taskList);
+        dummyStorage.convertDatabase(ShadowStorage.DatabaseFormat.BINARY);
+
+        // The description length follows the 25-byte header, the type byte and the 1-byte id gap
+        byte[] databaseBytes = Files.readAllBytes(tempFile);
+        databaseBytes[27] = 0x7F;
+        Files.write(tempFile, databaseBytes);
+        try {
+            new ShadowStorage(tempFile.toString()).loadDatabase(new TaskList());
+            fail();
+        } catch (IOException exception) {
+            assertEquals("Binary database is corrupt: description length 127 exceeds the 11 bytes left",
+                    exception.getMessage());
+        }
+    }
+
+    @Test
+    public void load_largeDatabaseInParallel_matchesSerialLoad(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString());
+        dummyStorage.createDatabase();
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 40_000; i++) {
+            // Every fifth task repeats an earlier description, and the line lengths vary so lines cross the
+            // 1 MiB chunk boundaries at different offsets
+            String description = (i % 5 == 0 ? "duplicate chore " + (i % 7) : "unique chore " + i)
+                    + " ~".repeat(i % 23);
+            if (i % 3 == 0) {
+                taskList.addTask(new Deadline(description, TaskDate.parseDisplayDate("Jul 4 2025 16:00") + i));
+            } else if (i % 3 == 1) {
+                taskList.addTask(new Event(description, TaskDate.parseDisplayDate("Jul 4 2025 16:00") + i,
+                        TaskDate.parseDisplayDate("Jul 5 2025 20:00") + i));
+            } else {
+                taskList.addTask(new Todo(description));
+            }
+            if (i % 4 == 0) {
+                taskList.markTask(taskList.getLength());
+            }
+        }
+        taskList.deleteTask(2);
+        dummyStorage.writeToDatabase(taskList);
+        assertTrue(Files.size(tempFile) > 2 * (1 << 20));
+
+        ShadowStorage serialStorage = new ShadowStorage(tempFile.toString());
+        serialStorage.setLoadParallelism(1);
+        TaskList serialTaskList = new TaskList();
+        serialStorage.loadDatabase(serialTaskList);
+        ShadowStorage parallelStorage = new ShadowStorage(tempFile.toString());
+        parallelStorage.setLoadParallelism(4);
+        TaskList parallelTaskList = new TaskList();
+        parallelStorage.loadDatabase(parallelTaskList);
+
+        assertEquals(taskList.getLength(), parallelTaskList.getLength());
+        assertEquals(serialTaskList.toString(), parallelTaskList.toString());
+        for (int i = 1; i <= serialTaskList.getLength(); i++) {
+            assertEquals(serialTaskList.getTask(i).getId(), parallelTaskList.getTask(i).getId());
+        }
+        assertTrue(parallelTaskList.containsDuplicate("duplicate chore 3"));
+        assertEquals(serialTaskList.getTasksDueBefore(Long.MAX_VALUE).toString(),
+                parallelTaskList.getTasksDueBefore(Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void close_writeBehindChangesFlushed(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.SNAPSHOT);
+        dummyStorage.createDatabase();
+        dummyStorage.enableWriteBehind(60_000, 1_000);
+
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new Todo("task " + i));
+            dummyStorage.commitChanges(taskList);
+        }
+        taskList.markTask(2);
+        dummyStorage.commitChanges(taskList);
+        dummyStorage.close();
+
+        TaskList loadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(loadedTaskList);
+        assertEquals(taskList.toString(), loadedTaskList.toString());
+    }
+
+    @Test
+    public void load_leftoverTempFileDiscarded(@TempDir Path tempDir) throws IOException {
+        Path tempFile = tempDir.resolve("dummy.txt");
+        ShadowStorage dummyStorage = new ShadowStorage(tempFile.toString(), ShadowStorage.PersistenceMode.SNAPSHOT);
+        dummyStorage.createDatabase();
+        dummyStorage.setDurabilityMode(ShadowStorage.DurabilityMode.FSYNC);
+
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("borrow book"));
+        dummyStorage.writeToDatabase(taskList);
+        Files.writeString(tempDir.resolve("dummy.txt.tmp"), "T | 0 | half writ");
+
+        TaskList loadedTaskList = new TaskList();
+        new ShadowStorage(tempFile.toString()).loadDatabase(loadedTaskList);
+        assertEquals("1. [T][ ] borrow book\n", loadedTaskList.toString());
+        assertFalse(Files.exists(tempDir.resolve("dummy.txt.tmp")));
+    }
+}
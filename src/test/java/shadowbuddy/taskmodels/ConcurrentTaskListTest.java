@@ -0,0 +1,136 @@
+package shadowbuddy.taskmodels;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTaskListTest {
+    private static final int ADDER_COUNT = 2;
+    private static final int READER_COUNT = 2;
+    private static final int ADDITIONS_PER_ADDER = 3000;
+    private static final int DELETIONS = 2000;
+    private static final long FIRST_DUE_DATE = TaskDate.parseDisplayDate("Jul 4 2025 16:00");
+
+    @Test
+    public void concurrentUpdatesAndQueries_indexesStayConsistent() throws InterruptedException {
+        for (TaskList.Backing backing : List.of(TaskList.Backing.ARRAY, TaskList.Backing.TREE,
+                TaskList.Backing.PERSISTENT)) {
+            ConcurrentTaskList taskList = new ConcurrentTaskList(backing);
+            for (int i = 0; i < DELETIONS; i++) {
+                taskList.addTask(new Todo("alpha initial " + i));
+            }
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicBoolean isWriting = new AtomicBoolean(true);
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < ADDER_COUNT; t++) {
+                int adder = t;
+                writers.add(startThread(failure, () -> {
+                    for (int i = 0; i < ADDITIONS_PER_ADDER; i++) {
+                        String description = (i % 2 == 0 ? "alpha " : "beta ") + adder + " " + i;
+                        taskList.addTask(i % 3 == 0
+                                ? new Deadline(description, FIRST_DUE_DATE + i)
+                                : new Todo(description));
+                    }
+                }));
+            }
+            // Only this thread removes tasks, so an index below the length it reads stays valid
+            writers.add(startThread(failure, () -> {
+                SplittableRandom random = new SplittableRandom(7);
+                for (int i = 0; i < DELETIONS; i++) {
+                    taskList.deleteTask(random.nextInt(taskList.getLength()) + 1);
+                    int markIndex = random.nextInt(taskList.getLength()) + 1;
+                    if (taskList.getTask(markIndex).getStatusIcon().equals("X")) {
+                        taskList.unmarkTask(markIndex);
+                    } else {
+                        taskList.markTask(markIndex);
+                    }
+                }
+            }));
+
+            List<Thread> readers = new ArrayList<>();
+            for (int t = 0; t < READER_COUNT; t++) {
+                readers.add(startThread(failure, () -> {
+                    while (isWriting.get()) {
+                        assertAscendingIds(taskList.copyTasks());
+                        TaskList matchingTasks = taskList.getMatchingTasks(taskList, "alpha");
+                        assertAscendingIds(matchingTasks.copyTasks());
+                        for (Task task : matchingTasks.copyTasks()) {
+                            assertTrue(task.getDescription().startsWith("alpha"));
+                        }
+                        for (Task task : taskList.getTasksDueBefore(Long.MAX_VALUE).copyTasks()) {
+                            assertTrue(task instanceof Deadline);
+                        }
+                    }
+                }));
+            }
+
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            isWriting.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            if (failure.get() != null) {
+                fail(failure.get());
+            }
+
+            List<Task> tasks = taskList.copyTasks();
+            assertEquals(ADDER_COUNT * ADDITIONS_PER_ADDER, tasks.size());
+            TaskList rebuiltTaskList = new TaskList();
+            rebuiltTaskList.addTasks(tasks);
+            assertEquals(rebuiltTaskList.toString(), taskList.toString());
+            assertEquals(rebuiltTaskList.getMatchingTasks(rebuiltTaskList, "alpha").toString(),
+                    taskList.getMatchingTasks(taskList, "alpha").toString());
+            assertEquals(rebuiltTaskList.getTasksDueBefore(Long.MAX_VALUE).toString(),
+                    taskList.getTasksDueBefore(Long.MAX_VALUE).toString());
+            for (int i = 0; i < tasks.size(); i++) {
+                assertTrue(taskList.containsDuplicate(tasks.get(i).getDescription()));
+                assertEquals(i + 1, taskList.getIndexOfTaskId(tasks.get(i).getId()));
+            }
+        }
+    }
+
+    @Test
+    public void copyTasks_snapshotReusedUntilMutation() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        taskList.addTask(new Todo("borrow book"));
+        List<Task> snapshot = taskList.copyTasks();
+        assertSame(snapshot, taskList.copyTasks());
+        assertSame(snapshot.get(0), taskList.getTask(1));
+
+        taskList.addTask(new Todo("return book"));
+        assertNotSame(snapshot, taskList.copyTasks());
+        assertEquals(1, snapshot.size());
+        assertEquals("return book", taskList.getTask(2).getDescription());
+    }
+
+    private static void assertAscendingIds(List<Task> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(tasks.get(i - 1).getId() < tasks.get(i).getId());
+        }
+    }
+
+    private static Thread startThread(AtomicReference<Throwable> failure, Runnable work) {
+        Thread thread = new Thread(() -> {
+            try {
+                work.run();
+            } catch (Throwable throwable) {
+                failure.compareAndSet(null, throwable);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
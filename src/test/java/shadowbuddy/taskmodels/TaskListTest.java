@@ -0,0 +1,168 @@
+package shadowbuddy.taskmodels;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskListTest {
+    @Test
+    public void deleteTask_otherBackings_matchArrayBacking() {
+        for (TaskList.Backing backing : List.of(TaskList.Backing.TREE, TaskList.Backing.COLUMNAR,
+                TaskList.Backing.PERSISTENT)) {
+            TaskList arrayTaskList = new TaskList(TaskList.Backing.ARRAY);
+            TaskList otherTaskList = new TaskList(backing);
+            for (int i = 0; i < 200; i++) {
+                String description = (i % 3 == 0 ? "read book " : "write essay ") + i;
+                arrayTaskList.addTask(new Deadline(description, TaskDate.parseDisplayDate("Jul 4 2025 16:00") + i));
+                otherTaskList.addTask(new Deadline(description, TaskDate.parseDisplayDate("Jul 4 2025 16:00") + i));
+            }
+
+            for (int i = 0; i < 150; i++) {
+                int index = (i * 37) % arrayTaskList.getLength() + 1;
+                assertEquals(arrayTaskList.deleteTask(index).toString(), otherTaskList.deleteTask(index).toString());
+                arrayTaskList.markTask((i * 11) % arrayTaskList.getLength() + 1);
+                otherTaskList.markTask((i * 11) % otherTaskList.getLength() + 1);
+            }
+            assertEquals(arrayTaskList.toString(), otherTaskList.toString());
+            assertEquals(arrayTaskList.getMatchingTasks(arrayTaskList, "book").toString(),
+                    otherTaskList.getMatchingTasks(otherTaskList, "book").toString());
+        }
+    }
+
+    @Test
+    public void deleteTasks_allBackings_matchDeletingOneByOne() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList bulkTaskList = new TaskList(backing);
+            TaskList singleTaskList = new TaskList(backing);
+            for (int i = 0; i < 50; i++) {
+                bulkTaskList.addTask(new Todo((i % 2 == 0 ? "read book " : "write essay ") + i));
+                singleTaskList.addTask(new Todo((i % 2 == 0 ? "read book " : "write essay ") + i));
+            }
+            bulkTaskList.getMatchingTasks(bulkTaskList, "book");
+
+            int[] indices = {1, 2, 7, 20, 21, 22, 50};
+            List<Task> deletedTasks = bulkTaskList.deleteTasks(indices);
+            for (int i = indices.length - 1; i >= 0; i--) {
+                assertEquals(singleTaskList.deleteTask(indices[i]).toString(), deletedTasks.get(i).toString());
+            }
+            assertEquals(singleTaskList.toString(), bulkTaskList.toString());
+            assertEquals(singleTaskList.getMatchingTasks(singleTaskList, "book").toString(),
+                    bulkTaskList.getMatchingTasks(bulkTaskList, "book").toString());
+            assertFalse(bulkTaskList.containsDuplicate("write essay 21"));
+            assertEquals(9, bulkTaskList.getIndexOfTaskId(bulkTaskList.getTask(9).getId()));
+        }
+    }
+
+    @Test
+    public void insertTask_allBackings_dateQueriesAndIdLookupsKeptInOrder() {
+        long dueDate = TaskDate.parseDisplayDate("Jul 4 2025 16:00");
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList taskList = new TaskList(backing);
+            for (int i = 1; i <= 3; i++) {
+                taskList.addTask(new Deadline("return book " + i, dueDate));
+            }
+            taskList.addTask(new Event("project meeting", dueDate, dueDate + 3600));
+            assertEquals(3, taskList.getTasksDueBefore(dueDate + 1).getLength());
+            long deletedId = taskList.getTask(2).getId();
+
+            Task deletedTask = taskList.deleteTask(2);
+            assertEquals(-1, taskList.getIndexOfTaskId(deletedId));
+            taskList.insertTask(2, deletedTask);
+            assertEquals("1. [D][ ] return book 1 (by: Jul 4 2025 16:00)\n"
+                    + "2. [D][ ] return book 2 (by: Jul 4 2025 16:00)\n"
+                    + "3. [D][ ] return book 3 (by: Jul 4 2025 16:00)\n",
+                    taskList.getTasksDueBefore(dueDate + 1).toString());
+            assertEquals(2, taskList.getIndexOfTaskId(deletedId));
+            assertEquals("return book 2", taskList.getTaskById(deletedId).getDescription());
+
+            Event meeting = (Event) taskList.getTask(4);
+            assertTrue(taskList.getConflictingEvents(meeting).isEmpty());
+            assertEquals(1, taskList.getConflictingEvents(new Event("lunch", dueDate + 60, dueDate + 120)).size());
+            assertTrue(taskList.getConflictingEvents(new Event("dinner", dueDate + 3600, dueDate + 7200)).isEmpty());
+        }
+    }
+
+    @Test
+    public void insertTask_allBackings_taskIdOtherThanSequenceIdKept() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList taskList = new TaskList(backing);
+            for (int i = 1; i <= 3; i++) {
+                taskList.addTask(new Todo("read book " + i));
+            }
+            Task movedTask = taskList.deleteTask(1);
+            taskList.insertTask(3, movedTask);
+
+            assertEquals(1, taskList.getTask(3).getId());
+            assertEquals(3, taskList.getIndexOfTaskId(1));
+            assertEquals("read book 1", taskList.getTaskById(1).getDescription());
+        }
+    }
+
+    @Test
+    public void restoreTask_idAlreadyHandedOut_freshIdGiven() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList taskList = new TaskList(backing);
+            for (int i = 1; i <= 3; i++) {
+                taskList.addTask(new Todo("read book " + i));
+            }
+            Task restoredTask = new Todo("write essay");
+            restoredTask.restoreId(2);
+            taskList.restoreTask(restoredTask);
+
+            assertEquals("read book 2", taskList.getTaskById(2).getDescription());
+            assertEquals(4, taskList.getTask(4).getId());
+            assertEquals("write essay", taskList.getTaskById(4).getDescription());
+        }
+    }
+
+    @Test
+    public void restoreVersion_bulkDeletionUndone_earlierVersionsKeptIntact() {
+        TaskList taskList = new TaskList(TaskList.Backing.PERSISTENT);
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTask(new Todo((i % 2 == 0 ? "read book " : "write essay ") + i));
+        }
+        TaskList.Version addedVersion = taskList.getVersion();
+        taskList.markTask(2);
+        taskList.markTask(4);
+        TaskList.Version markedVersion = taskList.getVersion();
+        taskList.getMatchingTasks(taskList, "book");
+        taskList.deleteTasks(new int[] {2, 4});
+
+        assertEquals(" ", addedVersion.getTask(2).getStatusIcon());
+        assertEquals("X", markedVersion.getTask(2).getStatusIcon());
+        assertEquals(6, markedVersion.getLength());
+        assertEquals(4, taskList.getLength());
+
+        taskList.restoreVersion(markedVersion);
+        assertEquals(6, taskList.getLength());
+        assertEquals("X", taskList.getTask(4).getStatusIcon());
+        assertEquals(3, taskList.getMatchingTasks(taskList, "book").getLength());
+        assertEquals(4, taskList.getIndexOfTaskId(4));
+        assertTrue(taskList.containsDuplicate("read book 4"));
+
+        taskList.addTask(new Todo("read book 7"));
+        assertEquals(7, taskList.getTask(7).getId());
+        assertEquals(6, markedVersion.getLength());
+    }
+
+    @Test
+    public void containsDuplicate_oneOfSeveralDeleted_stillDuplicate() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList taskList = new TaskList(backing);
+            taskList.addTask(new Todo("read book"));
+            taskList.addTask(new Todo("write essay"));
+            taskList.addTask(new Todo("read book"));
+            assertTrue(taskList.containsDuplicate("read book"));
+
+            taskList.deleteTask(1);
+            assertTrue(taskList.containsDuplicate("read book"));
+            taskList.deleteTask(2);
+            assertFalse(taskList.containsDuplicate("read book"));
+            assertTrue(taskList.containsDuplicate("write essay"));
+        }
+    }
+}